@@ -1,9 +1,14 @@
 package com.ayman.adminservice;
 
+import com.example.common.schema.SchemaBootstrap;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@Import(SchemaBootstrap.class)
 public class AdminServiceApplication {
 
 	public static void main(String[] args) {
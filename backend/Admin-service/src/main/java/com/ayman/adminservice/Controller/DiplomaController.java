@@ -1,43 +1,64 @@
 package com.ayman.adminservice.Controller;
 
+import com.ayman.adminservice.DTO.BulkOperationResultDTO;
+import com.ayman.adminservice.DTO.CatalogueStatisticsDTO;
+import com.ayman.adminservice.DTO.CatalogueVocabularyDTO;
+import com.ayman.adminservice.DTO.DiplomaBulkUpdateDTO;
 import com.ayman.adminservice.DTO.DiplomaUpdateDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.ayman.adminservice.DTO.DiplomaDetailedDTO;
+import com.ayman.adminservice.DTO.DiplomaSearchResultDTO;
+import com.ayman.adminservice.DTO.SuggestionDTO;
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
 import com.ayman.adminservice.Model.*;
-import com.ayman.adminservice.Repository.CareerRepository;
-import com.ayman.adminservice.Repository.DurationRepository;
-import com.ayman.adminservice.Repository.EtudiantSubjectRepository;
-import com.ayman.adminservice.Repository.FiliereRepository;
-import com.ayman.adminservice.Repository.MentionBacRepository;
+import com.ayman.adminservice.Service.CatalogueChangeStream;
+import com.ayman.adminservice.Service.CatalogueOutbox;
+import com.ayman.adminservice.Service.CatalogueSearchService;
+import com.ayman.adminservice.Service.CatalogueSnapshot;
+import com.ayman.adminservice.Service.CatalogueSnapshotService;
+import com.ayman.adminservice.Service.CatalogueStatisticsService;
+import com.ayman.adminservice.Service.DiplomaBulkService;
 import com.ayman.adminservice.Service.DiplomaService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/diplomas")
 @CrossOrigin(origins = "*") // Allow frontend (React) access
 public class DiplomaController {
 
+    private static final String CATALOGUE_VERSION_HEADER = "X-Catalogue-Version";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
+    @Autowired
+    private CatalogueSnapshotService catalogueSnapshotService;
+
     @Autowired
-    private CareerRepository careerRepository;
+    private CatalogueSearchService catalogueSearchService;
 
     @Autowired
-    private EtudiantSubjectRepository etudiantSubjectRepository;
+    private CatalogueOutbox outbox;
 
     @Autowired
-    private DurationRepository durationRepository;
+    private CatalogueChangeStream changeStream;
 
     @Autowired
-    private FiliereRepository filiereRepository;
+    private CatalogueStatisticsService statisticsService;
 
     @Autowired
-    private MentionBacRepository mentionBacRepository;
+    private DiplomaBulkService diplomaBulkService;
 
     private final DiplomaService diplomaService;
 
@@ -53,48 +74,64 @@ public class DiplomaController {
     
 
     @GetMapping("/careers")
-    public ResponseEntity<List<String>> getCareerNames() {
-        List<String> careerNames = careerRepository.findAll()
-            .stream()
-            .map(Career::getName) // Assuming your Career entity has a getName() method
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(careerNames);
+    public ResponseEntity<List<String>> getCareerNames(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::getCareers);
     }
 
     @GetMapping("/durees")
-    public ResponseEntity<List<Integer>> getDurees() {
-        List<Integer> durees = durationRepository.findAll()
-            .stream()
-            .map(Duration::getValue) // Assuming your Career entity has a getName() method
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(durees);
+    public ResponseEntity<List<Integer>> getDurees(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::getDurees);
     }
 
     @GetMapping("/filiers")
-    public ResponseEntity<List<String>> getFiliers() {
-        List<String> filieres = filiereRepository.findAll()
-            .stream()
-            .map(Filiere::getName) // Assuming your Career entity has a getName() method
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(filieres);
+    public ResponseEntity<List<String>> getFiliers(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::getFilieres);
     }
 
     @GetMapping("/subjects-etud")
-    public ResponseEntity<List<String>> getSubjectsEtud() {
-        List<String> subjects = etudiantSubjectRepository.findAll()
-            .stream()
-            .map(EtudiantSubject::getName) // Assuming your Career entity has a getName() method
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(subjects);
+    public ResponseEntity<List<String>> getSubjectsEtud(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::getStudentSubjects);
     }
 
     @GetMapping("/mentions")
-    public ResponseEntity<List<String>> getMention() {
-        List<String> mentions = mentionBacRepository.findAll()
-            .stream()
-            .map(MentionBac::getName) // Assuming your Career entity has a getName() method
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(mentions);
+    public ResponseEntity<List<String>> getMention(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::getMentions);
+    }
+
+    @GetMapping("/catalogue-version")
+    public long getCatalogueVersion() {
+        return catalogueSnapshotService.getSnapshot().getVersion();
+    }
+
+    // Replaces the five vocabulary calls made when a form opens
+    @GetMapping("/vocabulary")
+    public ResponseEntity<CatalogueVocabularyDTO> getVocabulary(WebRequest request) {
+        return fromSnapshot(request, snapshot -> new CatalogueVocabularyDTO(
+                snapshot.getCareers(),
+                snapshot.getDurees(),
+                snapshot.getFilieres(),
+                snapshot.getStudentSubjects(),
+                snapshot.getMentions(),
+                snapshot.getVersion()));
+    }
+
+    /**
+     * Serves a view of the current snapshot, tagged with its version. A request whose
+     * If-None-Match (or If-Modified-Since) still matches gets a 304 without building the body;
+     * no-cache makes browsers revalidate on every form open instead of reusing a stale list.
+     */
+    private <T> ResponseEntity<T> fromSnapshot(WebRequest request, Function<CatalogueSnapshot, T> body) {
+        CatalogueSnapshot snapshot = catalogueSnapshotService.getSnapshot();
+        String eTag = catalogueSnapshotService.eTagOf(snapshot);
+        if (request.checkNotModified(eTag, snapshot.getBuiltAt())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(snapshot.getBuiltAt())
+                .cacheControl(CacheControl.noCache())
+                .header(CATALOGUE_VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(body.apply(snapshot));
     }
 
     @PostMapping
@@ -104,6 +141,16 @@ public class DiplomaController {
 
 
 
+    @GetMapping("/statistics")
+    public ResponseEntity<CatalogueStatisticsDTO> getStatistics(WebRequest request) {
+        CatalogueStatisticsDTO statistics = diplomaService.getStatistics();
+        String eTag = statisticsService.eTagOf(statistics);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(statistics);
+    }
+
     @GetMapping("/statistics/total-diplomas")
     public long getTotalDiplomas() {
         return diplomaService.getTotalDiplomas();
@@ -127,93 +174,82 @@ public class DiplomaController {
 
     // ✅ New endpoint for detailed diplomas
     @GetMapping("/detailed")
-    public List<DiplomaDetailedDTO> getAllDiplomasDetailed() {
-        return diplomaService.getAllDiplomasDetailed();
+    public ResponseEntity<List<DiplomaDetailedDTO>> getAllDiplomasDetailed(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::toDetailedDTOs);
     }
+
     @GetMapping("/diplomas")
-    public List<DiplomaDetailedDTO> getAllDiplomas2() {
-        List<Diploma> diplomas = diplomaService.getAllDiplomas();
-        List<DiplomaDetailedDTO> diplomaDetailedDTOS = new ArrayList<>();
-
-        for (Diploma d : diplomas) {
-            DiplomaDetailedDTO diplomaDetailedDTO = new DiplomaDetailedDTO(d.getNomDiplome());
-
-            // Handle non-collection fields with null checks
-
-            
-            diplomaDetailedDTO.setId(110l);
-            
-            if (d.getEcole() != null) {
-                diplomaDetailedDTO.setEcole(d.getEcole().getName());
-            }
-
-            if (d.getDuree() != null) {
-                diplomaDetailedDTO.setDuree(d.getDuree().getValue());
-            }
-
-            if (d.getEcole().getVille() != null) {
-                diplomaDetailedDTO.setVille(d.getEcole().getVille().getName());
-            }
-
-            if (d.getMention() != null) {
-                diplomaDetailedDTO.setMentionBac(d.getMention().getMention());
-            }
-
-            // Handle collection fields
-            if (d.getCareers() != null && !d.getCareers().isEmpty()) {
-                List<String> careers = d.getCareers().stream()
-                        .map(Career::getCareer)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-                diplomaDetailedDTO.setCareer(careers);
-            }
-
-            if (d.getOpportunities() != null && !d.getOpportunities().isEmpty()) {
-                List<String> opportunities = d.getOpportunities().stream()
-                        .map(EmploymentOpportunity::getOppotunity)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-                diplomaDetailedDTO.setEmploymentOpportunities(opportunities);
-            }
-
-            if (d.getPreviousDiploma() != null && !d.getPreviousDiploma().isEmpty()) {
-                List<String> previousDiplomas = d.getPreviousDiploma().stream()
-                        .map(PreviousDiploma::getAncienneDiplome) // 🔥 on récupère le nom du diplôme
-                        .filter(Objects::nonNull)     // 🔥 on enlève les nulls
-                        .collect(Collectors.toList());
-                diplomaDetailedDTO.setAncienneDiplome(previousDiplomas);
-            }
-
-            if (d.getFiliere() != null && !d.getFiliere().isEmpty()) {
-                List<String> filieres = d.getFiliere().stream()
-                        .map(Filiere::getName)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-                diplomaDetailedDTO.setFiliere(filieres);
-            }
-
-
-
-            if (d.getSubjects() != null && !d.getSubjects().isEmpty()) {
-                List<String> diplomaSubjects = d.getSubjects().stream()
-                        .map(Subject::getName)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-                diplomaDetailedDTO.setMatieresDiplome(diplomaSubjects);
-            }
-
-            if (d.getRequiredStudentSubjects() != null && !d.getRequiredStudentSubjects().isEmpty()) {
-                List<String> studentSubjects = d.getRequiredStudentSubjects().stream()
-                        .map(EtudiantSubject::getName)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.toList());
-                diplomaDetailedDTO.setMatieresEtudiant(studentSubjects);
-            }
-
-            diplomaDetailedDTOS.add(diplomaDetailedDTO);
+    public ResponseEntity<List<DiplomaDetailedDTO>> getAllDiplomas2(WebRequest request) {
+        return fromSnapshot(request, CatalogueSnapshot::toDetailedDTOs);
+    }
+
+    /**
+     * Full-text search over names, schools, cities, careers and subjects, narrowed by exact
+     * facet values. Facet counts in the response cover all hits, not just the page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<DiplomaSearchResultDTO> searchDiplomas(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String ecole,
+            @RequestParam(required = false) String ville,
+            @RequestParam(required = false) String filiere,
+            @RequestParam(required = false) Integer duree,
+            @RequestParam(required = false) String mentionBac,
+            @RequestParam(required = false) String career,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "10") int facetSize,
+            WebRequest request) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE || facetSize < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, String> filters = new LinkedHashMap<>();
+        putIfPresent(filters, "ecole", ecole);
+        putIfPresent(filters, "ville", ville);
+        putIfPresent(filters, "filiere", filiere);
+        putIfPresent(filters, "duree", duree != null ? duree.toString() : null);
+        putIfPresent(filters, "mentionBac", mentionBac);
+        putIfPresent(filters, "career", career);
+        return fromSnapshot(request, snapshot ->
+                catalogueSearchService.search(snapshot, q, filters, offset, limit, facetSize));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SuggestionDTO>> autocomplete(@RequestParam String prefix,
+                                                            @RequestParam(defaultValue = "10") int limit,
+                                                            WebRequest request) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
         }
+        return fromSnapshot(request, snapshot -> catalogueSearchService.suggest(snapshot, prefix, limit));
+    }
 
-        return diplomaDetailedDTOS;
+    private static void putIfPresent(Map<String, String> filters, String facet, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(facet, value);
+        }
+    }
+
+    /**
+     * Committed catalogue changes after sequence {@code after}, oldest first. A consumer whose
+     * cursor is below X-Outbox-Oldest-Sequence has missed purged events and must resync.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<DiplomaChangeEvent>> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        if (after < 0 || limit < 1 || limit > MAX_CHANGES_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Outbox-Oldest-Sequence", String.valueOf(outbox.oldestSequence()))
+                .body(outbox.readAfter(after, limit));
+    }
+
+    // Live change feed; reconnecting clients resume from Last-Event-ID (or ?after=)
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long after) {
+        return changeStream.subscribe(lastEventId != null ? lastEventId : after);
     }
 
 
@@ -244,4 +280,14 @@ public class DiplomaController {
 
         return ResponseEntity.ok(createdDiploma);
     }
+
+    @PutMapping("/bulk-update")
+    public ResponseEntity<BulkOperationResultDTO> updateDiplomas(@RequestBody List<DiplomaBulkUpdateDTO> diplomas) {
+        return ResponseEntity.ok(diplomaBulkService.updateDiplomas(diplomas));
+    }
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkOperationResultDTO> deleteDiplomas(@RequestBody List<String> names) {
+        return ResponseEntity.ok(diplomaBulkService.deleteDiplomas(names));
+    }
 }
@@ -0,0 +1,17 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkItemResultDTO {
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FAILED = "FAILED";
+
+    private String name;
+    private String status;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkOperationResultDTO {
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResultDTO> results;
+}
@@ -0,0 +1,15 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Everything the admin dashboard shows, served from the in-memory statistics snapshot
+@Data
+@AllArgsConstructor
+public class CatalogueStatisticsDTO {
+    private long totalDiplomas;
+    private long totalSchools;
+    private long totalCities;
+    private double averageDuration;
+    private long version;
+}
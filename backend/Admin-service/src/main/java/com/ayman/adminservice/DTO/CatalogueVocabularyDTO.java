@@ -0,0 +1,18 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// The five form vocabularies in one response, all from the same catalogue snapshot
+@Data
+@AllArgsConstructor
+public class CatalogueVocabularyDTO {
+    private List<String> careers;
+    private List<Integer> durees;
+    private List<String> filieres;
+    private List<String> subjectsEtud;
+    private List<String> mentions;
+    private long version;
+}
@@ -0,0 +1,10 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.Data;
+
+// One entry of a bulk update: the diploma's current name and its new content
+@Data
+public class DiplomaBulkUpdateDTO {
+    private String currentName;
+    private DiplomaUpdateDTO diploma;
+}
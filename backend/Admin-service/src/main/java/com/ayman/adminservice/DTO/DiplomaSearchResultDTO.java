@@ -0,0 +1,19 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of search hits; total and facet counts cover every hit, not just this page
+@Data
+@AllArgsConstructor
+public class DiplomaSearchResultDTO {
+    private long total;
+    private int offset;
+    private int limit;
+    private long version;
+    private Map<String, List<FacetCountDTO>> facets;
+    private List<DiplomaDetailedDTO> diplomas;
+}
@@ -0,0 +1,11 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FacetCountDTO {
+    private String value;
+    private long count;
+}
@@ -0,0 +1,13 @@
+package com.ayman.adminservice.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// An autocomplete hit: the value, the diploma field it comes from and how many diplomas use it
+@Data
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String value;
+    private String field;
+    private long count;
+}
@@ -0,0 +1,15 @@
+package com.ayman.adminservice.Event;
+
+import java.util.Set;
+
+/**
+ * Published once per catalogue write: a single create, update or delete, or a whole bulk
+ * batch. Single writes publish it inside their transaction, bulk batches after their last
+ * chunk has committed, so listeners should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}.
+ *
+ * @param operation   what changed the catalogue, e.g. "create" or "bulk-delete"
+ * @param diplomas    names of the diplomas touched, including the old name of a renamed one
+ */
+public record CatalogueChangedEvent(String operation, Set<String> diplomas) {
+}
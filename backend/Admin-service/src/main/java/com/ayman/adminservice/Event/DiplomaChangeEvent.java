@@ -0,0 +1,40 @@
+package com.ayman.adminservice.Event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One committed change to one diploma, as recorded in the catalogue outbox and delivered to
+ * consumers in {@code sequence} order. Delivery is at-least-once: consumers should remember
+ * the last sequence they applied and skip anything at or below it.
+ *
+ * @param sequence      position in the catalogue change stream, assigned at commit
+ * @param eventId       unique id of this event
+ * @param type          {@link #CREATED}, {@link #UPDATED} or {@link #DELETED}
+ * @param diploma       the diploma's name (its id) after the change; before it for a delete
+ * @param previousName  the name before a rename, otherwise null
+ * @param changedFields fields whose value differs between before and after
+ * @param before        field values before the change, empty for a create
+ * @param after         field values after the change, empty for a delete
+ * @param occurredAt    when the change was made
+ */
+public record DiplomaChangeEvent(long sequence,
+                                 String eventId,
+                                 String type,
+                                 String diploma,
+                                 String previousName,
+                                 Set<String> changedFields,
+                                 Map<String, List<String>> before,
+                                 Map<String, List<String>> after,
+                                 Instant occurredAt) {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    public DiplomaChangeEvent withSequence(long sequence) {
+        return new DiplomaChangeEvent(sequence, eventId, type, diploma, previousName, changedFields, before, after, occurredAt);
+    }
+}
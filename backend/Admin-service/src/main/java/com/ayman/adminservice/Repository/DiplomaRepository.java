@@ -67,12 +67,6 @@ public interface DiplomaRepository extends Neo4jRepository<Diploma, String> {
 """)
     List<DiplomaDetailedDTO> findAllDiplomasDetailed();
 
-    @Query("MATCH (d:Diplome) WHERE d.id = $id RETURN d")
-    Optional<Diploma> findByCustomId(Long id);
-
-    @Query("MATCH (d:Diplome) WHERE d.id = $id DETACH DELETE d")
-    void deleteByCustomId(Long id);
-
     @Query("MATCH (d:Diplome) WHERE d.name = $name RETURN d")
     Optional<Diploma> findByName(String name);
 
@@ -0,0 +1,138 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes relayed {@link DiplomaChangeEvent}s to server-sent-event subscribers. Each event is
+ * sent with its sequence as the SSE id, so a reconnecting client's Last-Event-ID resumes the
+ * stream from the outbox without gaps (a change may arrive twice around a reconnect).
+ */
+@Service
+public class CatalogueChangeStream {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueChangeStream.class);
+
+    private static final String EVENT_NAME = "diploma-change";
+    private static final int REPLAY_BATCH = 500;
+
+    private final CatalogueOutbox outbox;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Value("${admin.outbox.stream-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public CatalogueChangeStream(CatalogueOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /** Subscribes, replaying the retained events after {@code lastEventId} first when given. */
+    public SseEmitter subscribe(Long lastEventId) {
+        Subscriber emitter = new Subscriber(timeoutMs, lastEventId != null);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        // Registered before replaying, so nothing relayed meanwhile is missed; live events are
+        // held until the replay is done, so the client never sees a newer id before older ones
+        subscribers.add(emitter);
+        if (lastEventId != null) {
+            long after = lastEventId;
+            List<DiplomaChangeEvent> batch;
+            do {
+                batch = outbox.readAfter(after, REPLAY_BATCH);
+                for (DiplomaChangeEvent event : batch) {
+                    if (!send(emitter, event)) {
+                        return emitter;
+                    }
+                    after = event.sequence();
+                }
+            } while (batch.size() == REPLAY_BATCH);
+            emitter.sendLock.lock();
+            try {
+                List<DiplomaChangeEvent> held = emitter.held;
+                emitter.held = null;
+                held.sort(Comparator.comparingLong(DiplomaChangeEvent::sequence));
+                for (DiplomaChangeEvent event : held) {
+                    if (!deliver(emitter, event)) {
+                        break;
+                    }
+                }
+            } finally {
+                emitter.sendLock.unlock();
+            }
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onDiplomaChange(DiplomaChangeEvent event) {
+        for (Subscriber emitter : subscribers) {
+            deliver(emitter, event);
+        }
+    }
+
+    // A live event: held while the subscriber is replaying, skipped if the replay sent it
+    private boolean deliver(Subscriber emitter, DiplomaChangeEvent event) {
+        emitter.sendLock.lock();
+        try {
+            if (emitter.held != null) {
+                emitter.held.add(event);
+                return true;
+            }
+            return event.sequence() <= emitter.lastSent || send(emitter, event);
+        } finally {
+            emitter.sendLock.unlock();
+        }
+    }
+
+    private boolean send(Subscriber emitter, DiplomaChangeEvent event) {
+        try {
+            // Emitters are not thread-safe; replay and relay may send to the same one
+            emitter.sendLock.lock();
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.sequence()))
+                        .name(EVENT_NAME)
+                        .data(event));
+                emitter.lastSent = Math.max(emitter.lastSent, event.sequence());
+            } finally {
+                emitter.sendLock.unlock();
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping catalogue change subscriber: {}", e.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    // A lock rather than a monitor: a virtual thread blocked in a network write inside
+    // synchronized would pin its carrier thread
+    private static final class Subscriber extends SseEmitter {
+        private final ReentrantLock sendLock = new ReentrantLock();
+        // Guarded by sendLock: live events received during the replay, null once it is done
+        private List<DiplomaChangeEvent> held;
+        private long lastSent = -1;
+
+        private Subscriber(long timeoutMs, boolean replaying) {
+            super(timeoutMs);
+            this.held = replaying ? new ArrayList<>() : null;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox for catalogue changes. Writers {@link #record} a
+ * {@link DiplomaChangeEvent} inside their transaction; the events are written as
+ * (:OutboxEvent) nodes in the same Neo4j transaction just before it commits, so an event
+ * exists if and only if its change committed. A relay thread then publishes them in sequence
+ * order as application events (see {@link CatalogueChangeStream}) and marks them published.
+ *
+ * Sequences come from a counter node locked while appending, so they follow commit order and
+ * consumers can resume from the last sequence they saw.
+ */
+@Service
+public class CatalogueOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueOutbox.class);
+
+    private static final String STREAM = "catalogue";
+
+    static final String CAPTURE_QUERY = "UNWIND $names AS name MATCH (d:Diplome {name: name}) RETURN "
+            + CatalogueSnapshotService.DIPLOMA_PROJECTION;
+
+    // Setting a property first takes the counter's write lock, so the value read next is current
+    static final String APPEND_QUERY = """
+            MERGE (s:OutboxSequence {name: $stream})
+            SET s.locked = true
+            WITH s
+            SET s.value = coalesce(s.value, 0) + size($events)
+            REMOVE s.locked
+            WITH s.value - size($events) AS base
+            UNWIND range(0, size($events) - 1) AS i
+            WITH base + i + 1 AS sequence, $events[i] AS event
+            CREATE (:OutboxEvent {sequence: sequence, eventId: event.eventId, type: event.type,
+                                  diploma: event.diploma, payload: event.payload, createdAt: datetime()})
+            """;
+
+    static final String READ_QUERY = """
+            MATCH (e:OutboxEvent) WHERE e.sequence > $after
+            RETURN e.sequence AS sequence, e.payload AS payload
+            ORDER BY e.sequence
+            LIMIT $limit
+            """;
+
+    static final String MARK_PUBLISHED_QUERY = """
+            UNWIND $sequences AS sequence
+            MATCH (e:OutboxEvent {sequence: sequence})
+            SET e.publishedAt = datetime()
+            """;
+
+    private static final String CURSOR_QUERY =
+            "MATCH (e:OutboxEvent) WHERE e.publishedAt IS NOT NULL RETURN coalesce(max(e.sequence), 0)";
+
+    private static final String OLDEST_QUERY = "MATCH (e:OutboxEvent) RETURN coalesce(min(e.sequence), 0)";
+
+    static final String PURGE_QUERY = """
+            MATCH (e:OutboxEvent) WHERE e.publishedAt < datetime() - duration({hours: $hours})
+            WITH e LIMIT 10000
+            DELETE e
+            RETURN count(*)
+            """;
+
+    // Field order of the before/after maps
+    private static final List<String> FIELDS = List.of(
+            "nomDiplome", "ecole", "ville", "duree", "mentionBac", "career", "employmentOpportunities",
+            "ancienneDiplome", "filiere", "matieresDiplome", "matieresEtudiant");
+
+    private final Neo4jClient neo4jClient;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalogue-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean relayQueued = new AtomicBoolean();
+
+    // Last sequence handed to listeners; only touched by relay()
+    private long cursor = -1;
+
+    @Value("${admin.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${admin.outbox.retention-hours:168}")
+    private long retentionHours;
+
+    public CatalogueOutbox(Neo4jClient neo4jClient, ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.neo4jClient = neo4jClient;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Current field values of a diploma, or null if it does not exist. */
+    public Map<String, List<String>> capture(String name) {
+        return captureAll(Collections.singletonList(name)).get(name);
+    }
+
+    /** Current field values of each existing diploma, by name, in one query. */
+    public Map<String, Map<String, List<String>>> captureAll(Collection<String> names) {
+        Map<String, Map<String, List<String>>> states = new HashMap<>();
+        if (names.isEmpty()) {
+            return states;
+        }
+        for (Map<String, Object> row : neo4jClient.query(CAPTURE_QUERY).bind(names).to("names").fetch().all()) {
+            Map<String, List<String>> state = new LinkedHashMap<>();
+            for (String field : FIELDS) {
+                state.put(field, values(row.get(field)));
+            }
+            states.put((String) row.get("nomDiplome"), state);
+        }
+        return states;
+    }
+
+    /**
+     * Stages a change for the current transaction; it is appended to the outbox when the
+     * transaction commits and dropped if it rolls back.
+     *
+     * @param before field values before the change ({@link #capture}), null for a create
+     * @param after  field values after the change, null for a delete
+     */
+    public void record(String type, String previousName, String diploma,
+                       Map<String, List<String>> before, Map<String, List<String>> after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Catalogue changes must be recorded inside a transaction");
+        }
+        Map<String, List<String>> from = before != null ? before : Map.of();
+        Map<String, List<String>> to = after != null ? after : Map.of();
+        String renamedFrom = previousName != null && !previousName.equals(diploma) ? previousName : null;
+        pendingEvents().add(new DiplomaChangeEvent(0, UUID.randomUUID().toString(), type, diploma, renamedFrom,
+                changedFields(from, to), from, to, Instant.now()));
+    }
+
+    /**
+     * Committed events after {@code after}, oldest first. Events are kept for
+     * {@code admin.outbox.retention-hours} after publication; a consumer whose cursor is older
+     * than {@link #oldestSequence()} has missed events and must resynchronise from the catalogue.
+     */
+    public List<DiplomaChangeEvent> readAfter(long after, int limit) {
+        List<DiplomaChangeEvent> events = new ArrayList<>();
+        for (Map<String, Object> row : neo4jClient.query(READ_QUERY)
+                .bind(after).to("after")
+                .bind(limit).to("limit")
+                .fetch().all()) {
+            long sequence = ((Number) row.get("sequence")).longValue();
+            try {
+                events.add(objectMapper.readValue((String) row.get("payload"), DiplomaChangeEvent.class).withSequence(sequence));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable outbox event " + sequence, e);
+            }
+        }
+        return events;
+    }
+
+    public long oldestSequence() {
+        return neo4jClient.query(OLDEST_QUERY).fetchAs(Long.class).one().orElse(0L);
+    }
+
+    // Safety net for events whose post-commit relay was lost, e.g. by a restart
+    @Scheduled(fixedDelayString = "${admin.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        relaySoon();
+    }
+
+    @Scheduled(fixedDelayString = "${admin.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            long purged;
+            do {
+                purged = neo4jClient.query(PURGE_QUERY)
+                        .bind(retentionHours).to("hours")
+                        .fetchAs(Long.class).one().orElse(0L);
+                if (purged > 0) {
+                    logger.info("Purged {} published outbox events older than {} h", purged, retentionHours);
+                }
+            } while (purged >= 10000);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    // Coalesces triggers: while a relay is queued, further commits need no extra run
+    private void relaySoon() {
+        if (relayQueued.compareAndSet(false, true)) {
+            relayExecutor.execute(() -> {
+                relayQueued.set(false);
+                relay();
+            });
+        }
+    }
+
+    private void relay() {
+        try {
+            if (cursor < 0) {
+                cursor = neo4jClient.query(CURSOR_QUERY).fetchAs(Long.class).one().orElse(0L);
+            }
+            List<DiplomaChangeEvent> batch;
+            do {
+                batch = readAfter(cursor, batchSize);
+                for (DiplomaChangeEvent event : batch) {
+                    try {
+                        eventPublisher.publishEvent(event);
+                    } catch (RuntimeException e) {
+                        logger.error("Listener failed for catalogue change {} ({})", event.sequence(), event.diploma(), e);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    List<Long> sequences = batch.stream().map(DiplomaChangeEvent::sequence).toList();
+                    neo4jClient.query(MARK_PUBLISHED_QUERY).bind(sequences).to("sequences").run();
+                    cursor = sequences.get(sequences.size() - 1);
+                    logger.debug("Relayed catalogue changes up to {}", cursor);
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay failed at {}, retrying on next poll: {}", cursor, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DiplomaChangeEvent> pendingEvents() {
+        List<DiplomaChangeEvent> pending = (List<DiplomaChangeEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<DiplomaChangeEvent> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // One statement per transaction; the counter lock is held only while committing
+                append(events);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CatalogueOutbox.this);
+                if (status == STATUS_COMMITTED && !events.isEmpty()) {
+                    relaySoon();
+                }
+            }
+        });
+        return events;
+    }
+
+    private void append(List<DiplomaChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(events.size());
+        for (DiplomaChangeEvent event : events) {
+            try {
+                rows.add(Map.of(
+                        "eventId", event.eventId(),
+                        "type", event.type(),
+                        "diploma", event.diploma(),
+                        "payload", objectMapper.writeValueAsString(event)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialise catalogue change for " + event.diploma(), e);
+            }
+        }
+        neo4jClient.query(APPEND_QUERY)
+                .bind(STREAM).to("stream")
+                .bind(rows).to("events")
+                .run();
+    }
+
+    private static Set<String> changedFields(Map<String, List<String>> before, Map<String, List<String>> after) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String field : FIELDS) {
+            List<String> from = before.getOrDefault(field, List.of());
+            List<String> to = after.getOrDefault(field, List.of());
+            if (!from.equals(to)) {
+                changed.add(field);
+            }
+        }
+        return changed;
+    }
+
+    // Sorted, so list order coming back from the graph never shows up as a change
+    private static List<String> values(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().filter(Objects::nonNull).map(Object::toString).sorted().toList();
+        }
+        return List.of(value.toString());
+    }
+}
@@ -0,0 +1,398 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.DiplomaDetailedDTO;
+import com.ayman.adminservice.DTO.DiplomaSearchResultDTO;
+import com.ayman.adminservice.DTO.FacetCountDTO;
+import com.ayman.adminservice.DTO.SuggestionDTO;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over one {@link CatalogueSnapshot}, immutable like the snapshot itself.
+ * Documents are snapshot positions; postings are sorted int arrays, so a query is a handful
+ * of array intersections. Text is matched accent- and case-insensitively ("genie" finds
+ * "Génie"), and the last query word is treated as a prefix for search-as-you-type.
+ */
+final class CatalogueSearchIndex {
+
+    static final String SCHOOL = "ecole";
+    static final String CITY = "ville";
+    static final String FILIERE = "filiere";
+    static final String DURATION = "duree";
+    static final String MENTION = "mentionBac";
+    static final String CAREER = "career";
+
+    private static final int[] NONE = new int[0];
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final CatalogueSnapshot snapshot;
+    // Sorted distinct tokens; postings[i] and namePostings[i] belong to terms[i]
+    private final String[] terms;
+    private final int[][] postings;
+    private final int[][] namePostings;
+    private final Map<String, Facet> facets = new LinkedHashMap<>();
+    private final Suggestion[] suggestions;
+
+    private CatalogueSearchIndex(CatalogueSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int size = snapshot.size();
+
+        Map<String, Postings> all = new HashMap<>();
+        Map<String, Postings> names = new HashMap<>();
+        Map<Suggestion, int[]> suggestionCounts = new HashMap<>();
+        for (int doc = 0; doc < size; doc++) {
+            index(names, doc, snapshot.name(doc));
+            index(all, doc, snapshot.name(doc));
+            index(all, doc, snapshot.school(doc));
+            index(all, doc, snapshot.city(doc));
+            for (String career : snapshot.careers(doc)) {
+                index(all, doc, career);
+            }
+            for (String subject : snapshot.subjects(doc)) {
+                index(all, doc, subject);
+            }
+            countSuggestion(suggestionCounts, "nomDiplome", snapshot.name(doc));
+            countSuggestion(suggestionCounts, SCHOOL, snapshot.school(doc));
+            countSuggestion(suggestionCounts, CITY, snapshot.city(doc));
+            for (String career : snapshot.careers(doc)) {
+                countSuggestion(suggestionCounts, CAREER, career);
+            }
+            for (String subject : snapshot.subjects(doc)) {
+                countSuggestion(suggestionCounts, "matieresDiplome", subject);
+            }
+        }
+
+        terms = all.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        postings = new int[terms.length][];
+        namePostings = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            postings[i] = all.get(terms[i]).toArray();
+            Postings name = names.get(terms[i]);
+            namePostings[i] = name != null ? name.toArray() : NONE;
+        }
+
+        facets.put(SCHOOL, new Facet(size, doc -> single(snapshot.school(doc))));
+        facets.put(CITY, new Facet(size, doc -> single(snapshot.city(doc))));
+        facets.put(FILIERE, new Facet(size, snapshot::filieres));
+        facets.put(DURATION, new Facet(size, doc -> {
+            Integer duration = snapshot.duration(doc);
+            return duration != null ? new String[]{duration.toString()} : new String[0];
+        }));
+        facets.put(MENTION, new Facet(size, doc -> single(snapshot.mention(doc))));
+        facets.put(CAREER, new Facet(size, snapshot::careers));
+
+        // One entry per word start, so "info" completes "Génie Informatique" too
+        List<Suggestion> entries = new ArrayList<>();
+        suggestionCounts.forEach((suggestion, count) -> {
+            List<String> words = tokens(suggestion.value);
+            for (int i = 0; i < words.size(); i++) {
+                entries.add(new Suggestion(String.join(" ", words.subList(i, words.size())),
+                        suggestion.value, suggestion.field, count[0]));
+            }
+        });
+        suggestions = entries.toArray(new Suggestion[0]);
+        Arrays.sort(suggestions, Comparator.comparing((Suggestion s) -> s.key));
+    }
+
+    static CatalogueSearchIndex build(CatalogueSnapshot snapshot) {
+        return new CatalogueSearchIndex(snapshot);
+    }
+
+    long version() {
+        return snapshot.getVersion();
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    static boolean isFacet(String name) {
+        return SCHOOL.equals(name) || CITY.equals(name) || FILIERE.equals(name)
+                || DURATION.equals(name) || MENTION.equals(name) || CAREER.equals(name);
+    }
+
+    /**
+     * Matches every word of {@code query} (all diplomas when blank), keeps the diplomas whose
+     * facet values equal {@code filters}, and returns one page plus facet counts over all hits.
+     * Diplomas matching more words in their name rank first; ties keep catalogue (name) order.
+     */
+    DiplomaSearchResultDTO search(String query, Map<String, String> filters, int offset, int limit, int facetSize) {
+        List<String> words = query != null ? tokens(query) : List.of();
+        List<int[]> sets = new ArrayList<>();
+        int[][] nameMatches = new int[words.size()][];
+        for (int i = 0; i < words.size(); i++) {
+            boolean prefix = i == words.size() - 1;
+            sets.add(matches(words.get(i), prefix, postings));
+            nameMatches[i] = matches(words.get(i), prefix, namePostings);
+        }
+        filters.forEach((facet, value) -> sets.add(facets.get(facet).docs(value)));
+
+        int[] matched = sets.isEmpty() ? allDocs() : intersectAll(sets);
+        int[] hits = words.isEmpty() ? matched : rank(matched, nameMatches);
+
+        Map<String, List<FacetCountDTO>> counts = new LinkedHashMap<>();
+        facets.forEach((name, facet) -> counts.put(name, facet.count(hits, facetSize)));
+
+        int from = Math.min(offset, hits.length);
+        int to = Math.min(from + limit, hits.length);
+        List<DiplomaDetailedDTO> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(snapshot.toDetailedDTO(hits[i]));
+        }
+        return new DiplomaSearchResultDTO(hits.length, offset, limit, snapshot.getVersion(), counts, page);
+    }
+
+    /** Names, schools, cities, careers and subjects having a word that starts with {@code prefix}, most used first. */
+    List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = String.join(" ", tokens(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(Comparator
+                .comparingInt((Suggestion s) -> s.count)
+                .thenComparing((Suggestion s) -> s.value, Comparator.reverseOrder()));
+        Set<Suggestion> seen = new HashSet<>();
+        for (int i = lowerBound(suggestions, key); i < suggestions.length && suggestions[i].key.startsWith(key); i++) {
+            Suggestion suggestion = suggestions[i];
+            if (seen.add(suggestion)) {
+                top.add(suggestion);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<SuggestionDTO> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Suggestion suggestion = top.poll();
+            result.add(new SuggestionDTO(suggestion.value, suggestion.field, suggestion.count));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private int[] matches(String word, boolean prefix, int[][] source) {
+        if (!prefix) {
+            int i = Arrays.binarySearch(terms, word);
+            return i >= 0 ? source[i] : NONE;
+        }
+        int from = lowerBound(terms, word);
+        int to = from;
+        while (to < terms.length && terms[to].startsWith(word)) {
+            to++;
+        }
+        if (to - from == 1) {
+            return source[from];
+        }
+        BitSet union = new BitSet(snapshot.size());
+        for (int i = from; i < to; i++) {
+            for (int doc : source[i]) {
+                union.set(doc);
+            }
+        }
+        return union.stream().toArray();
+    }
+
+    // Sorts hits by the number of query words found in the diploma name, best first
+    private static int[] rank(int[] hits, int[][] nameMatches) {
+        long[] keys = new long[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            int score = 0;
+            for (int[] matches : nameMatches) {
+                if (Arrays.binarySearch(matches, hits[i]) >= 0) {
+                    score++;
+                }
+            }
+            keys[i] = ((long) (nameMatches.length - score) << 32) | hits[i];
+        }
+        Arrays.sort(keys);
+        int[] ranked = new int[hits.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranked[i] = (int) keys[i];
+        }
+        return ranked;
+    }
+
+    private int[] allDocs() {
+        int[] docs = new int[snapshot.size()];
+        for (int i = 0; i < docs.length; i++) {
+            docs[i] = i;
+        }
+        return docs;
+    }
+
+    private static int[] intersectAll(List<int[]> sets) {
+        sets.sort(Comparator.comparingInt(set -> set.length));
+        int[] result = sets.get(0);
+        for (int i = 1; i < sets.size() && result.length > 0; i++) {
+            result = intersect(result, sets.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int i = Arrays.binarySearch(sorted, key);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private static int lowerBound(Suggestion[] sorted, String key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void index(Map<String, Postings> index, int doc, String text) {
+        for (String token : tokens(text)) {
+            index.computeIfAbsent(token, t -> new Postings()).add(doc);
+        }
+    }
+
+    private static void countSuggestion(Map<Suggestion, int[]> counts, String field, String value) {
+        if (value != null && !value.isEmpty()) {
+            counts.computeIfAbsent(new Suggestion(null, value, field, 0), s -> new int[1])[0]++;
+        }
+    }
+
+    private static String[] single(String value) {
+        return value == null || value.isEmpty() ? new String[0] : new String[]{value};
+    }
+
+    /** Growable sorted doc list; documents are added in increasing order. */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+
+    /** Values of one field as ordinals: docs per value for filtering, values per doc for counting. */
+    private static final class Facet {
+        private final String[] values;
+        private final int[][] docsByValue;
+        private final int[][] valuesByDoc;
+
+        Facet(int size, IntFunction<String[]> valuesOf) {
+            Map<String, Postings> docs = new HashMap<>();
+            for (int doc = 0; doc < size; doc++) {
+                for (String value : valuesOf.apply(doc)) {
+                    docs.computeIfAbsent(value, v -> new Postings()).add(doc);
+                }
+            }
+            values = docs.keySet().toArray(new String[0]);
+            Arrays.sort(values);
+            docsByValue = new int[values.length][];
+            for (int i = 0; i < values.length; i++) {
+                docsByValue[i] = docs.get(values[i]).toArray();
+            }
+            valuesByDoc = new int[size][];
+            for (int doc = 0; doc < size; doc++) {
+                valuesByDoc[doc] = Arrays.stream(valuesOf.apply(doc))
+                        .mapToInt(value -> Arrays.binarySearch(values, value))
+                        .distinct()
+                        .toArray();
+            }
+        }
+
+        int[] docs(String value) {
+            int i = Arrays.binarySearch(values, value);
+            return i >= 0 ? docsByValue[i] : NONE;
+        }
+
+        List<FacetCountDTO> count(int[] hits, int top) {
+            int[] counts = new int[values.length];
+            for (int doc : hits) {
+                for (int ordinal : valuesByDoc[doc]) {
+                    counts[ordinal]++;
+                }
+            }
+            List<FacetCountDTO> result = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    result.add(new FacetCountDTO(values[i], counts[i]));
+                }
+            }
+            result.sort(Comparator.comparingLong(FacetCountDTO::getCount).reversed()
+                    .thenComparing(FacetCountDTO::getValue));
+            return result.size() > top ? new ArrayList<>(result.subList(0, top)) : result;
+        }
+    }
+
+    /** An autocomplete entry; equality ignores the key so a value reached via several words is listed once. */
+    private static final class Suggestion {
+        private final String key;
+        private final String value;
+        private final String field;
+        private final int count;
+
+        Suggestion(String key, String value, String field, int count) {
+            this.key = key;
+            this.value = value;
+            this.field = field;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Suggestion other && value.equals(other.value) && field.equals(other.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value, field);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.DiplomaSearchResultDTO;
+import com.ayman.adminservice.DTO.SuggestionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search and autocomplete over the catalogue, using the index built and published with each
+ * {@link CatalogueSnapshot}, so searches never query Neo4j nor wait for an index build.
+ * Queries slower than {@code admin.search.latency-budget-ms} are logged.
+ */
+@Service
+public class CatalogueSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueSearchService.class);
+
+    @Value("${admin.search.latency-budget-ms:50}")
+    private long latencyBudgetMs;
+
+    /** @throws IllegalArgumentException if a filter names something that is not a facet */
+    public DiplomaSearchResultDTO search(CatalogueSnapshot snapshot, String query, Map<String, String> filters,
+                                         int offset, int limit, int facetSize) {
+        for (String facet : filters.keySet()) {
+            if (!CatalogueSearchIndex.isFacet(facet)) {
+                throw new IllegalArgumentException("Unknown facet: " + facet);
+            }
+        }
+        CatalogueSearchIndex searchIndex = indexFor(snapshot);
+        long start = System.nanoTime();
+        DiplomaSearchResultDTO result = searchIndex.search(query, filters, offset, limit, facetSize);
+        checkBudget("search", query, start);
+        return result;
+    }
+
+    public List<SuggestionDTO> suggest(CatalogueSnapshot snapshot, String prefix, int limit) {
+        CatalogueSearchIndex searchIndex = indexFor(snapshot);
+        long start = System.nanoTime();
+        List<SuggestionDTO> suggestions = searchIndex.suggest(prefix, limit);
+        checkBudget("autocomplete", prefix, start);
+        return suggestions;
+    }
+
+    // Snapshots from CatalogueSnapshotService always carry their index
+    private static CatalogueSearchIndex indexFor(CatalogueSnapshot snapshot) {
+        CatalogueSearchIndex searchIndex = snapshot.getSearchIndex();
+        return searchIndex != null ? searchIndex : CatalogueSearchIndex.build(snapshot);
+    }
+
+    private void checkBudget(String operation, String query, long startNanos) {
+        long tookMs = (System.nanoTime() - startNanos) / 1_000_000;
+        if (tookMs > latencyBudgetMs) {
+            logger.warn("Slow {} '{}' took {} ms (budget {} ms)", operation, query, tookMs, latencyBudgetMs);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.DiplomaDetailedDTO;
+
+import java.util.*;
+
+/**
+ * Immutable copy of the whole catalogue at one version. Diplomas are stored column-wise in
+ * parallel arrays indexed by position; every string is interned within the snapshot, so a
+ * career shared by a hundred diplomas is held once. Never modified after construction, so it
+ * can be read from any thread without locking.
+ */
+public final class CatalogueSnapshot {
+
+    private static final int NO_DURATION = Integer.MIN_VALUE;
+
+    private final long version;
+    private final long builtAt;
+    private final String[] names;
+    private final String[] schools;
+    private final String[] cities;
+    private final String[] mentions;
+    private final int[] durations;
+    private final String[][] careers;
+    private final String[][] opportunities;
+    private final String[][] previousDiplomas;
+    private final String[][] filieres;
+    private final String[][] subjects;
+    private final String[][] studentSubjects;
+
+    private final List<String> careerVocabulary;
+    private final List<Integer> durationVocabulary;
+    private final List<String> filiereVocabulary;
+    private final List<String> studentSubjectVocabulary;
+    private final List<String> mentionVocabulary;
+
+    private final CatalogueSearchIndex searchIndex;
+
+    private CatalogueSnapshot(Builder builder, long version) {
+        this.version = version;
+        this.builtAt = System.currentTimeMillis();
+        int size = builder.names.size();
+        this.names = builder.names.toArray(new String[size]);
+        this.schools = builder.schools.toArray(new String[size]);
+        this.cities = builder.cities.toArray(new String[size]);
+        this.mentions = builder.mentions.toArray(new String[size]);
+        this.durations = builder.durations.stream().mapToInt(Integer::intValue).toArray();
+        this.careers = builder.careers.toArray(new String[size][]);
+        this.opportunities = builder.opportunities.toArray(new String[size][]);
+        this.previousDiplomas = builder.previousDiplomas.toArray(new String[size][]);
+        this.filieres = builder.filieres.toArray(new String[size][]);
+        this.subjects = builder.subjects.toArray(new String[size][]);
+        this.studentSubjects = builder.studentSubjects.toArray(new String[size][]);
+        this.careerVocabulary = List.copyOf(builder.careerVocabulary);
+        this.durationVocabulary = List.copyOf(builder.durationVocabulary);
+        this.filiereVocabulary = List.copyOf(builder.filiereVocabulary);
+        this.studentSubjectVocabulary = List.copyOf(builder.studentSubjectVocabulary);
+        this.mentionVocabulary = List.copyOf(builder.mentionVocabulary);
+        // Last: the index reads the fields above
+        this.searchIndex = builder.searchable ? CatalogueSearchIndex.build(this) : null;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** Epoch millis at which this snapshot was built, used as Last-Modified. */
+    public long getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /** The search index built with this snapshot, or null if it was built without one. */
+    CatalogueSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public List<String> getCareers() {
+        return careerVocabulary;
+    }
+
+    public List<Integer> getDurees() {
+        return durationVocabulary;
+    }
+
+    public List<String> getFilieres() {
+        return filiereVocabulary;
+    }
+
+    public List<String> getStudentSubjects() {
+        return studentSubjectVocabulary;
+    }
+
+    public List<String> getMentions() {
+        return mentionVocabulary;
+    }
+
+    /** Materialises the catalogue rows; the DTOs are fresh per call so callers may modify them. */
+    public List<DiplomaDetailedDTO> toDetailedDTOs() {
+        List<DiplomaDetailedDTO> diplomas = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            diplomas.add(toDetailedDTO(i));
+        }
+        return diplomas;
+    }
+
+    public DiplomaDetailedDTO toDetailedDTO(int position) {
+        DiplomaDetailedDTO dto = new DiplomaDetailedDTO(
+                names[position],
+                schools[position],
+                view(careers[position]),
+                view(opportunities[position]),
+                view(previousDiplomas[position]),
+                view(filieres[position]),
+                duration(position),
+                mentions[position],
+                cities[position],
+                view(subjects[position]),
+                view(studentSubjects[position]));
+        // Position in the (name-ordered) snapshot, unique within one version
+        dto.setId((long) position + 1);
+        return dto;
+    }
+
+    // Row accessors for indexes built over a snapshot; "" and empty arrays mean no value
+
+    String name(int position) {
+        return names[position];
+    }
+
+    String school(int position) {
+        return schools[position];
+    }
+
+    String city(int position) {
+        return cities[position];
+    }
+
+    String mention(int position) {
+        return mentions[position];
+    }
+
+    Integer duration(int position) {
+        return durations[position] != NO_DURATION ? durations[position] : null;
+    }
+
+    String[] careers(int position) {
+        return careers[position];
+    }
+
+    String[] filieres(int position) {
+        return filieres[position];
+    }
+
+    String[] subjects(int position) {
+        return subjects[position];
+    }
+
+    private static List<String> view(String[] values) {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    static final class Builder {
+        private static final String[] NONE = new String[0];
+
+        private final Map<String, String> pool = new HashMap<>();
+        private final List<String> names;
+        private final List<String> schools;
+        private final List<String> cities;
+        private final List<String> mentions;
+        private final List<Integer> durations;
+        private final List<String[]> careers;
+        private final List<String[]> opportunities;
+        private final List<String[]> previousDiplomas;
+        private final List<String[]> filieres;
+        private final List<String[]> subjects;
+        private final List<String[]> studentSubjects;
+        private final List<String> careerVocabulary = new ArrayList<>();
+        private final List<Integer> durationVocabulary = new ArrayList<>();
+        private final List<String> filiereVocabulary = new ArrayList<>();
+        private final List<String> studentSubjectVocabulary = new ArrayList<>();
+        private final List<String> mentionVocabulary = new ArrayList<>();
+        private boolean searchable;
+
+        Builder(int expectedSize) {
+            names = new ArrayList<>(expectedSize);
+            schools = new ArrayList<>(expectedSize);
+            cities = new ArrayList<>(expectedSize);
+            mentions = new ArrayList<>(expectedSize);
+            durations = new ArrayList<>(expectedSize);
+            careers = new ArrayList<>(expectedSize);
+            opportunities = new ArrayList<>(expectedSize);
+            previousDiplomas = new ArrayList<>(expectedSize);
+            filieres = new ArrayList<>(expectedSize);
+            subjects = new ArrayList<>(expectedSize);
+            studentSubjects = new ArrayList<>(expectedSize);
+        }
+
+        Builder diploma(String name, String school, String city, Integer duration, String mention,
+                        Collection<String> careers, Collection<String> opportunities,
+                        Collection<String> previousDiplomas, Collection<String> filieres,
+                        Collection<String> subjects, Collection<String> studentSubjects) {
+            this.names.add(intern(name));
+            this.schools.add(school != null ? intern(school) : "");
+            this.cities.add(city != null ? intern(city) : "");
+            this.mentions.add(mention != null ? intern(mention) : "");
+            this.durations.add(duration != null ? duration : NO_DURATION);
+            this.careers.add(internAll(careers));
+            this.opportunities.add(internAll(opportunities));
+            this.previousDiplomas.add(internAll(previousDiplomas));
+            this.filieres.add(internAll(filieres));
+            this.subjects.add(internAll(subjects));
+            this.studentSubjects.add(internAll(studentSubjects));
+            return this;
+        }
+
+        Builder vocabulary(Collection<String> careers, Collection<Integer> durations, Collection<String> filieres,
+                           Collection<String> studentSubjects, Collection<String> mentions) {
+            careerVocabulary.addAll(Arrays.asList(internAll(careers)));
+            durations.stream().filter(Objects::nonNull).forEach(durationVocabulary::add);
+            filiereVocabulary.addAll(Arrays.asList(internAll(filieres)));
+            studentSubjectVocabulary.addAll(Arrays.asList(internAll(studentSubjects)));
+            mentionVocabulary.addAll(Arrays.asList(internAll(mentions)));
+            return this;
+        }
+
+        /** Also builds the search index, so the snapshot is published ready to search. */
+        Builder searchable() {
+            searchable = true;
+            return this;
+        }
+
+        CatalogueSnapshot build(long version) {
+            return new CatalogueSnapshot(this, version);
+        }
+
+        private String intern(String value) {
+            return pool.computeIfAbsent(value, v -> v);
+        }
+
+        private String[] internAll(Collection<String> values) {
+            if (values == null || values.isEmpty()) {
+                return NONE;
+            }
+            return values.stream().filter(Objects::nonNull).map(this::intern).toArray(String[]::new);
+        }
+    }
+}
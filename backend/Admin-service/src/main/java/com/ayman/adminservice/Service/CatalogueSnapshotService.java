@@ -0,0 +1,168 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.Event.CatalogueChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the current {@link CatalogueSnapshot}. Read endpoints take the volatile reference and
+ * never touch Neo4j; every committed {@link CatalogueChangedEvent} rebuilds a complete new
+ * snapshot from the graph, with its search index, and swaps it in, so readers see either the
+ * old or the new catalogue, never a mix, and no search pays for building the index.
+ */
+@Service
+public class CatalogueSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueSnapshotService.class);
+
+    // One row per diploma (bound to d), without cartesian products; shared with CatalogueOutbox
+    static final String DIPLOMA_PROJECTION = """
+            d.name AS nomDiplome,
+            [(d)-[:OFFERED_BY]->(e:Ecole) | e.name][0] AS ecole,
+            [(d)-[:OFFERED_BY]->(:Ecole)-[:LOCATED_IN]->(v:Ville) | v.name][0] AS ville,
+            [(d)-[:HAS_DURATION]->(dd:Duree) | dd.years][0] AS duree,
+            [(d)-[:REQUIRES_MENTION]->(m:MentionBac) | m.name][0] AS mentionBac,
+            [(d)-[:LEADS_TO_CAREER]->(c:Career) | c.name] AS career,
+            [(d)-[:OFFERS_OPPORTUNITY]->(o:EmploymentOpportunity) | o.name] AS employmentOpportunities,
+            [(d)-[:REQUIRES_PREVIOUS]->(p:AncienneDiplome) | p.name] AS ancienneDiplome,
+            [(d)-[:BELONGS_TO_FILIERE]->(f:Filiere) | f.name] AS filiere,
+            [(d)-[:INCLUDES_SUBJECT]->(s:MatiereDiplome) | s.name] AS matieresDiplome,
+            [(d)-[:REQUIRES_STUDENT_SUBJECT]->(ss:MatiereEtudiant) | ss.name] AS matieresEtudiant
+            """;
+
+    private static final String DIPLOMAS_QUERY = "MATCH (d:Diplome) WHERE d.name IS NOT NULL RETURN "
+            + DIPLOMA_PROJECTION + "ORDER BY nomDiplome";
+
+    private static final String VOCABULARY_QUERY = """
+            CALL { MATCH (n:Career) WITH n ORDER BY n.name RETURN collect(n.name) AS careers }
+            CALL { MATCH (n:Duree) WITH n ORDER BY n.years RETURN collect(n.years) AS durees }
+            CALL { MATCH (n:Filiere) WITH n ORDER BY n.name RETURN collect(n.name) AS filieres }
+            CALL { MATCH (n:MatiereEtudiant) WITH n ORDER BY n.name RETURN collect(n.name) AS subjects }
+            CALL { MATCH (n:MentionBac) WITH n ORDER BY n.name RETURN collect(n.name) AS mentions }
+            RETURN careers, durees, filieres, subjects, mentions
+            """;
+
+    private final Neo4jClient neo4jClient;
+    private final AtomicLong versions = new AtomicLong();
+    // Versions restart with the process, so ETags also carry the start time
+    private final long epoch = System.currentTimeMillis();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalogue-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Not a monitor: rebuilds wait on Neo4j, which would pin a virtual thread's carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile CatalogueSnapshot snapshot;
+
+    public CatalogueSnapshotService(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    public CatalogueSnapshot getSnapshot() {
+        CatalogueSnapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    public String eTagOf(CatalogueSnapshot snapshot) {
+        return "\"" + epoch + "-" + snapshot.getVersion() + "\"";
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("Could not preload catalogue snapshot, will load on first read: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChanged(CatalogueChangedEvent event) {
+        logger.info("Catalogue changed by {} ({} diplomas), rebuilding snapshot", event.operation(), event.diplomas().size());
+        // After commit the finished transaction is still bound to this thread, so the reads
+        // run on a thread of their own; waiting keeps read-your-writes for the caller
+        try {
+            rebuilder.submit(this::rebuild).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Catalogue snapshot rebuild failed, still serving v{}", snapshot != null ? snapshot.getVersion() : 0, e.getCause());
+        }
+    }
+
+    /** Loads the catalogue in two read queries and swaps the new snapshot in. */
+    public CatalogueSnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            return load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private CatalogueSnapshot load() {
+        long start = System.currentTimeMillis();
+        Collection<Map<String, Object>> rows = neo4jClient.query(DIPLOMAS_QUERY).fetch().all();
+        Map<String, Object> vocabulary = neo4jClient.query(VOCABULARY_QUERY).fetch().one().orElse(Map.of());
+
+        CatalogueSnapshot.Builder builder = new CatalogueSnapshot.Builder(rows.size()).searchable();
+        for (Map<String, Object> row : rows) {
+            builder.diploma(
+                    (String) row.get("nomDiplome"),
+                    (String) row.get("ecole"),
+                    (String) row.get("ville"),
+                    toInteger(row.get("duree")),
+                    (String) row.get("mentionBac"),
+                    strings(row.get("career")),
+                    strings(row.get("employmentOpportunities")),
+                    strings(row.get("ancienneDiplome")),
+                    strings(row.get("filiere")),
+                    strings(row.get("matieresDiplome")),
+                    strings(row.get("matieresEtudiant")));
+        }
+        builder.vocabulary(
+                strings(vocabulary.get("careers")),
+                integers(vocabulary.get("durees")),
+                strings(vocabulary.get("filieres")),
+                strings(vocabulary.get("subjects")),
+                strings(vocabulary.get("mentions")));
+
+        CatalogueSnapshot built = builder.build(versions.incrementAndGet());
+        snapshot = built;
+        logger.info("Catalogue snapshot v{} built: {} diplomas, {} search terms in {} ms", built.getVersion(),
+                built.size(), built.getSearchIndex().termCount(), System.currentTimeMillis() - start);
+        return built;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> strings(Object value) {
+        return value != null ? (List<String>) value : List.of();
+    }
+
+    private static List<Integer> integers(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        return ((List<?>) value).stream().map(CatalogueSnapshotService::toInteger).toList();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? ((Number) value).intValue() : null;
+    }
+}
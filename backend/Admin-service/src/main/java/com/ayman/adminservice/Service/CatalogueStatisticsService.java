@@ -0,0 +1,220 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.CatalogueStatisticsDTO;
+import com.ayman.adminservice.Model.Diploma;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard statistics kept in memory instead of being aggregated over the whole graph on
+ * every request. The snapshot is built with a single query on first use, then updated
+ * incrementally by {@link DiplomaService} after each create, update or delete commits.
+ *
+ * Semantics follow the original per-endpoint queries: only diplomas offered by a school
+ * are counted, schools and cities are those reachable from such diplomas, and the average
+ * duration is taken over diplomas that have one.
+ */
+@Service
+public class CatalogueStatisticsService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueStatisticsService.class);
+
+    private static final String LOAD_QUERY = """
+            MATCH (d:Diplome)
+            OPTIONAL MATCH (d)-[:OFFERED_BY]->(e:Ecole)
+            OPTIONAL MATCH (e)-[:LOCATED_IN]->(v:Ville)
+            OPTIONAL MATCH (d)-[:HAS_DURATION]->(dd:Duree)
+            RETURN d.name AS name, head(collect(e.name)) AS school, head(collect(v.name)) AS city,
+                   head(collect(dd.years)) AS years
+            """;
+
+    private final Neo4jClient neo4jClient;
+
+    // Guards the counters below. Not a monitor: the load waits on Neo4j, which would pin a
+    // virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Per-diploma contribution, so an update or delete knows exactly what to subtract
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Integer> diplomasPerSchool = new HashMap<>();
+    private final Map<String, Integer> diplomasPerCity = new HashMap<>();
+    private long diplomasWithSchool;
+    private long durationSum;
+    private long durationCount;
+    private long version;
+    private boolean loaded;
+
+    // Distinguishes ETags across restarts, since the version counter starts over
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile CatalogueStatisticsDTO snapshot;
+
+    public CatalogueStatisticsService(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    public CatalogueStatisticsDTO getStatistics() {
+        CatalogueStatisticsDTO current = snapshot;
+        return current != null ? current : load();
+    }
+
+    public String eTagOf(CatalogueStatisticsDTO statistics) {
+        return "\"" + epoch + "-" + statistics.getVersion() + "\"";
+    }
+
+    /** Recomputes everything from the graph; also the recovery path if the counters ever drift. */
+    public CatalogueStatisticsDTO reload() {
+        lock.lock();
+        try {
+            loaded = false;
+            return loadLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Records a created or updated diploma once the surrounding transaction commits. */
+    public void diplomaSaved(String previousName, Diploma diploma) {
+        Entry entry = Entry.of(diploma);
+        String name = diploma.getNomDiplome();
+        afterCommit(() -> apply(previousName, name, entry));
+    }
+
+    /** Records a deleted diploma once the surrounding transaction commits. */
+    public void diplomaDeleted(String name) {
+        afterCommit(() -> apply(name, null, null));
+    }
+
+    private CatalogueStatisticsDTO load() {
+        lock.lock();
+        try {
+            return loadLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CatalogueStatisticsDTO loadLocked() {
+        if (loaded) {
+            return snapshot;
+        }
+        long start = System.currentTimeMillis();
+        entries.clear();
+        diplomasPerSchool.clear();
+        diplomasPerCity.clear();
+        diplomasWithSchool = 0;
+        durationSum = 0;
+        durationCount = 0;
+        neo4jClient.query(LOAD_QUERY).fetch().all().forEach(row -> {
+            Object years = row.get("years");
+            Entry entry = new Entry((String) row.get("school"), (String) row.get("city"),
+                    years != null ? ((Number) years).intValue() : null);
+            entries.put((String) row.get("name"), entry);
+            add(entry);
+        });
+        loaded = true;
+        publish();
+        logger.info("Loaded catalogue statistics for {} diplomas in {} ms", entries.size(),
+                System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    private void apply(String removedName, String addedName, Entry added) {
+        lock.lock();
+        try {
+            applyLocked(removedName, addedName, added);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyLocked(String removedName, String addedName, Entry added) {
+        if (!loaded) {
+            // The first read will load the committed state anyway
+            return;
+        }
+        if (removedName != null) {
+            Entry removed = entries.remove(removedName);
+            if (removed != null) {
+                subtract(removed);
+            }
+        }
+        if (addedName != null) {
+            Entry replaced = entries.put(addedName, added);
+            if (replaced != null) {
+                subtract(replaced);
+            }
+            add(added);
+        }
+        publish();
+    }
+
+    private void add(Entry entry) {
+        if (entry.school != null) {
+            diplomasWithSchool++;
+            diplomasPerSchool.merge(entry.school, 1, Integer::sum);
+            if (entry.city != null) {
+                diplomasPerCity.merge(entry.city, 1, Integer::sum);
+            }
+        }
+        if (entry.years != null) {
+            durationSum += entry.years;
+            durationCount++;
+        }
+    }
+
+    private void subtract(Entry entry) {
+        if (entry.school != null) {
+            diplomasWithSchool--;
+            decrement(diplomasPerSchool, entry.school);
+            if (entry.city != null) {
+                decrement(diplomasPerCity, entry.city);
+            }
+        }
+        if (entry.years != null) {
+            durationSum -= entry.years;
+            durationCount--;
+        }
+    }
+
+    private static void decrement(Map<String, Integer> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void publish() {
+        version++;
+        double averageDuration = durationCount > 0 ? (double) durationSum / durationCount : 0.0;
+        snapshot = new CatalogueStatisticsDTO(diplomasWithSchool, diplomasPerSchool.size(),
+                diplomasPerCity.size(), averageDuration, version);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(String school, String city, Integer years) {
+        static Entry of(Diploma diploma) {
+            String school = diploma.getEcole() != null ? diploma.getEcole().getName() : null;
+            String city = diploma.getEcole() != null && diploma.getEcole().getVille() != null
+                    ? diploma.getEcole().getVille().getName() : null;
+            Integer years = diploma.getDuree() != null ? diploma.getDuree().getValue() : null;
+            return new Entry(school, city, years);
+        }
+    }
+}
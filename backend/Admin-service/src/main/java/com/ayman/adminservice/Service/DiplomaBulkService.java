@@ -0,0 +1,169 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.BulkItemResultDTO;
+import com.ayman.adminservice.DTO.BulkOperationResultDTO;
+import com.ayman.adminservice.DTO.DiplomaBulkUpdateDTO;
+import com.ayman.adminservice.Event.CatalogueChangedEvent;
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
+import com.ayman.adminservice.Model.Diploma;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Bulk diploma updates and deletes. Items are applied in chunks of
+ * {@code admin.bulk.chunk-size}, one transaction per chunk. If a chunk fails it is rolled
+ * back and replayed item by item, so one bad entry only fails itself. A single
+ * {@link CatalogueChangedEvent} is published per batch, after the last chunk.
+ */
+@Service
+public class DiplomaBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(DiplomaBulkService.class);
+
+    static final String DELETE_QUERY = """
+            UNWIND $names AS name
+            MATCH (d:Diplome {name: name})
+            DETACH DELETE d
+            RETURN name
+            """;
+
+    private final DiplomaService diplomaService;
+    private final CatalogueStatisticsService statisticsService;
+    private final Neo4jClient neo4jClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogueOutbox outbox;
+
+    @Value("${admin.bulk.chunk-size:100}")
+    private int chunkSize;
+
+    public DiplomaBulkService(DiplomaService diplomaService,
+                              CatalogueStatisticsService statisticsService,
+                              Neo4jClient neo4jClient,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              CatalogueOutbox outbox) {
+        this.diplomaService = diplomaService;
+        this.statisticsService = statisticsService;
+        this.neo4jClient = neo4jClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
+    }
+
+    public BulkOperationResultDTO updateDiplomas(List<DiplomaBulkUpdateDTO> items) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        Set<String> changed = new LinkedHashSet<>();
+        for (List<DiplomaBulkUpdateDTO> chunk : chunks(items)) {
+            try {
+                results.addAll(transactionTemplate.execute(status -> updateChunk(chunk, changed)));
+            } catch (RuntimeException e) {
+                logger.warn("Bulk update chunk of {} failed ({}), retrying item by item", chunk.size(), e.getMessage());
+                for (DiplomaBulkUpdateDTO item : chunk) {
+                    results.add(isolated(item.getCurrentName(), () -> updateChunk(List.of(item), changed).get(0)));
+                }
+            }
+        }
+        return finish("bulk-update", results, changed);
+    }
+
+    public BulkOperationResultDTO deleteDiplomas(List<String> names) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        distinct.removeIf(Objects::isNull);
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        Set<String> changed = new LinkedHashSet<>();
+        for (List<String> chunk : chunks(distinct)) {
+            try {
+                results.addAll(transactionTemplate.execute(status -> deleteChunk(chunk, changed)));
+            } catch (RuntimeException e) {
+                logger.warn("Bulk delete chunk of {} failed ({}), retrying item by item", chunk.size(), e.getMessage());
+                for (String name : chunk) {
+                    results.add(isolated(name, () -> deleteChunk(List.of(name), changed).get(0)));
+                }
+            }
+        }
+        return finish("bulk-delete", results, changed);
+    }
+
+    private List<BulkItemResultDTO> updateChunk(List<DiplomaBulkUpdateDTO> chunk, Set<String> changed) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        Set<String> chunkChanged = new LinkedHashSet<>();
+        for (DiplomaBulkUpdateDTO item : chunk) {
+            String name = item.getCurrentName();
+            if (name == null || item.getDiploma() == null || item.getDiploma().getNomDiplome() == null) {
+                results.add(new BulkItemResultDTO(name, BulkItemResultDTO.FAILED, "currentName and diploma.nomDiplome are required"));
+                continue;
+            }
+            try {
+                Diploma updated = diplomaService.applyUpdate(name, item.getDiploma());
+                chunkChanged.add(name);
+                chunkChanged.add(updated.getNomDiplome());
+                results.add(new BulkItemResultDTO(name, BulkItemResultDTO.UPDATED, null));
+            } catch (IllegalArgumentException e) {
+                results.add(new BulkItemResultDTO(name, BulkItemResultDTO.NOT_FOUND, e.getMessage()));
+            }
+        }
+        // Recorded before the commit; if the commit fails the chunk is replayed item by item,
+        // so at worst the batch event names a diploma that did not change
+        changed.addAll(chunkChanged);
+        return results;
+    }
+
+    private List<BulkItemResultDTO> deleteChunk(List<String> chunk, Set<String> changed) {
+        Map<String, Map<String, List<String>>> before = outbox.captureAll(chunk);
+        Set<String> deleted = new HashSet<>(neo4jClient.query(DELETE_QUERY)
+                .bind(chunk).to("names")
+                .fetchAs(String.class)
+                .all());
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        for (String name : chunk) {
+            if (deleted.contains(name)) {
+                statisticsService.diplomaDeleted(name);
+                outbox.record(DiplomaChangeEvent.DELETED, null, name, before.get(name), null);
+                results.add(new BulkItemResultDTO(name, BulkItemResultDTO.DELETED, null));
+            } else {
+                results.add(new BulkItemResultDTO(name, BulkItemResultDTO.NOT_FOUND, "Diploma with name " + name + " does not exist."));
+            }
+        }
+        changed.addAll(deleted);
+        return results;
+    }
+
+    private BulkItemResultDTO isolated(String name, Supplier<BulkItemResultDTO> action) {
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } catch (RuntimeException e) {
+            logger.error("Bulk operation failed for diploma {}", name, e);
+            return new BulkItemResultDTO(name, BulkItemResultDTO.FAILED, e.getMessage());
+        }
+    }
+
+    private BulkOperationResultDTO finish(String operation, List<BulkItemResultDTO> results, Set<String> changed) {
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogueChangedEvent(operation, changed));
+        }
+        int failed = (int) results.stream()
+                .filter(result -> !BulkItemResultDTO.UPDATED.equals(result.getStatus())
+                        && !BulkItemResultDTO.DELETED.equals(result.getStatus()))
+                .count();
+        logger.info("{}: {} items, {} failed, {} diplomas changed", operation, results.size(), failed, changed.size());
+        return new BulkOperationResultDTO(results.size() - failed, failed, results);
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        int size = Math.max(chunkSize, 1);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
+    }
+}
@@ -1,55 +1,46 @@
 package com.ayman.adminservice.Service;
 
+import com.ayman.adminservice.DTO.CatalogueStatisticsDTO;
 import com.ayman.adminservice.DTO.DiplomaDetailedDTO;
 import com.ayman.adminservice.DTO.DiplomaUpdateDTO;
+import com.ayman.adminservice.Event.CatalogueChangedEvent;
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
 import com.ayman.adminservice.Model.*;
 import com.ayman.adminservice.Repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 public class DiplomaService {
     private static final Logger logger = LoggerFactory.getLogger(DiplomaService.class);
     private final DiplomaRepository diplomaRepository;
-    private final SchoolRepository schoolRepository;
-    private final FiliereRepository filiereRepository;
-    private final CareerRepository careerRepository;
-    private final EmploymentOpportunityRepository opportunityRepository;
-    private final PreviousDiplomaRepository previousDiplomaRepository;
-    private final SubjectRepository subjectRepository;
-    private final EtudiantSubjectRepository etudiantSubjectRepository;
-    private final DurationRepository durationRepository;
-    private final MentionBacRepository mentionBacRepository;
+    private final CatalogueStatisticsService statisticsService;
+    private final VocabularyResolver vocabularyResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogueOutbox outbox;
 
     public DiplomaService(
             DiplomaRepository diplomaRepository,
-            SchoolRepository schoolRepository,
-            FiliereRepository filiereRepository,
-            CareerRepository careerRepository,
-            EmploymentOpportunityRepository opportunityRepository,
-            PreviousDiplomaRepository previousDiplomaRepository,
-            SubjectRepository subjectRepository,
-            EtudiantSubjectRepository etudiantSubjectRepository,
-            DurationRepository durationRepository,
-            MentionBacRepository mentionBacRepository
+            CatalogueStatisticsService statisticsService,
+            VocabularyResolver vocabularyResolver,
+            ApplicationEventPublisher eventPublisher,
+            CatalogueOutbox outbox
     ) {
         this.diplomaRepository = diplomaRepository;
-        this.schoolRepository = schoolRepository;
-        this.filiereRepository = filiereRepository;
-        this.careerRepository = careerRepository;
-        this.opportunityRepository = opportunityRepository;
-        this.previousDiplomaRepository = previousDiplomaRepository;
-        this.subjectRepository = subjectRepository;
-        this.etudiantSubjectRepository = etudiantSubjectRepository;
-        this.durationRepository = durationRepository;
-        this.mentionBacRepository = mentionBacRepository;
+        this.statisticsService = statisticsService;
+        this.vocabularyResolver = vocabularyResolver;
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
     }
 
     public List<Diploma> getAllDiplomas() {
@@ -60,24 +51,36 @@ public class DiplomaService {
         return diplomaRepository.findById(name);
     }
 
+    @Transactional
     public Diploma saveDiploma(Diploma diploma) {
-        return diplomaRepository.save(diploma);
+        Map<String, List<String>> before = outbox.capture(diploma.getNomDiplome());
+        Diploma saved = diplomaRepository.save(diploma);
+        statisticsService.diplomaSaved(null, saved);
+        outbox.record(before == null ? DiplomaChangeEvent.CREATED : DiplomaChangeEvent.UPDATED,
+                null, saved.getNomDiplome(), before, outbox.capture(saved.getNomDiplome()));
+        publishChange("create", saved.getNomDiplome());
+        return saved;
+    }
+
+    // Dashboard figures come from the in-memory snapshot, not from per-request aggregates
+    public CatalogueStatisticsDTO getStatistics() {
+        return statisticsService.getStatistics();
     }
 
     public long getTotalDiplomas() {
-        return diplomaRepository.countDistinctDiplomas();
+        return statisticsService.getStatistics().getTotalDiplomas();
     }
 
     public long getTotalSchools() {
-        return diplomaRepository.countDistinctSchools();
+        return statisticsService.getStatistics().getTotalSchools();
     }
 
-    public int getTotalCities() {
-        return diplomaRepository.countDistinctCities();
+    public long getTotalCities() {
+        return statisticsService.getStatistics().getTotalCities();
     }
 
     public double getAverageDuration() {
-        return diplomaRepository.calculateAverageDuration();
+        return statisticsService.getStatistics().getAverageDuration();
     }
 
     public List<DiplomaDetailedDTO> getAllDiplomasDetailed() {
@@ -98,6 +101,7 @@ public class DiplomaService {
         }
         Diploma diploma = diplomaOptional.get();
         logger.info("Diploma found: {}", diploma.getNomDiplome());
+        Map<String, List<String>> before = outbox.capture(name);
 
         diplomaRepository.deleteByName(name);
         logger.info("Delete operation executed for diploma with name: {}", name);
@@ -107,6 +111,9 @@ public class DiplomaService {
             logger.error("Failed to delete diploma with name {}. Node still exists in the database.", name);
             throw new RuntimeException("Failed to delete diploma with name " + name + ". Node still exists.");
         }
+        statisticsService.diplomaDeleted(name);
+        outbox.record(DiplomaChangeEvent.DELETED, null, name, before, null);
+        publishChange("delete", name);
         logger.info("Diploma with name {} deleted successfully and verified.", name);
     }
 
@@ -116,6 +123,17 @@ public class DiplomaService {
 
     @Transactional
     public Diploma updateDiploma(String oldName, DiplomaUpdateDTO diplomaDTO) {
+        Diploma updatedDiploma = applyUpdate(oldName, diplomaDTO);
+        publishChange("update", oldName, updatedDiploma.getNomDiplome());
+        return updatedDiploma;
+    }
+
+    /**
+     * Update without its own transaction or catalogue event (the outbox entry is recorded in
+     * the caller's transaction), shared with the bulk update which runs
+     * many of these in one chunk transaction and publishes a single event per batch.
+     */
+    Diploma applyUpdate(String oldName, DiplomaUpdateDTO diplomaDTO) {
         logger.info("Attempting to update diploma with name: {}", oldName);
         Optional<Diploma> diplomaOptional = diplomaRepository.findByName(oldName);
         if (diplomaOptional.isEmpty()) {
@@ -125,167 +143,78 @@ public class DiplomaService {
 
         Diploma diploma = diplomaOptional.get();
         logger.info("Diploma found: {}", diploma.getNomDiplome());
+        Map<String, List<String>> before = outbox.capture(oldName);
 
         // Update basic fields
         diploma.setNomDiplome(diplomaDTO.getNomDiplome());
 
-        // Update School and Ville
-        if (diplomaDTO.getEcole() != null && diplomaDTO.getVille() != null) {
-            School school = findOrCreateSchool(diplomaDTO.getEcole(), diplomaDTO.getVille());
-            diploma.setEcole(school);
-        }
-
-        // Update Duration
-        if (diplomaDTO.getDuree() != null) {
-            Duration duration = findOrCreateDuration(diplomaDTO.getDuree());
-            diploma.setDuree(duration);
-        }
-
-        // Update MentionBac
-        if (diplomaDTO.getMentionBac() != null) {
-            MentionBac mention = findOrCreateMention(diplomaDTO.getMentionBac());
-            diploma.setMention(mention);
-        }
-
-        // Update Filiere
-        List<Filiere> filieres = diplomaDTO.getFiliere() != null
-                ? diplomaDTO.getFiliere().stream()
-                .map(this::findOrCreateFiliere)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setFiliere(filieres);
-
-        // Update Careers
-        List<Career> careers = diplomaDTO.getCareer() != null
-                ? diplomaDTO.getCareer().stream()
-                .map(this::findOrCreateCareer)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setCareers(careers);
-
-        // Update Employment Opportunities
-        List<EmploymentOpportunity> opportunities = diplomaDTO.getEmploymentOpportunities() != null
-                ? diplomaDTO.getEmploymentOpportunities().stream()
-                .map(this::findOrCreateOpportunity)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setOpportunities(opportunities);
-
-        // Update Previous Diplomas
-        List<PreviousDiploma> previousDiplomas = diplomaDTO.getAncienneDiplome() != null
-                ? diplomaDTO.getAncienneDiplome().stream()
-                .map(this::findOrCreatePreviousDiploma)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setPreviousDiploma(previousDiplomas);
-
-        // Update Subjects
-        List<Subject> subjects = diplomaDTO.getMatieresDiplome() != null
-                ? diplomaDTO.getMatieresDiplome().stream()
-                .map(this::findOrCreateSubject)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setSubjects(subjects);
-
-        // Update Required Student Subjects
-        List<EtudiantSubject> studentSubjects = diplomaDTO.getMatieresEtudiant() != null
-                ? diplomaDTO.getMatieresEtudiant().stream()
-                .map(this::findOrCreateEtudiantSubject)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setRequiredStudentSubjects(studentSubjects);
+        setVocabulary(diploma, diplomaDTO);
 
         // Save the updated diploma
         Diploma updatedDiploma = diplomaRepository.save(diploma);
+        statisticsService.diplomaSaved(oldName, updatedDiploma);
+        outbox.record(DiplomaChangeEvent.UPDATED, oldName, updatedDiploma.getNomDiplome(),
+                before, outbox.capture(updatedDiploma.getNomDiplome()));
         logger.info("Diploma with name {} updated successfully.", diplomaDTO.getNomDiplome());
         return updatedDiploma;
     }
 
-    public School findOrCreateSchool(String name, String villeName) {
-        Optional<School> schoolOptional = schoolRepository.findByName(name);
-        if (schoolOptional.isPresent()) {
-            return schoolOptional.get();
+    /**
+     * Resolves every vocabulary term of the DTO with one MERGE statement per label and sets
+     * the resulting nodes on the diploma. Null lists clear the relationship, as before.
+     */
+    private void setVocabulary(Diploma diploma, DiplomaUpdateDTO diplomaDTO) {
+        if (diplomaDTO.getEcole() != null && diplomaDTO.getVille() != null) {
+            diploma.setEcole(vocabularyResolver.resolveSchool(diplomaDTO.getEcole(), diplomaDTO.getVille()));
         }
-        School school = new School();
-        school.setName(name);
-        if (villeName != null) {
-            City ville = new City();
-            ville.setName(villeName);
-            school.setVille(ville);
+        if (diplomaDTO.getDuree() != null) {
+            diploma.setDuree(vocabularyResolver.resolve(VocabularyResolver.DURATION, diplomaDTO.getDuree()));
+        }
+        if (diplomaDTO.getMentionBac() != null) {
+            diploma.setMention(vocabularyResolver.resolve(VocabularyResolver.MENTION, diplomaDTO.getMentionBac()));
         }
-        return schoolRepository.save(school);
+        diploma.setFiliere(vocabularyResolver.resolve(VocabularyResolver.FILIERE, diplomaDTO.getFiliere()));
+        diploma.setCareers(vocabularyResolver.resolve(VocabularyResolver.CAREER, diplomaDTO.getCareer()));
+        diploma.setOpportunities(vocabularyResolver.resolve(VocabularyResolver.OPPORTUNITY, diplomaDTO.getEmploymentOpportunities()));
+        diploma.setPreviousDiploma(vocabularyResolver.resolve(VocabularyResolver.PREVIOUS_DIPLOMA, diplomaDTO.getAncienneDiplome()));
+        diploma.setSubjects(vocabularyResolver.resolve(VocabularyResolver.SUBJECT, diplomaDTO.getMatieresDiplome()));
+        diploma.setRequiredStudentSubjects(vocabularyResolver.resolve(VocabularyResolver.ETUDIANT_SUBJECT, diplomaDTO.getMatieresEtudiant()));
+    }
+
+    public School findOrCreateSchool(String name, String villeName) {
+        return vocabularyResolver.resolveSchool(name, villeName);
     }
 
     public Filiere findOrCreateFiliere(String name) {
-        return filiereRepository.findByName(name)
-                .orElseGet(() -> {
-                    Filiere filiere = new Filiere();
-                    filiere.setName(name);
-                    return filiereRepository.save(filiere);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.FILIERE, name);
     }
 
     public Career findOrCreateCareer(String name) {
-        return careerRepository.findByName(name)
-                .orElseGet(() -> {
-                    Career career = new Career();
-                    career.setCareer(name);
-                    return careerRepository.save(career);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.CAREER, name);
     }
 
     public EmploymentOpportunity findOrCreateOpportunity(String name) {
-        return opportunityRepository.findByName(name)
-                .orElseGet(() -> {
-                    EmploymentOpportunity opportunity = new EmploymentOpportunity();
-                    opportunity.setOppotunity(name);
-                    return opportunityRepository.save(opportunity);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.OPPORTUNITY, name);
     }
 
     public PreviousDiploma findOrCreatePreviousDiploma(String name) {
-        return previousDiplomaRepository.findByName(name)
-                .orElseGet(() -> {
-                    PreviousDiploma previousDiploma = new PreviousDiploma();
-                    previousDiploma.setAncienneDiplome(name);
-                    return previousDiplomaRepository.save(previousDiploma);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.PREVIOUS_DIPLOMA, name);
     }
 
     public Subject findOrCreateSubject(String name) {
-        return subjectRepository.findByName(name)
-                .orElseGet(() -> {
-                    Subject subject = new Subject();
-                    subject.setName(name);
-                    return subjectRepository.save(subject);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.SUBJECT, name);
     }
 
     public EtudiantSubject findOrCreateEtudiantSubject(String name) {
-        return etudiantSubjectRepository.findByName(name)
-                .orElseGet(() -> {
-                    EtudiantSubject subject = new EtudiantSubject();
-                    subject.setName(name);
-                    return etudiantSubjectRepository.save(subject);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.ETUDIANT_SUBJECT, name);
     }
 
     public Duration findOrCreateDuration(Integer years) {
-        return durationRepository.findByYears(years)
-                .orElseGet(() -> {
-                    Duration duration = new Duration();
-                    duration.setValue(years);
-                    return durationRepository.save(duration);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.DURATION, years);
     }
 
     public MentionBac findOrCreateMention(String mention) {
-        return mentionBacRepository.findByName(mention)
-                .orElseGet(() -> {
-                    MentionBac mentionBac = new MentionBac();
-                    mentionBac.setMention(mention);
-                    return mentionBacRepository.save(mentionBac);
-                });
+        return vocabularyResolver.resolve(VocabularyResolver.MENTION, mention);
     }
 
     @Transactional
@@ -302,75 +231,20 @@ public class DiplomaService {
         Diploma diploma = new Diploma();
         diploma.setNomDiplome(diplomaDTO.getNomDiplome());
 
-        // Set School and Ville
-        if (diplomaDTO.getEcole() != null && diplomaDTO.getVille() != null) {
-            School school = findOrCreateSchool(diplomaDTO.getEcole(), diplomaDTO.getVille());
-            diploma.setEcole(school);
-        }
-
-        // Set Duration
-        if (diplomaDTO.getDuree() != null) {
-            Duration duration = findOrCreateDuration(diplomaDTO.getDuree());
-            diploma.setDuree(duration);
-        }
-
-        // Set MentionBac
-        if (diplomaDTO.getMentionBac() != null) {
-            MentionBac mention = findOrCreateMention(diplomaDTO.getMentionBac());
-            diploma.setMention(mention);
-        }
-
-        // Set Filiere
-        List<Filiere> filieres = diplomaDTO.getFiliere() != null
-                ? diplomaDTO.getFiliere().stream()
-                .map(this::findOrCreateFiliere)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setFiliere(filieres);
-
-        // Set Careers
-        List<Career> careers = diplomaDTO.getCareer() != null
-                ? diplomaDTO.getCareer().stream()
-                .map(this::findOrCreateCareer)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setCareers(careers);
-
-        // Set Employment Opportunities
-        List<EmploymentOpportunity> opportunities = diplomaDTO.getEmploymentOpportunities() != null
-                ? diplomaDTO.getEmploymentOpportunities().stream()
-                .map(this::findOrCreateOpportunity)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setOpportunities(opportunities);
-
-        // Set Previous Diplomas
-        List<PreviousDiploma> previousDiplomas = diplomaDTO.getAncienneDiplome() != null
-                ? diplomaDTO.getAncienneDiplome().stream()
-                .map(this::findOrCreatePreviousDiploma)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setPreviousDiploma(previousDiplomas);
-
-        // Set Subjects
-        List<Subject> subjects = diplomaDTO.getMatieresDiplome() != null
-                ? diplomaDTO.getMatieresDiplome().stream()
-                .map(this::findOrCreateSubject)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setSubjects(subjects);
-
-        // Set Required Student Subjects
-        List<EtudiantSubject> studentSubjects = diplomaDTO.getMatieresEtudiant() != null
-                ? diplomaDTO.getMatieresEtudiant().stream()
-                .map(this::findOrCreateEtudiantSubject)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
-        diploma.setRequiredStudentSubjects(studentSubjects);
+        setVocabulary(diploma, diplomaDTO);
 
         // Save the new diploma
         Diploma createdDiploma = diplomaRepository.save(diploma);
+        statisticsService.diplomaSaved(null, createdDiploma);
+        outbox.record(DiplomaChangeEvent.CREATED, null, createdDiploma.getNomDiplome(),
+                null, outbox.capture(createdDiploma.getNomDiplome()));
+        publishChange("create", createdDiploma.getNomDiplome());
         logger.info("Diploma with name {} created successfully.", diplomaDTO.getNomDiplome());
         return createdDiploma;
     }
-}
\ No newline at end of file
+
+    private void publishChange(String operation, String... names) {
+        Set<String> diplomas = new LinkedHashSet<>(Arrays.asList(names));
+        eventPublisher.publishEvent(new CatalogueChangedEvent(operation, diplomas));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ayman.adminservice.Service;
+
+import com.example.common.schema.SchemaDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migrations and extra lookups of admin-service, applied and checked on startup by the shared
+ * {@link com.example.common.schema.SchemaBootstrap}.
+ */
+@Component
+public class ServiceSchema implements SchemaDefinition {
+
+    private static final List<List<String>> MIGRATIONS = List.of(
+            // 1: String-id nodes are unique by construction; generated-id vocabulary nodes
+            // may hold duplicates, so they only get lookup indexes
+            List.of(
+                    "CREATE CONSTRAINT diplome_name IF NOT EXISTS FOR (n:Diplome) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT career_name IF NOT EXISTS FOR (n:Career) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT employment_opportunity_name IF NOT EXISTS FOR (n:EmploymentOpportunity) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT mention_bac_name IF NOT EXISTS FOR (n:MentionBac) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT ancienne_diplome_name IF NOT EXISTS FOR (n:AncienneDiplome) REQUIRE n.name IS UNIQUE",
+                    "CREATE INDEX ecole_name IF NOT EXISTS FOR (n:Ecole) ON (n.name)",
+                    "CREATE INDEX ville_name IF NOT EXISTS FOR (n:Ville) ON (n.name)",
+                    "CREATE INDEX filiere_name IF NOT EXISTS FOR (n:Filiere) ON (n.name)",
+                    "CREATE INDEX matiere_diplome_name IF NOT EXISTS FOR (n:MatiereDiplome) ON (n.name)",
+                    "CREATE INDEX matiere_etudiant_name IF NOT EXISTS FOR (n:MatiereEtudiant) ON (n.name)",
+                    "CREATE INDEX duree_years IF NOT EXISTS FOR (n:Duree) ON (n.years)"
+            ),
+            // 2: merge the duplicates left by the old read-then-save findOrCreate*, then
+            // make every vocabulary term unique so VocabularyResolver's MERGEs cannot race
+            List.of(
+                    dedupe("Ville", "name", "LOCATED_IN", ""),
+                    dedupe("Ecole", "name", "OFFERED_BY", """
+                            CALL {
+                                WITH keep, duplicate
+                                MATCH (duplicate)-[:LOCATED_IN]->(v:Ville)
+                                WHERE NOT (keep)-[:LOCATED_IN]->(:Ville)
+                                WITH keep, v LIMIT 1
+                                MERGE (keep)-[:LOCATED_IN]->(v)
+                            }
+                            """),
+                    dedupe("Filiere", "name", "BELONGS_TO_FILIERE", ""),
+                    dedupe("MatiereDiplome", "name", "INCLUDES_SUBJECT", ""),
+                    dedupe("MatiereEtudiant", "name", "REQUIRES_STUDENT_SUBJECT", ""),
+                    dedupe("Duree", "years", "HAS_DURATION", ""),
+                    "DROP INDEX ecole_name IF EXISTS",
+                    "DROP INDEX ville_name IF EXISTS",
+                    "DROP INDEX filiere_name IF EXISTS",
+                    "DROP INDEX matiere_diplome_name IF EXISTS",
+                    "DROP INDEX matiere_etudiant_name IF EXISTS",
+                    "DROP INDEX duree_years IF EXISTS",
+                    "CREATE CONSTRAINT ecole_name IF NOT EXISTS FOR (n:Ecole) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT ville_name IF NOT EXISTS FOR (n:Ville) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT filiere_name IF NOT EXISTS FOR (n:Filiere) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT matiere_diplome_name IF NOT EXISTS FOR (n:MatiereDiplome) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT matiere_etudiant_name IF NOT EXISTS FOR (n:MatiereEtudiant) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT duree_years IF NOT EXISTS FOR (n:Duree) REQUIRE n.years IS UNIQUE"
+            ),
+            // 3: catalogue change outbox
+            List.of(
+                    "CREATE CONSTRAINT outbox_sequence_name IF NOT EXISTS FOR (n:OutboxSequence) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT outbox_event_sequence IF NOT EXISTS FOR (n:OutboxEvent) REQUIRE n.sequence IS UNIQUE",
+                    "CREATE INDEX outbox_event_published_at IF NOT EXISTS FOR (n:OutboxEvent) ON (n.publishedAt)"
+            )
+    );
+
+    // Lookups the services run through the Neo4jClient or Neo4jTemplate rather than a repository
+    private static final Map<String, String> LOOKUPS = Map.ofEntries(
+            Map.entry("VocabularyResolver.filiere", VocabularyResolver.FILIERE.mergeQuery()),
+            Map.entry("VocabularyResolver.career", VocabularyResolver.CAREER.mergeQuery()),
+            Map.entry("VocabularyResolver.opportunity", VocabularyResolver.OPPORTUNITY.mergeQuery()),
+            Map.entry("VocabularyResolver.previousDiploma", VocabularyResolver.PREVIOUS_DIPLOMA.mergeQuery()),
+            Map.entry("VocabularyResolver.subject", VocabularyResolver.SUBJECT.mergeQuery()),
+            Map.entry("VocabularyResolver.etudiantSubject", VocabularyResolver.ETUDIANT_SUBJECT.mergeQuery()),
+            Map.entry("VocabularyResolver.duration", VocabularyResolver.DURATION.mergeQuery()),
+            Map.entry("VocabularyResolver.mention", VocabularyResolver.MENTION.mergeQuery()),
+            Map.entry("VocabularyResolver.schools", VocabularyResolver.SCHOOLS_QUERY),
+            Map.entry("DiplomaBulkService.delete", DiplomaBulkService.DELETE_QUERY),
+            Map.entry("CatalogueOutbox.capture", CatalogueOutbox.CAPTURE_QUERY),
+            Map.entry("CatalogueOutbox.append", CatalogueOutbox.APPEND_QUERY),
+            Map.entry("CatalogueOutbox.read", CatalogueOutbox.READ_QUERY),
+            Map.entry("CatalogueOutbox.markPublished", CatalogueOutbox.MARK_PUBLISHED_QUERY),
+            Map.entry("CatalogueOutbox.purge", CatalogueOutbox.PURGE_QUERY)
+    );
+
+    @Override
+    public String service() {
+        return "admin-service";
+    }
+
+    @Override
+    public List<List<String>> migrations() {
+        return MIGRATIONS;
+    }
+
+    @Override
+    public Map<String, String> lookups() {
+        return LOOKUPS;
+    }
+
+    /**
+     * Keeps the lowest-id node of every group sharing the same term, re-points the incoming
+     * relationships of the others at it and deletes them.
+     */
+    private static String dedupe(String label, String property, String incoming, String extra) {
+        return "MATCH (n:" + label + ") WHERE n." + property + " IS NOT NULL\n"
+                + "WITH n ORDER BY id(n)\n"
+                + "WITH n." + property + " AS term, collect(n) AS nodes WHERE size(nodes) > 1\n"
+                + "WITH head(nodes) AS keep, tail(nodes) AS duplicates\n"
+                + "UNWIND duplicates AS duplicate\n"
+                + "CALL {\n"
+                + "    WITH keep, duplicate\n"
+                + "    MATCH (source)-[:" + incoming + "]->(duplicate)\n"
+                + "    MERGE (source)-[:" + incoming + "]->(keep)\n"
+                + "}\n"
+                + extra
+                + "DETACH DELETE duplicate";
+    }
+}
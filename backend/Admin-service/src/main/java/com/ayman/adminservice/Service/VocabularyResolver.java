@@ -0,0 +1,148 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.Model.*;
+import org.springframework.data.neo4j.core.Neo4jTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Resolves vocabulary terms (filieres, careers, subjects, durations, ...) to their nodes,
+ * creating the missing ones. Each call is one UNWIND ... MERGE statement per label, and the
+ * uniqueness constraints created by {@link ServiceSchema} make concurrent MERGEs of the same
+ * term converge on a single node instead of racing a read against a save.
+ */
+@Service
+public class VocabularyResolver {
+
+    public static final Vocabulary<Filiere> FILIERE =
+            new Vocabulary<>("Filiere", "name", Filiere.class, Filiere::getName);
+    public static final Vocabulary<Career> CAREER =
+            new Vocabulary<>("Career", "name", Career.class, Career::getCareer);
+    public static final Vocabulary<EmploymentOpportunity> OPPORTUNITY =
+            new Vocabulary<>("EmploymentOpportunity", "name", EmploymentOpportunity.class, EmploymentOpportunity::getOppotunity);
+    public static final Vocabulary<PreviousDiploma> PREVIOUS_DIPLOMA =
+            new Vocabulary<>("AncienneDiplome", "name", PreviousDiploma.class, PreviousDiploma::getAncienneDiplome);
+    public static final Vocabulary<Subject> SUBJECT =
+            new Vocabulary<>("MatiereDiplome", "name", Subject.class, Subject::getName);
+    public static final Vocabulary<EtudiantSubject> ETUDIANT_SUBJECT =
+            new Vocabulary<>("MatiereEtudiant", "name", EtudiantSubject.class, EtudiantSubject::getName);
+    public static final Vocabulary<Duration> DURATION =
+            new Vocabulary<>("Duree", "years", Duration.class, Duration::getValue);
+    public static final Vocabulary<MentionBac> MENTION =
+            new Vocabulary<>("MentionBac", "name", MentionBac.class, MentionBac::getMention);
+
+    // An existing school keeps its city; a new one is attached to the (merged) city it names
+    static final String SCHOOLS_QUERY = """
+            UNWIND $schools AS row
+            MERGE (e:Ecole {name: row.name})
+            WITH e, row
+            CALL {
+                WITH e, row
+                WITH e, row WHERE row.city IS NOT NULL AND NOT (e)-[:LOCATED_IN]->(:Ville)
+                MERGE (v:Ville {name: row.city})
+                MERGE (e)-[:LOCATED_IN]->(v)
+            }
+            WITH DISTINCT e
+            OPTIONAL MATCH (e)-[r:LOCATED_IN]->(v:Ville)
+            RETURN e, collect(r), collect(v)
+            """;
+
+    private final Neo4jTemplate neo4jTemplate;
+
+    public VocabularyResolver(Neo4jTemplate neo4jTemplate) {
+        this.neo4jTemplate = neo4jTemplate;
+    }
+
+    /**
+     * Returns one node per input term, in input order, creating missing terms. Null terms are
+     * skipped and repeated terms map to the same node.
+     */
+    public <T> List<T> resolve(Vocabulary<T> vocabulary, Collection<?> terms) {
+        if (terms == null || terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> distinct = new ArrayList<>(new LinkedHashSet<>(terms));
+        distinct.removeIf(Objects::isNull);
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Concurrent batches then lock their terms in the same order and cannot deadlock
+        distinct.sort(Comparator.comparing(Object::toString));
+
+        Map<Object, T> byTerm = new HashMap<>();
+        for (T node : neo4jTemplate.findAll(vocabulary.mergeQuery(), Map.of("terms", distinct), vocabulary.type)) {
+            byTerm.put(vocabulary.term.apply(node), node);
+        }
+
+        List<T> resolved = new ArrayList<>(terms.size());
+        for (Object term : terms) {
+            T node = term != null ? byTerm.get(term) : null;
+            if (node != null) {
+                resolved.add(node);
+            }
+        }
+        return resolved;
+    }
+
+    public <T> T resolve(Vocabulary<T> vocabulary, Object term) {
+        List<T> resolved = resolve(vocabulary, Collections.singletonList(term));
+        return resolved.isEmpty() ? null : resolved.get(0);
+    }
+
+    /** Resolves schools given as name to city, loaded with their city so a cascading save keeps it. */
+    public Map<String, School> resolveSchools(Map<String, String> cityBySchool) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        cityBySchool.forEach((name, city) -> {
+            if (name != null) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("name", name);
+                row.put("city", city);
+                rows.add(row);
+            }
+        });
+        rows.sort(Comparator.comparing(row -> (String) row.get("name")));
+        Map<String, School> schools = new HashMap<>();
+        if (rows.isEmpty()) {
+            return schools;
+        }
+        for (School school : neo4jTemplate.findAll(SCHOOLS_QUERY, Map.of("schools", rows), School.class)) {
+            schools.put(school.getName(), school);
+        }
+        return schools;
+    }
+
+    public School resolveSchool(String name, String city) {
+        Map<String, String> cityBySchool = new HashMap<>();
+        cityBySchool.put(name, city);
+        return resolveSchools(cityBySchool).get(name);
+    }
+
+    /** A vocabulary label, the property identifying a term and how to read it back from the entity. */
+    public static final class Vocabulary<T> {
+        private final String label;
+        private final String property;
+        private final Class<T> type;
+        private final Function<T, Object> term;
+
+        private Vocabulary(String label, String property, Class<T> type, Function<T, Object> term) {
+            this.label = label;
+            this.property = property;
+            this.type = type;
+            this.term = term;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        String mergeQuery() {
+            return "UNWIND $terms AS term MERGE (n:" + label + " {" + property + ": term}) RETURN n";
+        }
+    }
+}
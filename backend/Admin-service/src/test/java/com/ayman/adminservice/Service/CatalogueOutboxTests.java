@@ -0,0 +1,176 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class CatalogueOutboxTests {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 10;
+
+    @Container
+    @ServiceConnection
+    static Neo4jContainer<?> neo4j = new Neo4jContainer<>("neo4j:5");
+
+    @Autowired
+    private CatalogueOutbox outbox;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentWritersGetGapFreeSequencesInCommitOrder() throws Exception {
+        long base = lastSequence();
+        int writes = THREADS * WRITES_PER_THREAD;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<String> readerFailures = new CopyOnWriteArrayList<>();
+
+        // A reader resuming from what it saw must never find a gap filled in later, so every
+        // read while the writers run has to be a contiguous run from base + 1
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                List<Long> seen = sequences(outbox.readAfter(base, writes));
+                if (!seen.equals(range(base + 1, seen.size()))) {
+                    readerFailures.add(seen.toString());
+                }
+            }
+        });
+        reader.start();
+        try {
+            runConcurrently(thread -> {
+                for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                    write("Outbox diploma " + thread + "-" + i, false);
+                }
+                return null;
+            });
+        } finally {
+            writing.set(false);
+            reader.join();
+        }
+
+        List<DiplomaChangeEvent> events = outbox.readAfter(base, writes + 1);
+        assertEquals(range(base + 1, writes), sequences(events));
+        assertEquals(writes, events.stream().map(DiplomaChangeEvent::diploma).distinct().count());
+        assertEquals(List.of(), readerFailures);
+    }
+
+    @Test
+    void rolledBackWriteLeavesNoEvent() {
+        long base = lastSequence();
+
+        write("Outbox rolled back", true);
+
+        assertEquals(0, count("MATCH (d:Diplome {name: 'Outbox rolled back'}) RETURN count(d)"));
+        assertEquals(0, count("MATCH (e:OutboxEvent {diploma: 'Outbox rolled back'}) RETURN count(e)"));
+        assertTrue(outbox.readAfter(base, 10).isEmpty());
+
+        // The counter did not move either, so the next commit takes the next sequence
+        write("Outbox after rollback", false);
+        assertEquals(List.of(base + 1), sequences(outbox.readAfter(base, 10)));
+    }
+
+    @Test
+    void readAfterAndOldestSequenceSkipPurgedEvents() throws Exception {
+        long base = lastSequence();
+        for (int i = 0; i < 6; i++) {
+            write("Outbox purged " + i, false);
+        }
+        awaitPublished();
+        // Everything up to base + 3 was published long ago, the rest just now
+        neo4jClient.query("MATCH (e:OutboxEvent) WHERE e.sequence <= $last SET e.publishedAt = datetime() - duration({days: 30})")
+                .bind(base + 3).to("last")
+                .run();
+
+        outbox.purge();
+
+        assertEquals(base + 4, outbox.oldestSequence());
+        assertEquals(range(base + 4, 3), sequences(outbox.readAfter(0, 10)));
+        assertEquals(range(base + 4, 3), sequences(outbox.readAfter(base + 1, 10)));
+        assertEquals(List.of(base + 6), sequences(outbox.readAfter(base + 5, 10)));
+        assertTrue(outbox.readAfter(base + 6, 10).isEmpty());
+    }
+
+    private void write(String diploma, boolean rollback) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            neo4jClient.query("CREATE (:Diplome {name: $name})").bind(diploma).to("name").run();
+            outbox.record(DiplomaChangeEvent.CREATED, null, diploma, null, Map.of("nomDiplome", List.of(diploma)));
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    // The relay marks events published asynchronously after each commit
+    private void awaitPublished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (count("MATCH (e:OutboxEvent) WHERE e.publishedAt IS NULL RETURN count(e)") > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Outbox events were not relayed");
+            Thread.sleep(50);
+        }
+    }
+
+    private long lastSequence() {
+        return count("OPTIONAL MATCH (s:OutboxSequence {name: 'catalogue'}) RETURN coalesce(s.value, 0)");
+    }
+
+    private static List<Long> sequences(List<DiplomaChangeEvent> events) {
+        return events.stream().map(DiplomaChangeEvent::sequence).toList();
+    }
+
+    private static List<Long> range(long first, int size) {
+        return LongStream.range(first, first + size).boxed().toList();
+    }
+
+    private <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.run(id);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long count(String query) {
+        return neo4jClient.query(query).fetchAs(Long.class).one().orElse(0L);
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask<T> {
+        T run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.DiplomaDetailedDTO;
+import com.ayman.adminservice.DTO.DiplomaSearchResultDTO;
+import com.ayman.adminservice.DTO.FacetCountDTO;
+import com.ayman.adminservice.DTO.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogueSearchIndexTests {
+
+    // In catalogue (name) order, as CatalogueSnapshotService loads it
+    private final CatalogueSearchIndex index = CatalogueSearchIndex.build(new CatalogueSnapshot.Builder(5)
+            .diploma("Génie Civil", "ENSA", "Rabat", 5, "Bien",
+                    List.of("Ingénieur BTP"), List.of(), List.of(), List.of("Sciences"), List.of("Béton"), List.of())
+            .diploma("Génie Informatique", "ENSA", "Rabat", 5, "Bien",
+                    List.of("Développeur"), List.of(), List.of(), List.of("Sciences"), List.of("Algorithmique"), List.of())
+            .diploma("Informatique Décisionnelle", "FST", "Fès", 3, "Passable",
+                    List.of("Data Analyst", "Développeur"), List.of(), List.of(), List.of("Sciences"), List.of("Bases de données"), List.of())
+            .diploma("Licence Économie", "FSJES", "Rabat", 3, "Passable",
+                    List.of("Analyste financier"), List.of(), List.of(), List.of("Économie"), List.of("Statistiques"), List.of())
+            .diploma("Master Informatique", "FST", "Fès", 2, "Assez Bien",
+                    List.of("Développeur"), List.of(), List.of(), List.of("Sciences"), List.of("Génie logiciel"), List.of())
+            .build(1));
+
+    @Test
+    void lastWordIsAPrefixAndAccentsAreIgnored() {
+        assertEquals(List.of("Génie Civil", "Génie Informatique", "Master Informatique"),
+                names(index.search("genie", Map.of(), 0, 10, 5)));
+        assertEquals(List.of("Génie Informatique", "Informatique Décisionnelle", "Master Informatique"),
+                names(index.search("info", Map.of(), 0, 10, 5)));
+        // Only the last word is completed
+        assertEquals(0, index.search("info genie", Map.of(), 0, 10, 5).getTotal());
+    }
+
+    @Test
+    void nameMatchesRankBeforeOtherFields() {
+        // "Génie logiciel" is a subject of the Master; both words are in the other name
+        assertEquals(List.of("Génie Informatique", "Master Informatique"),
+                names(index.search("informatique genie", Map.of(), 0, 10, 5)));
+    }
+
+    @Test
+    void facetsCountEveryHitAndFiltersNarrowThem() {
+        DiplomaSearchResultDTO all = index.search("", Map.of(), 0, 2, 5);
+
+        assertEquals(5, all.getTotal());
+        assertEquals(List.of(new FacetCountDTO("Rabat", 3), new FacetCountDTO("Fès", 2)),
+                all.getFacets().get(CatalogueSearchIndex.CITY));
+        assertEquals(List.of(new FacetCountDTO("Développeur", 3), new FacetCountDTO("Analyste financier", 1)),
+                all.getFacets().get(CatalogueSearchIndex.CAREER).subList(0, 2));
+
+        DiplomaSearchResultDTO filtered = index.search("informatique",
+                Map.of(CatalogueSearchIndex.CITY, "Fès", CatalogueSearchIndex.DURATION, "2"), 0, 10, 5);
+        assertEquals(List.of("Master Informatique"), names(filtered));
+        assertEquals(List.of(new FacetCountDTO("FST", 1)), filtered.getFacets().get(CatalogueSearchIndex.SCHOOL));
+
+        assertEquals(0, index.search("", Map.of(CatalogueSearchIndex.CITY, "Casablanca"), 0, 10, 5).getTotal());
+    }
+
+    @Test
+    void facetCountsAreCappedToTheFacetSize() {
+        List<FacetCountDTO> schools = index.search("", Map.of(), 0, 10, 2).getFacets().get(CatalogueSearchIndex.SCHOOL);
+
+        assertEquals(List.of(new FacetCountDTO("ENSA", 2), new FacetCountDTO("FST", 2)), schools);
+    }
+
+    @Test
+    void pagesCoverTheHitsOnceWithTheTotalOfAll() {
+        DiplomaSearchResultDTO first = index.search("", Map.of(), 0, 2, 5);
+        DiplomaSearchResultDTO second = index.search("", Map.of(), 2, 2, 5);
+        DiplomaSearchResultDTO last = index.search("", Map.of(), 4, 2, 5);
+        DiplomaSearchResultDTO beyond = index.search("", Map.of(), 10, 2, 5);
+
+        assertEquals(List.of("Génie Civil", "Génie Informatique"), names(first));
+        assertEquals(List.of("Informatique Décisionnelle", "Licence Économie"), names(second));
+        assertEquals(List.of("Master Informatique"), names(last));
+        assertTrue(beyond.getDiplomas().isEmpty());
+        for (DiplomaSearchResultDTO page : List.of(first, second, last, beyond)) {
+            assertEquals(5, page.getTotal());
+            assertEquals(1, page.getVersion());
+        }
+        assertEquals(10, beyond.getOffset());
+    }
+
+    @Test
+    void autocompleteCompletesAnyWordMostUsedFirst() {
+        List<SuggestionDTO> suggestions = index.suggest("Dév", 10);
+
+        assertEquals(new SuggestionDTO("Développeur", CatalogueSearchIndex.CAREER, 3), suggestions.get(0));
+        assertEquals(1, suggestions.size());
+
+        // "info" starts the second word of "Génie Informatique"
+        List<String> values = index.suggest("info", 10).stream().map(SuggestionDTO::getValue).toList();
+        assertEquals(List.of("Génie Informatique", "Informatique Décisionnelle", "Master Informatique"), values);
+    }
+
+    @Test
+    void autocompleteMatchesSeveralWordsAndHonoursTheLimit() {
+        assertEquals(List.of("Génie Informatique"),
+                index.suggest("genie inf", 10).stream().map(SuggestionDTO::getValue).toList());
+        assertEquals(List.of(new SuggestionDTO("Rabat", CatalogueSearchIndex.CITY, 3)), index.suggest("ra", 1));
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest("zzz", 10).isEmpty());
+    }
+
+    @Test
+    void searchableSnapshotsArePublishedWithTheirIndex() {
+        CatalogueSnapshot.Builder builder = new CatalogueSnapshot.Builder(1)
+                .diploma("Génie Civil", "ENSA", "Rabat", 5, "Bien",
+                        List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+
+        assertNull(builder.build(1).getSearchIndex());
+        CatalogueSnapshot searchable = builder.searchable().build(2);
+        assertEquals(2, searchable.getSearchIndex().version());
+        assertEquals(1, searchable.getSearchIndex().search("civil", Map.of(), 0, 10, 5).getTotal());
+    }
+
+    private static List<String> names(DiplomaSearchResultDTO result) {
+        return result.getDiplomas().stream().map(DiplomaDetailedDTO::getNomDiplome).toList();
+    }
+}
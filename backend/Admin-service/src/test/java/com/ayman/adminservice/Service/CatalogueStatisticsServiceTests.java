@@ -0,0 +1,169 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.CatalogueStatisticsDTO;
+import com.ayman.adminservice.Model.City;
+import com.ayman.adminservice.Model.Diploma;
+import com.ayman.adminservice.Model.Duration;
+import com.ayman.adminservice.Model.School;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CatalogueStatisticsServiceTests {
+
+    // The committed graph, as rows of the load query
+    private final Map<String, Map<String, Object>> graph = new LinkedHashMap<>();
+
+    private Neo4jClient neo4jClient;
+    private CatalogueStatisticsService statisticsService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void graph() {
+        neo4jClient = mock(Neo4jClient.class);
+        Neo4jClient.UnboundRunnableSpec load = mock(Neo4jClient.UnboundRunnableSpec.class);
+        Neo4jClient.RecordFetchSpec<Map<String, Object>> rows = mock(Neo4jClient.RecordFetchSpec.class);
+        when(neo4jClient.query(anyString())).thenReturn(load);
+        when(load.fetch()).thenReturn(rows);
+        when(rows.all()).thenAnswer(invocation -> List.copyOf(graph.values()));
+        statisticsService = new CatalogueStatisticsService(neo4jClient);
+
+        commit("Génie Civil", "ENSA", "Rabat", 5);
+        commit("Licence Économie", "FSJES", "Fès", 3);
+        commit("Tronc Commun", null, null, 2);
+    }
+
+    @Test
+    void incrementalCountersMatchAReloadAfterEachChange() {
+        assertMatchesReload(statisticsService.getStatistics());
+
+        // Create
+        statisticsService.diplomaSaved(null, commit("Génie Informatique", "ENSA", "Rabat", 3));
+        assertMatchesReload(statisticsService.getStatistics());
+
+        // Rename: the old name's contribution moves to the new one
+        graph.remove("Génie Civil");
+        statisticsService.diplomaSaved("Génie Civil", commit("Génie Civil et BTP", "ENSA", "Rabat", 5));
+        assertMatchesReload(statisticsService.getStatistics());
+
+        // School change in place: the replaced entry is subtracted, FSJES and Fès disappear
+        statisticsService.diplomaSaved("Licence Économie", commit("Licence Économie", "ENCG", "Casablanca", null));
+        assertMatchesReload(statisticsService.getStatistics());
+
+        // A diploma without a school gets one
+        statisticsService.diplomaSaved("Tronc Commun", commit("Tronc Commun", "ENCG", "Casablanca", 2));
+        assertMatchesReload(statisticsService.getStatistics());
+
+        // Deletes, down to one school and city
+        graph.remove("Génie Informatique");
+        statisticsService.diplomaDeleted("Génie Informatique");
+        assertMatchesReload(statisticsService.getStatistics());
+        graph.remove("Génie Civil et BTP");
+        statisticsService.diplomaDeleted("Génie Civil et BTP");
+        CatalogueStatisticsDTO last = statisticsService.getStatistics();
+        assertMatchesReload(last);
+
+        assertEquals(2, last.getTotalDiplomas());
+        assertEquals(1, last.getTotalSchools());
+        assertEquals(1, last.getTotalCities());
+        assertEquals(2.0, last.getAverageDuration());
+        // Loaded once, then only counters
+        verify(neo4jClient, times(1 + 7)).query(anyString());
+    }
+
+    @Test
+    void changesApplyOnlyOnceTheirTransactionCommits() {
+        CatalogueStatisticsDTO before = statisticsService.getStatistics();
+
+        List<TransactionSynchronization> rolledBack = inTransaction(() -> {
+            statisticsService.diplomaSaved(null, diploma("Rolled Back", "EMI", "Rabat", 5));
+            statisticsService.diplomaDeleted("Génie Civil");
+        });
+        rolledBack.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertSame(before, statisticsService.getStatistics());
+
+        List<TransactionSynchronization> committed = inTransaction(() ->
+                statisticsService.diplomaSaved(null, commit("Master Data", "EMI", "Rabat", 2)));
+        assertSame(before, statisticsService.getStatistics());
+        committed.forEach(TransactionSynchronization::afterCommit);
+
+        CatalogueStatisticsDTO after = statisticsService.getStatistics();
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(3, after.getTotalDiplomas());
+        assertMatchesReload(after);
+    }
+
+    @Test
+    void changesBeforeTheFirstLoadAreLeftToIt() {
+        statisticsService.diplomaSaved(null, commit("Master Data", "EMI", "Rabat", 2));
+        graph.remove("Génie Civil");
+        statisticsService.diplomaDeleted("Génie Civil");
+        verify(neo4jClient, never()).query(anyString());
+
+        CatalogueStatisticsDTO loaded = statisticsService.getStatistics();
+
+        // Counted once, by the load
+        assertEquals(2, loaded.getTotalDiplomas());
+        assertEquals(1, loaded.getVersion());
+        assertMatchesReload(loaded);
+    }
+
+    private void assertMatchesReload(CatalogueStatisticsDTO incremental) {
+        CatalogueStatisticsDTO reloaded = new CatalogueStatisticsService(neo4jClient).reload();
+        assertEquals(reloaded.getTotalDiplomas(), incremental.getTotalDiplomas(), "diplomas");
+        assertEquals(reloaded.getTotalSchools(), incremental.getTotalSchools(), "schools");
+        assertEquals(reloaded.getTotalCities(), incremental.getTotalCities(), "cities");
+        assertEquals(reloaded.getAverageDuration(), incremental.getAverageDuration(), 1e-9, "average duration");
+    }
+
+    // Runs the action with synchronization active and returns what it registered
+    private static List<TransactionSynchronization> inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Writes the diploma to the graph and returns it as the service would see it saved
+    private Diploma commit(String name, String school, String city, Integer years) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", name);
+        row.put("school", school);
+        row.put("city", school != null ? city : null);
+        row.put("years", years != null ? years.longValue() : null);
+        graph.put(name, row);
+        return diploma(name, school, city, years);
+    }
+
+    private static Diploma diploma(String name, String school, String city, Integer years) {
+        Diploma diploma = new Diploma();
+        diploma.setNomDiplome(name);
+        if (school != null) {
+            School ecole = new School();
+            ecole.setName(school);
+            if (city != null) {
+                City ville = new City();
+                ville.setName(city);
+                ecole.setVille(ville);
+            }
+            diploma.setEcole(ecole);
+        }
+        if (years != null) {
+            Duration duree = new Duration();
+            duree.setValue(years);
+            diploma.setDuree(duree);
+        }
+        return diploma;
+    }
+}
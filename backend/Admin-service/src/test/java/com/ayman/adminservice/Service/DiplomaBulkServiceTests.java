@@ -0,0 +1,171 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.BulkItemResultDTO;
+import com.ayman.adminservice.DTO.BulkOperationResultDTO;
+import com.ayman.adminservice.DTO.DiplomaBulkUpdateDTO;
+import com.ayman.adminservice.DTO.DiplomaUpdateDTO;
+import com.ayman.adminservice.Event.CatalogueChangedEvent;
+import com.ayman.adminservice.Event.DiplomaChangeEvent;
+import com.ayman.adminservice.Model.Diploma;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = DiplomaBulkService.class, properties = "admin.bulk.chunk-size=2")
+@RecordApplicationEvents
+class DiplomaBulkServiceTests {
+
+    // Stands in for a statement that fails, e.g. on a lock timeout
+    private static final String LOCKED = "Locked diploma";
+
+    @MockitoBean
+    private DiplomaService diplomaService;
+
+    @MockitoBean
+    private CatalogueStatisticsService statisticsService;
+
+    @MockitoBean
+    private Neo4jClient neo4jClient;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private CatalogueOutbox outbox;
+
+    @Autowired
+    private DiplomaBulkService bulkService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private final Set<String> existing = new HashSet<>();
+
+    @BeforeEach
+    void graph() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(outbox.captureAll(any())).thenReturn(Map.of());
+        Neo4jClient.UnboundRunnableSpec delete = mock(Neo4jClient.UnboundRunnableSpec.class);
+        when(neo4jClient.query(DiplomaBulkService.DELETE_QUERY)).thenReturn(delete);
+        when(delete.bind(any())).thenAnswer(invocation -> deleting(invocation.getArgument(0)));
+    }
+
+    @Test
+    void updateReplaysOnlyTheFailedChunkItemByItem() {
+        when(diplomaService.applyUpdate(eq("Licence A"), any())).thenReturn(diploma("Licence A2"));
+        when(diplomaService.applyUpdate(eq("Licence Missing"), any()))
+                .thenThrow(new IllegalArgumentException("Diploma with name Licence Missing does not exist."));
+        when(diplomaService.applyUpdate(eq("Licence C"), any())).thenReturn(diploma("Licence C"));
+        when(diplomaService.applyUpdate(eq("Licence Bad"), any())).thenThrow(new IllegalStateException("constraint violated"));
+
+        // Chunks of two: [A, Missing] commits, [C, Bad] rolls back and is replayed, [Blank] commits
+        BulkOperationResultDTO result = bulkService.updateDiplomas(List.of(
+                update("Licence A", "Licence A2"),
+                update("Licence Missing", "Licence Missing"),
+                update("Licence C", "Licence C"),
+                update("Licence Bad", "Licence Bad"),
+                update("Licence Blank", null)));
+
+        assertEquals(List.of(
+                new BulkItemResultDTO("Licence A", BulkItemResultDTO.UPDATED, null),
+                new BulkItemResultDTO("Licence Missing", BulkItemResultDTO.NOT_FOUND, "Diploma with name Licence Missing does not exist."),
+                new BulkItemResultDTO("Licence C", BulkItemResultDTO.UPDATED, null),
+                new BulkItemResultDTO("Licence Bad", BulkItemResultDTO.FAILED, "constraint violated"),
+                new BulkItemResultDTO("Licence Blank", BulkItemResultDTO.FAILED, "currentName and diploma.nomDiplome are required")),
+                result.getResults());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(3, result.getFailed());
+
+        // C is applied in its chunk, rolled back with it, then applied again on its own
+        verify(diplomaService, times(2)).applyUpdate(eq("Licence C"), any());
+        verify(transactionManager, times(5)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(transactionManager, times(2)).rollback(any());
+
+        assertEquals(List.of(new CatalogueChangedEvent("bulk-update", Set.of("Licence A", "Licence A2", "Licence C"))),
+                events.stream(CatalogueChangedEvent.class).toList());
+    }
+
+    @Test
+    void deleteReplaysOnlyTheFailedChunkItemByItem() {
+        existing.addAll(List.of("Licence X", LOCKED, "Licence Y"));
+
+        // Duplicates and nulls dropped, then chunks of two: [X, Missing] commits,
+        // [Locked, Y] rolls back and is replayed
+        BulkOperationResultDTO result = bulkService.deleteDiplomas(Arrays.asList(
+                "Licence X", "Licence Missing", LOCKED, "Licence Y", "Licence X", null));
+
+        assertEquals(List.of(
+                new BulkItemResultDTO("Licence X", BulkItemResultDTO.DELETED, null),
+                new BulkItemResultDTO("Licence Missing", BulkItemResultDTO.NOT_FOUND, "Diploma with name Licence Missing does not exist."),
+                new BulkItemResultDTO(LOCKED, BulkItemResultDTO.FAILED, "lock timeout"),
+                new BulkItemResultDTO("Licence Y", BulkItemResultDTO.DELETED, null)),
+                result.getResults());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(statisticsService).diplomaDeleted("Licence X");
+        verify(statisticsService).diplomaDeleted("Licence Y");
+        verify(statisticsService, never()).diplomaDeleted(LOCKED);
+        verify(outbox, times(2)).record(eq(DiplomaChangeEvent.DELETED), isNull(), anyString(), isNull(), isNull());
+
+        assertEquals(List.of(new CatalogueChangedEvent("bulk-delete", Set.of("Licence X", "Licence Y"))),
+                events.stream(CatalogueChangedEvent.class).toList());
+    }
+
+    @Test
+    void batchThatChangesNothingPublishesNoEvent() {
+        BulkOperationResultDTO result = bulkService.deleteDiplomas(List.of("Licence Missing", LOCKED));
+
+        assertEquals(0, result.getSucceeded());
+        assertEquals(List.of(BulkItemResultDTO.NOT_FOUND, BulkItemResultDTO.FAILED),
+                result.getResults().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertEquals(0, events.stream(CatalogueChangedEvent.class).count());
+    }
+
+    // DELETE_QUERY bound to one chunk: returns the names that exist, fails if one is locked
+    @SuppressWarnings("unchecked")
+    private Neo4jClient.OngoingBindSpec<Object, Neo4jClient.RunnableSpec> deleting(List<String> names) {
+        Neo4jClient.OngoingBindSpec<Object, Neo4jClient.RunnableSpec> bound = mock(Neo4jClient.OngoingBindSpec.class);
+        Neo4jClient.RunnableSpec runnable = mock(Neo4jClient.RunnableSpec.class);
+        Neo4jClient.MappingSpec<String> mapping = mock(Neo4jClient.MappingSpec.class);
+        when(bound.to("names")).thenReturn(runnable);
+        when(runnable.fetchAs(String.class)).thenReturn(mapping);
+        when(mapping.all()).thenAnswer(invocation -> {
+            if (names.contains(LOCKED)) {
+                throw new IllegalStateException("lock timeout");
+            }
+            return names.stream().filter(existing::contains).toList();
+        });
+        return bound;
+    }
+
+    private static DiplomaBulkUpdateDTO update(String currentName, String newName) {
+        DiplomaBulkUpdateDTO item = new DiplomaBulkUpdateDTO();
+        item.setCurrentName(currentName);
+        item.setDiploma(new DiplomaUpdateDTO(newName));
+        return item;
+    }
+
+    private static Diploma diploma(String name) {
+        Diploma diploma = new Diploma();
+        diploma.setNomDiplome(name);
+        return diploma;
+    }
+}
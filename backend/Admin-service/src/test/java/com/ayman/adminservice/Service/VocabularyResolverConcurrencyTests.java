@@ -0,0 +1,102 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.Model.Filiere;
+import com.ayman.adminservice.Model.School;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = "eureka.client.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+class VocabularyResolverConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Container
+    @ServiceConnection
+    static Neo4jContainer<?> neo4j = new Neo4jContainer<>("neo4j:5");
+
+    @Autowired
+    private VocabularyResolver vocabularyResolver;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Test
+    void concurrentBatchesCreateOneNodePerTerm() throws Exception {
+        List<String> terms = IntStream.range(0, 25).mapToObj(i -> "Concurrent filiere " + i).collect(Collectors.toList());
+
+        List<List<Filiere>> results = runConcurrently(thread -> {
+            List<String> shuffled = new ArrayList<>(terms);
+            Collections.shuffle(shuffled, new Random(thread));
+            return vocabularyResolver.resolve(VocabularyResolver.FILIERE, shuffled);
+        });
+
+        Set<Long> ids = new HashSet<>();
+        for (List<Filiere> resolved : results) {
+            assertEquals(terms.size(), resolved.size());
+            resolved.forEach(filiere -> ids.add(filiere.getId()));
+        }
+        assertEquals(terms.size(), ids.size());
+        assertEquals(terms.size(), count("MATCH (n:Filiere) WHERE n.name STARTS WITH 'Concurrent filiere ' RETURN count(n)"));
+    }
+
+    @Test
+    void concurrentSchoolsShareOneCity() throws Exception {
+        List<School> schools = runConcurrently(thread ->
+                vocabularyResolver.resolveSchool("Concurrent school " + (thread % 4), "Concurrent city"));
+
+        for (School school : schools) {
+            assertNotNull(school.getVille());
+            assertEquals("Concurrent city", school.getVille().getName());
+        }
+        assertEquals(4, count("MATCH (n:Ecole) WHERE n.name STARTS WITH 'Concurrent school ' RETURN count(n)"));
+        assertEquals(1, count("MATCH (n:Ville {name: 'Concurrent city'}) RETURN count(n)"));
+        assertEquals(4, count("MATCH (:Ecole)-[r:LOCATED_IN]->(:Ville {name: 'Concurrent city'}) RETURN count(r)"));
+    }
+
+    private <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.run(id);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long count(String query) {
+        return neo4jClient.query(query).fetchAs(Long.class).one().orElse(0L);
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask<T> {
+        T run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,77 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.DiplomaSearchResultDTO;
+import com.ayman.adminservice.DTO.SuggestionDTO;
+import com.example.benchmarks.CatalogueCsv;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin-service's {@code GET /api/diplomas/search} and {@code /autocomplete} against
+ * {@link CatalogueSearchIndex}, with the controller's default page (20) and facet size (10), to
+ * check them against {@code admin.search.latency-budget-ms} (50 ms) on a 100k catalogue; plus
+ * the index build, paid once per catalogue version on the snapshot rebuild thread. In this
+ * package because the index is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogueSearchBenchmark {
+
+    private static final int PAGE = 20;
+    private static final int FACETS = 10;
+
+    // data.csv as is, then catalogues extrapolated by DataGenerator
+    @Param({"264", "10000", "100000"})
+    public int catalogueSize;
+
+    private CatalogueSnapshot snapshot;
+    private CatalogueSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        List<CatalogueCsv.Row> rows = catalogueSize <= CatalogueCsv.rows().size()
+                ? CatalogueCsv.scaled(catalogueSize)
+                : CatalogueCsv.generated(catalogueSize);
+        snapshot = CatalogueSnapshotBenchmark.snapshot(rows);
+        index = CatalogueSearchIndex.build(snapshot);
+    }
+
+    @Benchmark
+    public CatalogueSearchIndex buildIndex() {
+        return CatalogueSearchIndex.build(snapshot);
+    }
+
+    // No query: every diploma is a hit, so facets are counted over the whole catalogue
+    @Benchmark
+    public DiplomaSearchResultDTO browseAll() {
+        return index.search("", Map.of(), 0, PAGE, FACETS);
+    }
+
+    @Benchmark
+    public DiplomaSearchResultDTO searchWords() {
+        return index.search("genie informatique", Map.of(), 0, PAGE, FACETS);
+    }
+
+    // Worst case for search-as-you-type: a one-letter prefix unions many terms
+    @Benchmark
+    public DiplomaSearchResultDTO searchShortPrefix() {
+        return index.search("i", Map.of(), 0, PAGE, FACETS);
+    }
+
+    @Benchmark
+    public DiplomaSearchResultDTO searchFiltered() {
+        return index.search("ingenieur", Map.of(CatalogueSearchIndex.CITY, "Rabat"), PAGE, PAGE, FACETS);
+    }
+
+    @Benchmark
+    public List<SuggestionDTO> autocomplete() {
+        return index.suggest("inf", 10);
+    }
+}
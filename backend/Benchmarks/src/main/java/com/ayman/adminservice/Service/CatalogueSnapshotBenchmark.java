@@ -0,0 +1,81 @@
+package com.ayman.adminservice.Service;
+
+import com.ayman.adminservice.DTO.DiplomaDetailedDTO;
+import com.example.benchmarks.CatalogueCsv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin-service's {@code GET /api/diplomas/diplomas} (formerly a Diploma to DiplomaDetailedDTO
+ * loop per request, now {@link CatalogueSnapshot#toDetailedDTOs}) and writing the list with the
+ * service's default camelCase mapper, plus the snapshot build paid once per catalogue version.
+ * In this package because the snapshot builder is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogueSnapshotBenchmark {
+
+    // data.csv as is, then generator-sized catalogues
+    @Param({"264", "10000", "100000"})
+    public int catalogueSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<CatalogueCsv.Row> rows;
+    private CatalogueSnapshot snapshot;
+    private List<DiplomaDetailedDTO> detailed;
+
+    @Setup
+    public void setUp() {
+        rows = CatalogueCsv.scaled(catalogueSize);
+        snapshot = buildSnapshot();
+        detailed = snapshot.toDetailedDTOs();
+    }
+
+    @Benchmark
+    public CatalogueSnapshot buildSnapshot() {
+        return snapshot(rows);
+    }
+
+    @Benchmark
+    public List<DiplomaDetailedDTO> toDetailedDTOs() {
+        return snapshot.toDetailedDTOs();
+    }
+
+    @Benchmark
+    public byte[] serializeDetailed() throws Exception {
+        return objectMapper.writeValueAsBytes(detailed);
+    }
+
+    /** The snapshot CatalogueSnapshotService would build from these rows, as version 1. */
+    static CatalogueSnapshot snapshot(List<CatalogueCsv.Row> rows) {
+        CatalogueSnapshot.Builder builder = new CatalogueSnapshot.Builder(rows.size());
+        TreeSet<String> careers = new TreeSet<>();
+        TreeSet<Integer> durations = new TreeSet<>();
+        TreeSet<String> filieres = new TreeSet<>();
+        TreeSet<String> studentSubjects = new TreeSet<>();
+        TreeSet<String> mentions = new TreeSet<>();
+        for (CatalogueCsv.Row row : rows) {
+            builder.diploma(row.name(), row.school(), row.city(), row.duration(), row.mention(), row.careers(),
+                    row.opportunities(), row.previousDiplomas(), row.filieres(), row.subjects(), row.studentSubjects());
+            careers.addAll(row.careers());
+            if (row.duration() != null) {
+                durations.add(row.duration());
+            }
+            filieres.addAll(row.filieres());
+            studentSubjects.addAll(row.studentSubjects());
+            if (row.mention() != null) {
+                mentions.add(row.mention());
+            }
+        }
+        return builder.vocabulary(careers, durations, filieres, studentSubjects, mentions).build(1);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.benchmarks;
+
+import com.example.dataGenerator.Model.DiplomaRow;
+import com.example.dataGenerator.Service.CatalogueGenerator;
+import com.example.dataGenerator.Service.CsvProfileReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark input read from data.csv (the export written by GNNService's fetch.py), so field
+ * lengths, list sizes and accents match production. The file is {@code -Dbenchmarks.csv},
+ * by default {@code ../../data.csv}. {@link #scaled} repeats the rows under suffixed names to
+ * reach larger catalogue sizes; {@link #generated} extrapolates them the way DataGenerator does.
+ */
+public final class CatalogueCsv {
+
+    public record Row(String name, String school, String city, List<String> careers, List<String> opportunities,
+                      List<String> previousDiplomas, List<String> filieres, Integer duration, String mention,
+                      List<String> subjects, List<String> studentSubjects) {
+    }
+
+    // DataGenerator's defaults (generator.seed, generator.mutation-rate)
+    private static final long SEED = 42;
+    private static final double MUTATION_RATE = 0.3;
+
+    private static final int COLUMNS = 11;
+    // A single- or double-quoted Python string literal
+    private static final Pattern LIST_ITEM = Pattern.compile("'((?:[^'\\\\]|\\\\.)*)'|\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private static List<Row> rows;
+
+    private CatalogueCsv() {
+    }
+
+    public static synchronized List<Row> rows() {
+        if (rows == null) {
+            rows = read(csv());
+        }
+        return rows;
+    }
+
+    /**
+     * {@code size} diplomas from DataGenerator's {@link CatalogueGenerator}, in catalogue (name)
+     * order: schools, cities and vocabulary grow with the catalogue instead of repeating.
+     */
+    public static List<Row> generated(int size) {
+        CatalogueGenerator generator;
+        try {
+            generator = new CatalogueGenerator(new CsvProfileReader().read(csv()), SEED, size, MUTATION_RATE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + csv().toAbsolutePath() + "; set -Dbenchmarks.csv", e);
+        }
+        List<Row> generated = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DiplomaRow row = generator.diploma(i);
+            generated.add(new Row(row.name(), row.school(), row.city(), row.careers(), row.opportunities(),
+                    row.previousDiplomas(), row.filieres(), row.duration(), row.mention(), row.subjects(),
+                    row.studentSubjects()));
+        }
+        generated.sort(Comparator.comparing(Row::name));
+        return generated;
+    }
+
+    /** {@code size} rows, cycling through data.csv; repeated rows get a "#n" name suffix. */
+    public static List<Row> scaled(int size) {
+        List<Row> source = rows();
+        List<Row> scaled = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Row row = source.get(i % source.size());
+            int copy = i / source.size();
+            scaled.add(copy == 0 ? row : new Row(row.name() + "#" + copy, row.school(), row.city(), row.careers(),
+                    row.opportunities(), row.previousDiplomas(), row.filieres(), row.duration(), row.mention(),
+                    row.subjects(), row.studentSubjects()));
+        }
+        return scaled;
+    }
+
+    private static Path csv() {
+        return Path.of(System.getProperty("benchmarks.csv", "../../data.csv"));
+    }
+
+    private static List<Row> read(Path csv) {
+        List<Row> read = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> cells = cells(line);
+                if (cells.size() != COLUMNS) {
+                    continue;
+                }
+                read.add(new Row(cells.get(0), cells.get(1), cells.get(8), list(cells.get(2)), list(cells.get(3)),
+                        list(cells.get(4)), list(cells.get(5)), integer(cells.get(6)),
+                        cells.get(7).isBlank() ? null : cells.get(7).trim(), list(cells.get(9)), list(cells.get(10))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + csv.toAbsolutePath() + "; set -Dbenchmarks.csv", e);
+        }
+        if (read.isEmpty()) {
+            throw new IllegalStateException(csv.toAbsolutePath() + " has no diplomas");
+        }
+        return read;
+    }
+
+    // RFC 4180 fields: comma-separated, optionally quoted, "" escapes a quote
+    private static List<String> cells(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static List<String> list(String literal) {
+        List<String> items = new ArrayList<>();
+        Matcher matcher = LIST_ITEM.matcher(literal);
+        while (matcher.find()) {
+            String item = (matcher.group(1) != null ? matcher.group(1) : matcher.group(2)).trim();
+            if (!item.isEmpty()) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static Integer integer(String cell) {
+        try {
+            return cell.isBlank() ? null : Integer.valueOf(cell.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
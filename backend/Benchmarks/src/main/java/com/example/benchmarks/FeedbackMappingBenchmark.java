@@ -0,0 +1,128 @@
+package com.example.benchmarks;
+
+import com.example.feedbackService.DTO.DiplomeRecommendDTO;
+import com.example.feedbackService.Mapper.DiplomeMapper;
+import com.example.feedbackService.Model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * FeedbackService's {@code /get-feedback} and {@code /feedback/liked} per student:
+ * {@link DiplomeMapper#toRecommendDTO} with and without the feedback, and writing the result
+ * with the service's SNAKE_CASE mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackMappingBenchmark {
+
+    // Feedback per student; the generator's default is 10 recommendations with 20% rated
+    @Param({"2", "10", "50"})
+    public int feedbackCount;
+
+    private final DiplomeMapper mapper = new DiplomeMapper();
+    // As configured by spring.jackson.property-naming-strategy in the service
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    private List<Diplome> diplomes;
+    private List<Feedback> feedbacks;
+    private List<DiplomeRecommendDTO> mapped;
+
+    @Setup
+    public void setUp() {
+        diplomes = new ArrayList<>(feedbackCount);
+        feedbacks = new ArrayList<>(feedbackCount);
+        int i = 0;
+        for (CatalogueCsv.Row row : CatalogueCsv.scaled(feedbackCount)) {
+            Diplome diplome = diplome(row);
+            diplomes.add(diplome);
+            feedbacks.add(new Feedback(i % 2 == 0, List.of("Intéressant", "À revoir"), 1 + i % 5, 90 - i, diplome));
+            i++;
+        }
+        mapped = mapWithFeedback();
+    }
+
+    @Benchmark
+    public List<DiplomeRecommendDTO> mapDiplomas() {
+        return mapper.toRecommendDTOList(diplomes);
+    }
+
+    @Benchmark
+    public List<DiplomeRecommendDTO> mapWithFeedback() {
+        List<DiplomeRecommendDTO> dtos = new ArrayList<>(feedbacks.size());
+        for (Feedback feedback : feedbacks) {
+            dtos.add(mapper.toRecommendDTOWithFeedback(feedback.getDiplome(), feedback));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapped);
+    }
+
+    // Shaped as Spring Data Neo4j loads it: relationships as nodes, prerequisites without their own
+    private static Diplome diplome(CatalogueCsv.Row row) {
+        Diplome diplome = new Diplome();
+        diplome.setName(row.name());
+        diplome.setEcole(row.school());
+        diplome.setVille(row.city());
+        diplome.setDuration(row.duration());
+        if (row.mention() != null) {
+            Mention mention = new Mention();
+            mention.setMention(row.mention());
+            diplome.setMention(mention);
+        }
+        diplome.setDiplomes(nodes(row.previousDiplomas(), name -> {
+            Diplome previous = new Diplome();
+            previous.setName(name);
+            return previous;
+        }));
+        diplome.setOpportunities(nodes(row.opportunities(), value -> {
+            EmploymentOpportunity opportunity = new EmploymentOpportunity();
+            opportunity.setOppotunity(value);
+            return opportunity;
+        }));
+        diplome.setCareers(nodes(row.careers(), value -> {
+            Career career = new Career();
+            career.setCareer(value);
+            return career;
+        }));
+        diplome.setFilieres(nodes(row.filieres(), value -> {
+            Filiere filiere = new Filiere();
+            filiere.setFiliere(value);
+            return filiere;
+        }));
+        diplome.setMatiereEtudiants(nodes(row.studentSubjects(), value -> {
+            MatiereEtudiant matiere = new MatiereEtudiant();
+            matiere.setMatiere(value);
+            return matiere;
+        }));
+        diplome.setMatiereDiplomes(nodes(row.subjects(), value -> {
+            MatiereDiplome matiere = new MatiereDiplome();
+            matiere.setMatiere(value);
+            return matiere;
+        }));
+        return diplome;
+    }
+
+    private static <T> Set<T> nodes(List<String> values, Function<String, T> node) {
+        Set<T> nodes = new HashSet<>();
+        for (String value : values) {
+            nodes.add(node.apply(value));
+        }
+        return nodes;
+    }
+}
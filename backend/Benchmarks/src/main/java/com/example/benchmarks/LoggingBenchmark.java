@@ -0,0 +1,79 @@
+package com.example.benchmarks;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.Logging.LogPayload;
+import com.example.diplomasRecommendation.Mapper.DiplomeMapper;
+import com.example.diplomasRecommendation.Model.Diplome;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The log formatting diplomasRecommendation's {@code /recommend-diplomas} paid per page: the
+ * former INFO lines (each diploma's Lombok {@code toString()}, one line per mapped field, the
+ * whole returned list) against the single {@link LogPayload} summary line, formatted as SLF4J
+ * does when the level is enabled, and against the summary when the level is off.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private final DiplomeMapper mapper = new DiplomeMapper();
+
+    private List<Diplome> diplomes;
+    private List<DiplomeDTO> page;
+
+    @Setup
+    public void setUp() {
+        diplomes = new ArrayList<>(pageSize);
+        page = new ArrayList<>(pageSize);
+        for (CatalogueCsv.Row row : CatalogueCsv.scaled(pageSize)) {
+            Diplome diplome = RecommendationMappingBenchmark.diplome(row);
+            diplomes.add(diplome);
+            page.add(mapper.toDiplomeDTO(diplome, 100.0 - page.size()));
+        }
+    }
+
+    @Benchmark
+    public void entityGraphs(Blackhole blackhole) {
+        for (int i = 0; i < diplomes.size(); i++) {
+            DiplomeDTO dto = page.get(i);
+            blackhole.consume(format("Processing diplome: {}", diplomes.get(i)));
+            blackhole.consume(format("Set Mention_Bac: {}", dto.getMention_Bac()));
+            blackhole.consume(format("Set Ancienne_Diplome: {}", dto.getAncienne_Diplome()));
+            blackhole.consume(format("Set Employement_Opportunities: {}", dto.getEmployement_Opportunities()));
+            blackhole.consume(format("Set Career: {}", dto.getCareer()));
+            blackhole.consume(format("Set Filiere: {}", dto.getFiliere()));
+            blackhole.consume(format("Set Matieres_Etudiant: {}", dto.getMatieres_Etudiant()));
+            blackhole.consume(format("Set Matieres_Diplome: {}", dto.getMatieres_Diplome()));
+        }
+        blackhole.consume(format("Returning diplomesDTO: {}", page));
+    }
+
+    @Benchmark
+    public String summary() {
+        return format("recommend-diplomas email={} source={} returned={} total={} took_ms={}",
+                "student@example.com", "stored", LogPayload.diplomas(page), page.size(), 42L);
+    }
+
+    // The arguments are still built; SLF4J returns before calling toString()
+    @Benchmark
+    public Object summaryDisabled() {
+        return LogPayload.diplomas(page);
+    }
+
+    private static String format(String pattern, Object... arguments) {
+        return MessageFormatter.arrayFormat(pattern, arguments).getMessage();
+    }
+}
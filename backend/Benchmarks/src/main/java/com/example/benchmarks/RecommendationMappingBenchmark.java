@@ -0,0 +1,128 @@
+package com.example.benchmarks;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.Mapper.DiplomeMapper;
+import com.example.diplomasRecommendation.Model.*;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * diplomasRecommendation's {@code /recommend-diplomas} per page: {@link DiplomeMapper} over the
+ * loaded diplomas, writing the page with the service's SNAKE_CASE mapper, and reading a GNN
+ * answer (accented {@code Nom_Diplôme}/{@code Durée} keys) into {@link DiplomeDTO}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommendationMappingBenchmark {
+
+    private static final TypeReference<List<DiplomeDTO>> DIPLOME_LIST = new TypeReference<>() {};
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private final DiplomeMapper mapper = new DiplomeMapper();
+    // As configured by spring.jackson.property-naming-strategy in the service
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private List<Diplome> diplomes;
+    private List<DiplomeDTO> page;
+    private byte[] gnnResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        diplomes = new ArrayList<>(pageSize);
+        for (CatalogueCsv.Row row : CatalogueCsv.scaled(pageSize)) {
+            diplomes.add(diplome(row));
+        }
+        page = mapPage();
+        gnnResponse = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<DiplomeDTO> mapPage() {
+        List<DiplomeDTO> mapped = new ArrayList<>(diplomes.size());
+        for (int i = 0; i < diplomes.size(); i++) {
+            mapped.add(mapper.toDiplomeDTO(diplomes.get(i), 100.0 - i));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<DiplomeDTO> deserializeGnnResponse() throws Exception {
+        return objectMapper.readValue(gnnResponse, DIPLOME_LIST);
+    }
+
+    // Shaped as Spring Data Neo4j loads it: relationships as nodes, prerequisites without their own
+    static Diplome diplome(CatalogueCsv.Row row) {
+        Diplome diplome = new Diplome();
+        diplome.setName(row.name());
+        diplome.setEcole(row.school());
+        diplome.setVille(row.city());
+        diplome.setDuration(row.duration());
+        if (row.mention() != null) {
+            Mention mention = new Mention();
+            mention.setMention(row.mention());
+            diplome.setMention(mention);
+        }
+        diplome.setDiplomes(nodes(row.previousDiplomas(), name -> {
+            Diplome previous = new Diplome();
+            previous.setName(name);
+            return previous;
+        }));
+        diplome.setOpportunities(nodes(row.opportunities(), value -> {
+            EmploymentOpportunity opportunity = new EmploymentOpportunity();
+            opportunity.setOppotunity(value);
+            return opportunity;
+        }));
+        diplome.setCareers(nodes(row.careers(), value -> {
+            Career career = new Career();
+            career.setCareer(value);
+            return career;
+        }));
+        diplome.setFilieres(nodes(row.filieres(), value -> {
+            Filiere filiere = new Filiere();
+            filiere.setFiliere(value);
+            return filiere;
+        }));
+        diplome.setMatiereEtudiants(nodes(row.studentSubjects(), value -> {
+            MatiereEtudiant matiere = new MatiereEtudiant();
+            matiere.setMatiere(value);
+            return matiere;
+        }));
+        diplome.setMatiereDiplomes(nodes(row.subjects(), value -> {
+            MatiereDiplome matiere = new MatiereDiplome();
+            matiere.setMatiere(value);
+            return matiere;
+        }));
+        return diplome;
+    }
+
+    private static <T> Set<T> nodes(List<String> values, Function<String, T> node) {
+        Set<T> nodes = new HashSet<>();
+        for (String value : values) {
+            nodes.add(node.apply(value));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.common.http;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Pooled, keep-alive HTTP client behind the @LoadBalanced RestTemplate of each service, which
+ * imports this configuration. Timeouts default to {@code http.client.*} and can be overridden per
+ * service with {@code http.client.targets.<service-id>.connect-timeout-ms} / {@code .response-timeout-ms}
+ * (see {@link HttpClientProperties}).
+ *
+ * The load balancer hands the client a resolved host:port, so the service id is remembered
+ * for each instance it picks; that id selects the timeouts and tags the pool wait timer
+ * ({@code http.client.pool.wait}). Pool occupancy is published as
+ * {@code httpcomponents.httpclient.pool.*}.
+ *
+ * A call that must answer faster than its target's timeout allows can run inside
+ * {@link #withResponseTimeout(long, Supplier)}.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    private static final String OTHER = "other";
+
+    // Response timeout of the calls made by this thread, when withResponseTimeout set one
+    private static final ThreadLocal<Long> RESPONSE_TIMEOUT_MS = new ThreadLocal<>();
+
+    @Autowired
+    private HttpClientProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // host:port of each instance the load balancer picked -> its service id
+    private final Map<String, String> instanceTargets = new ConcurrentHashMap<>();
+    private final Map<String, RequestConfig> requestConfigs = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionConfig> connectionConfigs = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a blocking call whose requests wait at most {@code timeoutMs} for a response instead
+     * of their target's {@code response-timeout-ms}, e.g. a quick endpoint of a service whose
+     * timeout is sized for its slow ones. Only requests made on the calling thread are affected.
+     */
+    public static <T> T withResponseTimeout(long timeoutMs, Supplier<T> call) {
+        Long previous = RESPONSE_TIMEOUT_MS.get();
+        RESPONSE_TIMEOUT_MS.set(timeoutMs);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                RESPONSE_TIMEOUT_MS.set(previous);
+            } else {
+                RESPONSE_TIMEOUT_MS.remove();
+            }
+        }
+    }
+
+    @Bean
+    public LoadBalancerRequestTransformer targetRecordingTransformer() {
+        return (request, instance) -> {
+            // Eureka reports ids in upper case; tag and look them up as the code names them
+            instanceTargets.putIfAbsent(instance.getHost() + ":" + instance.getPort(),
+                    instance.getServiceId().toLowerCase(Locale.ROOT));
+            return request;
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new TimedConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setConnectionConfigResolver(route -> connectionConfigs.computeIfAbsent(
+                target(route.getTargetHost()), target -> ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.connectTimeoutMs(target)))
+                        // Re-check connections the other side may have closed while idle in the pool
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build()));
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "inter-service").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEvictMs()))
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory httpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+                HttpClientContext context = HttpClientContext.create();
+                RequestConfig config = requestConfigs.computeIfAbsent(target(HttpHost.create(uri)),
+                        target -> RequestConfig.custom()
+                                .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getPoolWaitMs()))
+                                .setResponseTimeout(Timeout.ofMilliseconds(properties.responseTimeoutMs(target)))
+                                .build());
+                Long responseTimeoutMs = RESPONSE_TIMEOUT_MS.get();
+                if (responseTimeoutMs != null) {
+                    config = RequestConfig.copy(config)
+                            .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                            .build();
+                }
+                context.setRequestConfig(config);
+                return context;
+            }
+        };
+    }
+
+    private String target(HttpHost host) {
+        int port = host.getPort() >= 0 ? host.getPort() : "https".equals(host.getSchemeName()) ? 443 : 80;
+        return instanceTargets.getOrDefault(host.getHostName() + ":" + port, OTHER);
+    }
+
+    /** Records how long each request waited for a pooled connection. */
+    private class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+            String target = target(route.getTargetHost());
+            return new LeaseRequest() {
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    long start = System.nanoTime();
+                    String outcome = "failed";
+                    try {
+                        ConnectionEndpoint endpoint = lease.get(timeout);
+                        outcome = "acquired";
+                        return endpoint;
+                    } finally {
+                        Timer.builder("http.client.pool.wait")
+                                .description("Time spent waiting for a pooled connection")
+                                .tag("target", target)
+                                .tag("outcome", outcome)
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return lease.cancel();
+                }
+            };
+        }
+    }
+}
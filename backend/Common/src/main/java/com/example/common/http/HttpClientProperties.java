@@ -0,0 +1,61 @@
+package com.example.common.http;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * {@code http.client.*}: pool sizes and default timeouts of the inter-service client, with
+ * per-service overrides under {@code http.client.targets.<service-id>}. Service ids are matched
+ * ignoring case, since Eureka reports them in upper case ({@code GNN-SERVICE}) while the
+ * properties use the lower-case names the code calls ({@code gnn-service}).
+ */
+@Data
+@ConfigurationProperties("http.client")
+public class HttpClientProperties {
+
+    private int maxTotal = 200;
+
+    private int maxPerRoute = 50;
+
+    private long connectTimeoutMs = 2000;
+
+    private long responseTimeoutMs = 10000;
+
+    private long poolWaitMs = 1000;
+
+    private long idleEvictMs = 30000;
+
+    private Map<String, Timeouts> targets = new HashMap<>();
+
+    /** Overrides for one service; unset values fall back to the defaults above. */
+    @Data
+    public static class Timeouts {
+
+        private Long connectTimeoutMs;
+
+        private Long responseTimeoutMs;
+    }
+
+    public long connectTimeoutMs(String serviceId) {
+        Timeouts timeouts = target(serviceId);
+        return timeouts != null && timeouts.getConnectTimeoutMs() != null ? timeouts.getConnectTimeoutMs() : connectTimeoutMs;
+    }
+
+    public long responseTimeoutMs(String serviceId) {
+        Timeouts timeouts = target(serviceId);
+        return timeouts != null && timeouts.getResponseTimeoutMs() != null ? timeouts.getResponseTimeoutMs() : responseTimeoutMs;
+    }
+
+    private Timeouts target(String serviceId) {
+        for (Map.Entry<String, Timeouts> target : targets.entrySet()) {
+            if (target.getKey().equalsIgnoreCase(serviceId)) {
+                return target.getValue();
+            }
+        }
+        return null;
+    }
+}
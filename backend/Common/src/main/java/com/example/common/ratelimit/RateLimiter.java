@@ -0,0 +1,182 @@
+package com.example.common.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.example.common.security.JwtVerifier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Admission control for the endpoints a caller could otherwise use to overload a service. Every
+ * caller gets a token bucket per endpoint holding {@code rate-limit.endpoints.<endpoint>.capacity}
+ * calls and refilled at {@code .refill-per-minute}; a call finding it empty is answered 429 with a
+ * Retry-After. Bulk recomputes also share {@code rate-limit.bulk.max-concurrent} slots, whatever
+ * their caller. Services that need it import it from their application class, with
+ * {@link JwtVerifier}.
+ *
+ * Callers are told apart by a verified identity: {@link #caller} gives the subject of a token
+ * whose signature checks out, or else the client address, so a forged token cannot buy a fresh
+ * bucket. A service that has already verified the caller some other way passes that identity.
+ *
+ * A bucket is one AtomicLong updated by compare-and-set, so admission never blocks. Buckets and
+ * slots belong to this instance: behind the load balancer a caller may get the configured rate
+ * from each instance. Refusals are counted in {@code rate_limit.rejected{endpoint,reason}}.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String RATE = "rate";
+    private static final String CONCURRENCY = "concurrency";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.capacity:10}")
+    private int defaultCapacity;
+
+    @Value("${rate-limit.refill-per-minute:10}")
+    private double defaultRefillPerMinute;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    @Value("${rate-limit.bulk.max-concurrent:1}")
+    private int maxConcurrentBulk;
+
+    // One token every interval, at most capacity * interval of them saved up
+    private record Limit(long intervalNanos, long burstNanos) {
+    }
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    // endpoint and caller -> when their bucket will have refilled the tokens taken so far
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private Semaphore bulkJobs;
+
+    @PostConstruct
+    void start() {
+        bulkJobs = new Semaphore(maxConcurrentBulk);
+        Gauge.builder("rate_limit.buckets", buckets, Map::size)
+                .description("Callers with a partly used rate limit bucket")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.bulk.running", bulkJobs, jobs -> maxConcurrentBulk - jobs.availablePermits())
+                .description("Bulk recomputes running")
+                .register(meterRegistry);
+    }
+
+    /** Null if the caller may call the endpoint now, else the 429 to answer it with. */
+    public ResponseEntity<String> admit(String endpoint, String caller) {
+        if (!enabled) {
+            return null;
+        }
+        Limit limit = limits.computeIfAbsent(endpoint, this::limit);
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.computeIfAbsent(endpoint + " " + caller, key -> new AtomicLong(now));
+        while (true) {
+            long refilledAt = bucket.get();
+            long next = Math.max(refilledAt, now) + limit.intervalNanos();
+            long wait = next - now - limit.burstNanos();
+            if (wait > 0) {
+                logger.debug("Rate limited {} on {}", caller, endpoint);
+                return reject(endpoint, RATE, wait);
+            }
+            if (bucket.compareAndSet(refilledAt, next)) {
+                break;
+            }
+        }
+        if (buckets.size() > maxBuckets) {
+            sweep(now);
+        }
+        return null;
+    }
+
+    /**
+     * Null if a bulk recompute may start, else the 429 to answer it with. A started job must
+     * call {@link #endBulkJob()} when it finishes.
+     */
+    public ResponseEntity<String> startBulkJob(String endpoint) {
+        if (bulkJobs.tryAcquire()) {
+            return null;
+        }
+        logger.info("Refused {}: {} bulk recompute(s) already running", endpoint, maxConcurrentBulk);
+        return reject(endpoint, CONCURRENCY, 0);
+    }
+
+    public void endBulkJob() {
+        bulkJobs.release();
+    }
+
+    /** Who a request is counted against: the subject of its token if correctly signed, else its address. */
+    public String caller(HttpServletRequest request) {
+        String subject = jwtVerifier.subject(request.getHeader(HttpHeaders.AUTHORIZATION));
+        return subject != null ? subject : request.getRemoteAddr();
+    }
+
+    private Limit limit(String endpoint) {
+        int capacity = environment.getProperty("rate-limit.endpoints." + endpoint + ".capacity",
+                Integer.class, defaultCapacity);
+        double refillPerMinute = environment.getProperty("rate-limit.endpoints." + endpoint + ".refill-per-minute",
+                Double.class, defaultRefillPerMinute);
+        long intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+        return new Limit(intervalNanos, capacity * intervalNanos);
+    }
+
+    // Buckets that have refilled hold nothing a new bucket would not. A call racing the removal
+    // may have its token forgotten, which lets that caller make one extra call.
+    private void sweep(long now) {
+        if (sweeping.compareAndSet(false, true)) {
+            try {
+                buckets.values().removeIf(bucket -> bucket.get() <= now);
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+
+    private ResponseEntity<String> reject(String endpoint, String reason, long waitNanos) {
+        Counter.builder("rate_limit.rejected")
+                .description("Calls refused by admission control")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (waitNanos > 0) {
+            response.header(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        }
+        return response.body(RATE.equals(reason) ? "Too many requests, retry later"
+                : "A bulk recompute is already running, retry later");
+    }
+}
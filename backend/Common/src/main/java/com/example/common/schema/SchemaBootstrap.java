@@ -0,0 +1,188 @@
+package com.example.common.schema;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.neo4j.driver.summary.Plan;
+import org.neo4j.driver.summary.ResultSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.data.neo4j.core.mapping.Neo4jPersistentEntity;
+import org.springframework.data.neo4j.repository.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings a service's Neo4j schema up to date on startup, then checks with EXPLAIN that none of
+ * the lookups its repositories and services actually run is planned as a label scan. Startup
+ * fails if one is. The service supplies its migrations and extra lookups as a
+ * {@link SchemaDefinition} bean; services with a Neo4j database import this from their
+ * application class.
+ *
+ * The version reached is stored on a (:SchemaVersion {service}) node, so every migration
+ * statement runs once per database.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchemaBootstrap implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaBootstrap.class);
+
+    // Named parameters of a statement, bound to null to EXPLAIN it
+    private static final Pattern PARAMETER = Pattern.compile("\\$(\\w+)");
+
+    @Autowired
+    private SchemaDefinition definition;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Autowired
+    private Neo4jMappingContext mappingContext;
+
+    @Autowired
+    private ListableBeanFactory beanFactory;
+
+    @Value("${schema.bootstrap.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.bootstrap.fail-on-scan:true}")
+    private boolean failOnScan;
+
+    @Value("${schema.bootstrap.index-wait-seconds:300}")
+    private long indexWaitSeconds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("Schema bootstrap disabled");
+            return;
+        }
+        migrate();
+        // Plans only use ONLINE indexes, so wait for population before checking them
+        neo4jClient.query("CALL db.awaitIndexes($timeout)").bind(indexWaitSeconds).to("timeout").run();
+        verifyPlans();
+    }
+
+    private void migrate() {
+        String service = definition.service();
+        List<List<String>> migrations = definition.migrations();
+        long current = neo4jClient.query("MERGE (s:SchemaVersion {service: $service}) RETURN coalesce(s.version, 0)")
+                .bind(service).to("service")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+        for (int version = (int) current + 1; version <= migrations.size(); version++) {
+            for (String statement : migrations.get(version - 1)) {
+                logger.info("Schema v{}: {}", version, statement);
+                neo4jClient.query(statement).run();
+            }
+            neo4jClient.query("MATCH (s:SchemaVersion {service: $service}) SET s.version = $version")
+                    .bind(service).to("service")
+                    .bind(version).to("version")
+                    .run();
+        }
+        logger.info("Schema of {} at version {} (was {})", service, migrations.size(), current);
+    }
+
+    private void verifyPlans() {
+        Map<String, String> lookups = lookups();
+        List<String> scans = new ArrayList<>();
+        lookups.forEach((name, query) -> {
+            Map<String, Object> parameters = new HashMap<>();
+            Matcher matcher = PARAMETER.matcher(query);
+            while (matcher.find()) {
+                parameters.put(matcher.group(1), null);
+            }
+            ResultSummary summary = neo4jClient.query("EXPLAIN " + query).bindAll(parameters).run();
+            if (summary.hasPlan() && usesScan(summary.plan())) {
+                scans.add(name);
+            }
+        });
+        if (scans.isEmpty()) {
+            logger.info("All {} lookups are index-backed", lookups.size());
+        } else if (failOnScan) {
+            throw new IllegalStateException("Lookups planned as label scans: " + scans);
+        } else {
+            logger.warn("Lookups planned as label scans: {}", scans);
+        }
+    }
+
+    /**
+     * The statements the service actually runs, by name: the id match SDN issues for every
+     * node with an assigned id (findById, save), the property each derived finder filters on,
+     * every parameterised {@code @Query} as written and {@link SchemaDefinition#lookups()}.
+     * Statements without parameters read whole labels on purpose and are not checked.
+     */
+    private Map<String, String> lookups() {
+        Map<String, String> lookups = new LinkedHashMap<>();
+        for (Neo4jPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isRelationshipPropertiesEntity()) {
+                entity.getIdDescription().getOptionalGraphPropertyName().ifPresent(property ->
+                        lookups.put(entity.getPrimaryLabel() + ".id", lookup(entity, property)));
+            }
+        }
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Neo4jPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(domainType);
+            for (Method method : information.getQueryMethods()) {
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                if (query != null) {
+                    if (PARAMETER.matcher(query.value()).find()) {
+                        lookups.put(name, query.value());
+                    }
+                    continue;
+                }
+                for (PartTree.OrPart or : new PartTree(method.getName(), domainType)) {
+                    for (Part part : or) {
+                        // Filters on related nodes start from the node matched here
+                        if (!part.getProperty().hasNext()) {
+                            String property = entity.getRequiredPersistentProperty(part.getProperty().getSegment()).getPropertyName();
+                            lookups.put(name, lookup(entity, property));
+                        }
+                    }
+                }
+            }
+        }
+        lookups.putAll(definition.lookups());
+        return lookups;
+    }
+
+    private static String lookup(Neo4jPersistentEntity<?> entity, String property) {
+        return "MATCH (n:`" + entity.getPrimaryLabel() + "`) WHERE n.`" + property + "` = $value RETURN n";
+    }
+
+    private static boolean usesScan(Plan plan) {
+        String operator = plan.operatorType();
+        if (operator.startsWith("NodeByLabelScan") || operator.startsWith("AllNodesScan")) {
+            return true;
+        }
+        for (Plan child : plan.children()) {
+            if (usesScan(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
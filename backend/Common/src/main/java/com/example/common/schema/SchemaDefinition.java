@@ -0,0 +1,28 @@
+package com.example.common.schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a service contributes to {@link SchemaBootstrap}: its migrations, and the statements it
+ * runs outside its repositories. Each service declares exactly one as a bean.
+ */
+public interface SchemaDefinition {
+
+    /** Name of the (:SchemaVersion {service}) node recording this service's version. */
+    String service();
+
+    /**
+     * One entry per schema version, oldest first. Append-only: every statement runs once per
+     * database, so a change to the schema is a new version, never an edit to an old one.
+     */
+    List<List<String>> migrations();
+
+    /**
+     * Parameterised statements the service runs through the Neo4jClient or Neo4jTemplate, by
+     * name. Repository lookups are derived and need not be listed.
+     */
+    default Map<String, String> lookups() {
+        return Map.of();
+    }
+}
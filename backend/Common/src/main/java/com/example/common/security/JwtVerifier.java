@@ -0,0 +1,45 @@
+package com.example.common.security;
+
+import java.util.Base64;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Verifies the bearer tokens user-service issues (HS512, signed with the shared {@code jwt.secret},
+ * see its JwtUtil), so a service can tell who is calling without asking user-service's /me.
+ * Services that need it import it from their application class.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private final JwtParser parser;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)))
+                .build();
+    }
+
+    /** The subject of a correctly signed, unexpired bearer token, else null. */
+    public String subject(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return parser.parseClaimsJws(authorization.substring("Bearer ".length())).getBody().getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HttpClientConfigTests {
+
+    private static final long SLOW_MS = 1000;
+
+    private final ApplicationContextRunner context = new ApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues("http.client.response-timeout-ms=5000");
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startSlowServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(SLOW_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "done".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void aCallCanHaveAShorterResponseTimeoutThanItsTarget() {
+        context.run(context -> {
+            RestTemplate restTemplate = new RestTemplate(context.getBean(HttpComponentsClientHttpRequestFactory.class));
+            String url = "http://localhost:" + server.getAddress().getPort() + "/slow";
+
+            long start = System.nanoTime();
+            assertThrows(ResourceAccessException.class, () -> HttpClientConfig.withResponseTimeout(100,
+                    () -> restTemplate.getForObject(url, String.class)));
+            assertTrue((System.nanoTime() - start) / 1_000_000 < SLOW_MS);
+
+            // The override ends with the call
+            assertEquals("done", restTemplate.getForObject(url, String.class));
+        });
+    }
+}
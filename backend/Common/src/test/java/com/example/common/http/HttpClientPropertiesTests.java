@@ -0,0 +1,42 @@
+package com.example.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HttpClientPropertiesTests {
+
+    private final ApplicationContextRunner context = new ApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "http.client.connect-timeout-ms=2000",
+                    "http.client.response-timeout-ms=10000",
+                    "http.client.targets.gnn-service.response-timeout-ms=300000",
+                    "http.client.targets.admin-service.connect-timeout-ms=500");
+
+    @Test
+    void matchesTargetsWhateverCaseTheRegistryUses() {
+        context.run(context -> {
+            HttpClientProperties properties = context.getBean(HttpClientProperties.class);
+            // Eureka reports service ids in upper case
+            assertEquals(300000, properties.responseTimeoutMs("GNN-SERVICE"));
+            assertEquals(300000, properties.responseTimeoutMs("gnn-service"));
+            assertEquals(500, properties.connectTimeoutMs("ADMIN-SERVICE"));
+        });
+    }
+
+    @Test
+    void fallsBackToTheDefaults() {
+        context.run(context -> {
+            HttpClientProperties properties = context.getBean(HttpClientProperties.class);
+            assertEquals(2000, properties.connectTimeoutMs("GNN-SERVICE"));
+            assertEquals(10000, properties.responseTimeoutMs("ADMIN-SERVICE"));
+            assertEquals(10000, properties.responseTimeoutMs("other"));
+        });
+    }
+}
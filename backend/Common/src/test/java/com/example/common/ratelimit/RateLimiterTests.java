@@ -0,0 +1,168 @@
+package com.example.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.example.common.security.JwtVerifier;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = {RateLimiter.class, JwtVerifier.class, SimpleMeterRegistry.class}, properties = {
+        "jwt.secret=" + RateLimiterTests.SECRET,
+        "rate-limit.capacity=3",
+        "rate-limit.refill-per-minute=0.001",
+        "rate-limit.endpoints.refilling.capacity=1",
+        "rate-limit.endpoints.refilling.refill-per-minute=1200",
+        "rate-limit.bulk.max-concurrent=1"})
+class RateLimiterTests {
+
+    static final String SECRET = "c2hhcmVkLXNlY3JldC1zaGFyZWQtc2VjcmV0LXNoYXJlZC1zZWNyZXQtc2hhcmVkLXNlY3JldC0xMjM0NTY3ODkw";
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void admitsABurstOfCapacityThenRejectsWithRetryAfter() {
+        String caller = "burst-" + UUID.randomUUID();
+        for (int call = 0; call < 3; call++) {
+            assertNull(rateLimiter.admit("burst", caller));
+        }
+
+        ResponseEntity<String> rejected = rateLimiter.admit("burst", caller);
+        assertNotNull(rejected);
+        assertEquals(429, rejected.getStatusCode().value());
+        assertTrue(Long.parseLong(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) > 0);
+        assertEquals(1.0, rejections("burst", "rate"));
+    }
+
+    @Test
+    void callersAndEndpointsHaveTheirOwnBuckets() {
+        String caller = "own-" + UUID.randomUUID();
+        for (int call = 0; call < 3; call++) {
+            assertNull(rateLimiter.admit("own", caller));
+        }
+        assertNotNull(rateLimiter.admit("own", caller));
+
+        assertNull(rateLimiter.admit("own", "other-" + caller));
+        assertNull(rateLimiter.admit("own-other-endpoint", caller));
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        String caller = "refill-" + UUID.randomUUID();
+        assertNull(rateLimiter.admit("refilling", caller));
+        assertNotNull(rateLimiter.admit("refilling", caller));
+
+        // One call every 50 ms
+        Thread.sleep(100);
+        assertNull(rateLimiter.admit("refilling", caller));
+    }
+
+    @Test
+    void concurrentCallersNeverGetMoreThanTheCapacity() throws Exception {
+        String caller = "concurrent-" + UUID.randomUUID();
+
+        List<Integer> admitted = runConcurrently(thread -> {
+            int calls = 0;
+            for (int call = 0; call < 100; call++) {
+                if (rateLimiter.admit("concurrent", caller) == null) {
+                    calls++;
+                }
+            }
+            return calls;
+        });
+
+        assertEquals(3, admitted.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(THREADS * 100 - 3, rejections("concurrent", "rate"));
+    }
+
+    @Test
+    void bulkJobsRunOneAtATime() {
+        assertNull(rateLimiter.startBulkJob("bulk"));
+        try {
+            ResponseEntity<String> rejected = rateLimiter.startBulkJob("bulk");
+            assertNotNull(rejected);
+            assertEquals(429, rejected.getStatusCode().value());
+            assertEquals(1.0, rejections("bulk", "concurrency"));
+        } finally {
+            rateLimiter.endBulkJob();
+        }
+        assertNull(rateLimiter.startBulkJob("bulk"));
+        rateLimiter.endBulkJob();
+    }
+
+    @Test
+    void countsCallersBySignedTokenSubjectElseByAddress() {
+        String token = Jwts.builder()
+                .setSubject("student@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)), SignatureAlgorithm.HS512)
+                .compact();
+        MockHttpServletRequest signed = new MockHttpServletRequest();
+        signed.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        assertEquals("student@example.com", rateLimiter.caller(signed));
+
+        // A made-up subject does not get its own bucket
+        String payload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"forged@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest forged = new MockHttpServletRequest();
+        forged.setRemoteAddr("10.0.0.7");
+        forged.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token.split("\\.")[0] + "." + payload + ".signature");
+        assertEquals("10.0.0.7", rateLimiter.caller(forged));
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest();
+        anonymous.setRemoteAddr("10.0.0.8");
+        assertEquals("10.0.0.8", rateLimiter.caller(anonymous));
+    }
+
+    private double rejections(String endpoint, String reason) {
+        return meterRegistry.counter("rate_limit.rejected", "endpoint", endpoint, "reason", reason).count();
+    }
+
+    private <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.run(id);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask<T> {
+        T run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.common.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+class JwtVerifierTests {
+
+    private static final String SECRET = secret(1);
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET);
+
+    @Test
+    void returnsTheSubjectOfATokenSignedWithTheSharedSecret() {
+        assertEquals("student@example.com", verifier.subject("Bearer " + token(SECRET, "student@example.com", 60_000)));
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        assertNull(verifier.subject("Bearer " + token(secret(2), "student@example.com", 60_000)));
+    }
+
+    @Test
+    void rejectsTokensWhoseSubjectWasChanged() {
+        String[] parts = token(SECRET, "student@example.com", 60_000).split("\\.");
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"someone-else@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        assertNull(verifier.subject("Bearer " + parts[0] + "." + forged + "." + parts[2]));
+    }
+
+    @Test
+    void rejectsUnsignedExpiredAndMissingTokens() {
+        String unsigned = Jwts.builder().setSubject("student@example.com").compact();
+        assertNull(verifier.subject("Bearer " + unsigned));
+        assertNull(verifier.subject("Bearer " + token(SECRET, "student@example.com", -60_000)));
+        assertNull(verifier.subject("Bearer not-a-token"));
+        assertNull(verifier.subject(null));
+    }
+
+    private static String token(String secret, String subject, long validForMs) {
+        Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + validForMs))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private static String secret(int seed) {
+        byte[] bytes = new byte[64];
+        Arrays.fill(bytes, (byte) seed);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.dataGenerator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class DataGeneratorApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(DataGeneratorApplication.class, args);
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.example.dataGenerator.Model;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * What data.csv says a catalogue looks like: its rows, used as templates so that generated
+ * diplomas keep realistic combinations, and the frequency of every vocabulary value, used to
+ * vary them and to draw student profiles.
+ */
+@Getter
+public class CatalogueProfile {
+
+    private final List<DiplomaRow> templates;
+    private final Map<String, String> cityBySchool;
+    private final Distribution<String> cities;
+    private final Distribution<String> careers;
+    private final Distribution<String> opportunities;
+    private final Distribution<String> previousDiplomas;
+    private final Distribution<String> filieres;
+    private final Distribution<Integer> durations;
+    private final Distribution<String> mentions;
+    private final Distribution<String> subjects;
+    private final Distribution<String> studentSubjects;
+
+    public CatalogueProfile(List<DiplomaRow> templates) {
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("A profile needs at least one diploma");
+        }
+        this.templates = List.copyOf(templates);
+        this.cityBySchool = new LinkedHashMap<>();
+        for (DiplomaRow row : templates) {
+            cityBySchool.putIfAbsent(row.school(), row.city());
+        }
+        this.cities = single(templates, DiplomaRow::city);
+        this.careers = multi(templates, DiplomaRow::careers);
+        this.opportunities = multi(templates, DiplomaRow::opportunities);
+        this.previousDiplomas = multi(templates, DiplomaRow::previousDiplomas);
+        this.filieres = multi(templates, DiplomaRow::filieres);
+        this.durations = single(templates, DiplomaRow::duration);
+        this.mentions = single(templates, DiplomaRow::mention);
+        this.subjects = multi(templates, DiplomaRow::subjects);
+        this.studentSubjects = multi(templates, DiplomaRow::studentSubjects);
+    }
+
+    public int schoolCount() {
+        return cityBySchool.size();
+    }
+
+    private static <T> Distribution<T> single(List<DiplomaRow> rows, Function<DiplomaRow, T> field) {
+        Map<T, Long> counts = new LinkedHashMap<>();
+        for (DiplomaRow row : rows) {
+            T value = field.apply(row);
+            if (value != null) {
+                counts.merge(value, 1L, Long::sum);
+            }
+        }
+        return Distribution.of(counts);
+    }
+
+    private static Distribution<String> multi(List<DiplomaRow> rows, Function<DiplomaRow, List<String>> field) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (DiplomaRow row : rows) {
+            for (String value : field.apply(row)) {
+                counts.merge(value, 1L, Long::sum);
+            }
+        }
+        return Distribution.of(counts);
+    }
+}
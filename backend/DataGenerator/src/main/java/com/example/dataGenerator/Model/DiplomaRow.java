@@ -0,0 +1,17 @@
+package com.example.dataGenerator.Model;
+
+import java.util.List;
+
+/** One diploma with its vocabulary, either read from data.csv or generated from it. */
+public record DiplomaRow(String name,
+                         String school,
+                         String city,
+                         List<String> careers,
+                         List<String> opportunities,
+                         List<String> previousDiplomas,
+                         List<String> filieres,
+                         Integer duration,
+                         String mention,
+                         List<String> subjects,
+                         List<String> studentSubjects) {
+}
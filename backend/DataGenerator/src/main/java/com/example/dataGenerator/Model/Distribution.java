@@ -0,0 +1,54 @@
+package com.example.dataGenerator.Model;
+
+import java.util.*;
+
+/** Empirical distribution of values, sampled proportionally to how often each was observed. */
+public final class Distribution<T> {
+
+    private final List<T> values;
+    private final long[] cumulative;
+    private final long total;
+
+    private Distribution(List<T> values, long[] cumulative) {
+        this.values = values;
+        this.cumulative = cumulative;
+        this.total = cumulative.length == 0 ? 0 : cumulative[cumulative.length - 1];
+    }
+
+    /** @param counts observations per value; iteration order must be deterministic for reproducible runs */
+    public static <T> Distribution<T> of(Map<T, Long> counts) {
+        List<T> values = new ArrayList<>(counts.size());
+        long[] cumulative = new long[counts.size()];
+        long sum = 0;
+        int i = 0;
+        for (Map.Entry<T, Long> entry : counts.entrySet()) {
+            sum += entry.getValue();
+            values.add(entry.getKey());
+            cumulative[i++] = sum;
+        }
+        return new Distribution<>(List.copyOf(values), cumulative);
+    }
+
+    public T sample(Random random) {
+        if (total == 0) {
+            return null;
+        }
+        long x = (long) (random.nextDouble() * total);
+        int i = Arrays.binarySearch(cumulative, x);
+        return values.get(i >= 0 ? i + 1 : -i - 1);
+    }
+
+    /** Up to {@code count} distinct values, more frequent ones more likely. */
+    public List<T> sampleDistinct(Random random, int count) {
+        Set<T> sampled = new LinkedHashSet<>();
+        int wanted = Math.min(count, values.size());
+        for (int attempts = 0; sampled.size() < wanted && attempts < wanted * 20; attempts++) {
+            sampled.add(sample(random));
+        }
+        return new ArrayList<>(sampled);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.dataGenerator.Model;
+
+import java.util.List;
+
+/**
+ * A QUALIFIE_FOR edge from a student to a diploma; {@code rating} is null unless the student
+ * also left HAS_FEEDBACK on it.
+ */
+public record RecommendationRow(String diploma,
+                                double matchPercentage,
+                                Boolean like,
+                                Float rating,
+                                List<String> notes) {
+
+    public boolean hasFeedback() {
+        return rating != null;
+    }
+}
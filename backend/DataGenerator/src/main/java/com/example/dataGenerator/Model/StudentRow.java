@@ -0,0 +1,14 @@
+package com.example.dataGenerator.Model;
+
+import java.util.List;
+
+/** A generated student profile, shaped like a user-service signup. */
+public record StudentRow(String email,
+                         String name,
+                         String year,
+                         String filiere,
+                         Integer duration,
+                         String mention,
+                         List<String> subjects,
+                         List<String> careers) {
+}
@@ -0,0 +1,70 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.DiplomaRow;
+
+import java.util.*;
+
+/** Admin-service layout: (:Diplome)-[:OFFERED_BY]->(:Ecole)-[:LOCATED_IN]->(:Ville) and vocabulary nodes. */
+public class AdminGraphWriter {
+
+    private static final String DIPLOMAS = """
+            UNWIND $rows AS row
+            MERGE (d:Diplome {name: row.name})
+            SET d.synthetic = true
+            MERGE (e:Ecole {name: row.school})
+            MERGE (d)-[:OFFERED_BY]->(e)
+            FOREACH (city IN CASE WHEN row.city IS NULL THEN [] ELSE [row.city] END |
+                MERGE (v:Ville {name: city})
+                MERGE (e)-[:LOCATED_IN]->(v))
+            FOREACH (years IN CASE WHEN row.duration IS NULL THEN [] ELSE [row.duration] END |
+                MERGE (n:Duree {years: years})
+                MERGE (d)-[:HAS_DURATION]->(n))
+            FOREACH (mention IN CASE WHEN row.mention IS NULL THEN [] ELSE [row.mention] END |
+                MERGE (n:MentionBac {name: mention})
+                MERGE (d)-[:REQUIRES_MENTION]->(n))
+            FOREACH (term IN row.careers | MERGE (n:Career {name: term}) MERGE (d)-[:LEADS_TO_CAREER]->(n))
+            FOREACH (term IN row.opportunities | MERGE (n:EmploymentOpportunity {name: term}) MERGE (d)-[:OFFERS_OPPORTUNITY]->(n))
+            FOREACH (term IN row.previousDiplomas | MERGE (n:AncienneDiplome {name: term}) MERGE (d)-[:REQUIRES_PREVIOUS]->(n))
+            FOREACH (term IN row.filieres | MERGE (n:Filiere {name: term}) MERGE (d)-[:BELONGS_TO_FILIERE]->(n))
+            FOREACH (term IN row.subjects | MERGE (n:MatiereDiplome {name: term}) MERGE (d)-[:INCLUDES_SUBJECT]->(n))
+            FOREACH (term IN row.studentSubjects | MERGE (n:MatiereEtudiant {name: term}) MERGE (d)-[:REQUIRES_STUDENT_SUBJECT]->(n))
+            """;
+
+    private static final String WIPE = """
+            MATCH (d:Diplome) WHERE d.synthetic
+            CALL { WITH d DETACH DELETE d } IN TRANSACTIONS OF 10000 ROWS
+            """;
+
+    private final Neo4jTarget target;
+
+    public AdminGraphWriter(Neo4jTarget target) {
+        this.target = target;
+    }
+
+    public void prepare(boolean wipe) {
+        target.requireSchema("admin-service");
+        if (wipe) {
+            target.run(WIPE);
+        }
+    }
+
+    public void write(List<DiplomaRow> diplomas) {
+        List<Map<String, Object>> rows = new ArrayList<>(diplomas.size());
+        for (DiplomaRow diploma : diplomas) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", diploma.name());
+            row.put("school", diploma.school());
+            row.put("city", diploma.city());
+            row.put("duration", diploma.duration());
+            row.put("mention", diploma.mention());
+            row.put("careers", diploma.careers());
+            row.put("opportunities", diploma.opportunities());
+            row.put("previousDiplomas", diploma.previousDiplomas());
+            row.put("filieres", diploma.filieres());
+            row.put("subjects", diploma.subjects());
+            row.put("studentSubjects", diploma.studentSubjects());
+            rows.add(row);
+        }
+        target.write(DIPLOMAS, rows, Map.of());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.CatalogueProfile;
+import com.example.dataGenerator.Model.DiplomaRow;
+import com.example.dataGenerator.Model.Distribution;
+
+import java.util.*;
+
+/**
+ * Extrapolates data.csv to {@code size} diplomas. Each diploma copies a random template row,
+ * so filiere, subjects and careers keep combinations that occur in the real data, then every
+ * value is replaced with probability {@code mutationRate} by one drawn from that field's
+ * overall distribution.
+ *
+ * The school pool grows with the catalogue: each real school gets {@code size / rows}
+ * branches ("EMI", "EMI-1", ...) in cities drawn from the city distribution, so schools keep
+ * roughly the real number of diplomas each. Diploma {@code i} depends only on the seed and
+ * {@code i}, so a run is reproducible and can be generated in any batch order.
+ */
+public class CatalogueGenerator {
+
+    private final CatalogueProfile profile;
+    private final long seed;
+    private final int size;
+    private final double mutationRate;
+    private final int branches;
+    private final Map<String, String> cityBySchool = new LinkedHashMap<>();
+
+    public CatalogueGenerator(CatalogueProfile profile, long seed, int size, double mutationRate) {
+        this.profile = profile;
+        this.seed = seed;
+        this.size = size;
+        this.mutationRate = mutationRate;
+        this.branches = Math.max(1, (int) Math.ceil((double) size / profile.getTemplates().size()));
+
+        Random random = new Random(seed);
+        profile.getCityBySchool().forEach((school, city) -> {
+            cityBySchool.put(school, city);
+            for (int branch = 1; branch < branches; branch++) {
+                cityBySchool.put(branchName(school, branch), profile.getCities().sample(random));
+            }
+        });
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Every school in the generated catalogue, with its city. */
+    public Map<String, String> getCityBySchool() {
+        return Collections.unmodifiableMap(cityBySchool);
+    }
+
+    public DiplomaRow diploma(int index) {
+        Random random = new Random(seed * 31 + index);
+        List<DiplomaRow> templates = profile.getTemplates();
+        DiplomaRow template = templates.get(random.nextInt(templates.size()));
+
+        String school = branchName(template.school(), random.nextInt(branches));
+        String base = template.name().contains("_")
+                ? template.name().substring(0, template.name().indexOf('_'))
+                : template.name();
+        return new DiplomaRow(
+                base + "_" + school + "_" + index,
+                school,
+                cityBySchool.get(school),
+                vary(random, template.careers(), profile.getCareers()),
+                vary(random, template.opportunities(), profile.getOpportunities()),
+                vary(random, template.previousDiplomas(), profile.getPreviousDiplomas()),
+                vary(random, template.filieres(), profile.getFilieres()),
+                vary(random, template.duration(), profile.getDurations()),
+                vary(random, template.mention(), profile.getMentions()),
+                vary(random, template.subjects(), profile.getSubjects()),
+                vary(random, template.studentSubjects(), profile.getStudentSubjects()));
+    }
+
+    private static String branchName(String school, int branch) {
+        return branch == 0 ? school : school + "-" + branch;
+    }
+
+    private <T> T vary(Random random, T value, Distribution<T> distribution) {
+        return value == null || random.nextDouble() >= mutationRate ? value : distribution.sample(random);
+    }
+
+    private List<String> vary(Random random, List<String> values, Distribution<String> distribution) {
+        Set<String> varied = new LinkedHashSet<>();
+        for (String value : values) {
+            varied.add(vary(random, value, distribution));
+        }
+        return new ArrayList<>(varied);
+    }
+}
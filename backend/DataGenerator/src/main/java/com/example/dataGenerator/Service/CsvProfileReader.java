@@ -0,0 +1,119 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.CatalogueProfile;
+import com.example.dataGenerator.Model.DiplomaRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads data.csv (the export written by GNNService's fetch.py) into a {@link CatalogueProfile}.
+ * List columns hold Python list literals such as {@code ['Urbanisme', 'Design']}.
+ */
+public class CsvProfileReader {
+    private static final Logger logger = LoggerFactory.getLogger(CsvProfileReader.class);
+
+    private static final int COLUMNS = 11;
+    // A single- or double-quoted Python string literal
+    private static final Pattern LIST_ITEM = Pattern.compile("'((?:[^'\\\\]|\\\\.)*)'|\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    public CatalogueProfile read(Path csv) throws IOException {
+        List<DiplomaRow> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException(csv + " is empty");
+            }
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> cells = cells(line);
+                if (cells.size() != COLUMNS) {
+                    logger.warn("Skipping {} line {}: {} columns instead of {}", csv, lineNumber, cells.size(), COLUMNS);
+                    continue;
+                }
+                rows.add(new DiplomaRow(
+                        cells.get(0),
+                        cells.get(1),
+                        cells.get(8),
+                        list(cells.get(2)),
+                        list(cells.get(3)),
+                        list(cells.get(4)),
+                        list(cells.get(5)),
+                        integer(cells.get(6)),
+                        blankToNull(cells.get(7)),
+                        list(cells.get(9)),
+                        list(cells.get(10))));
+            }
+        }
+        logger.info("Read {} diplomas from {}", rows.size(), csv);
+        return new CatalogueProfile(rows);
+    }
+
+    // RFC 4180 fields: comma-separated, optionally quoted, "" escapes a quote
+    static List<String> cells(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    static List<String> list(String literal) {
+        List<String> items = new ArrayList<>();
+        Matcher matcher = LIST_ITEM.matcher(literal);
+        while (matcher.find()) {
+            String item = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            item = item.replace("\\'", "'").replace("\\\"", "\"").trim();
+            if (!item.isEmpty()) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static Integer integer(String cell) {
+        try {
+            return cell.isBlank() ? null : Integer.valueOf(cell.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String cell) {
+        return cell == null || cell.isBlank() ? null : cell.trim();
+    }
+}
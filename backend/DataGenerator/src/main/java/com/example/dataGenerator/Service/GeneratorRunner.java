@@ -0,0 +1,205 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.CatalogueProfile;
+import com.example.dataGenerator.Model.DiplomaRow;
+import com.example.dataGenerator.Model.RecommendationRow;
+import com.example.dataGenerator.Model.StudentRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Generates {@code generator.diplomas} diplomas and {@code generator.students} students from
+ * data.csv and loads them into the databases listed in {@code generator.targets}:
+ * admin (Admin-service), recommendation (diplomasRecommendation and FeedbackService, which
+ * share one database) and users (user-service). Batches are independent, so they are written
+ * by {@code generator.parallelism} threads; deadlocks on shared vocabulary nodes are retried
+ * by the driver.
+ *
+ * Every generated student logs in with {@code generator.password}. Rerunning with the same
+ * seed rewrites the same graph; {@code generator.wipe=true} first removes generated data
+ * (diplomas marked synthetic, users at {@value PopulationGenerator#EMAIL_DOMAIN}).
+ */
+@Component
+public class GeneratorRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(GeneratorRunner.class);
+
+    @Value("${generator.csv}")
+    private String csv;
+
+    @Value("${generator.seed}")
+    private long seed;
+
+    @Value("${generator.diplomas}")
+    private int diplomas;
+
+    @Value("${generator.students}")
+    private int students;
+
+    @Value("${generator.mutation-rate}")
+    private double mutationRate;
+
+    @Value("${generator.recommendations-per-student}")
+    private int recommendationsPerStudent;
+
+    @Value("${generator.feedback-ratio}")
+    private double feedbackRatio;
+
+    @Value("${generator.batch-size}")
+    private int batchSize;
+
+    @Value("${generator.parallelism}")
+    private int parallelism;
+
+    @Value("${generator.password}")
+    private String password;
+
+    @Value("${generator.targets}")
+    private Set<String> targets;
+
+    @Value("${generator.wipe}")
+    private boolean wipe;
+
+    @Value("${generator.admin.uri}")
+    private String adminUri;
+
+    @Value("${generator.admin.password}")
+    private String adminPassword;
+
+    @Value("${generator.recommendation.uri}")
+    private String recommendationUri;
+
+    @Value("${generator.recommendation.password}")
+    private String recommendationPassword;
+
+    @Value("${generator.users.uri}")
+    private String usersUri;
+
+    @Value("${generator.users.password}")
+    private String usersPassword;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CatalogueProfile profile = new CsvProfileReader().read(Path.of(csv));
+        CatalogueGenerator catalogue = new CatalogueGenerator(profile, seed, diplomas, mutationRate);
+        logger.info("Generating {} diplomas over {} schools and {} students (seed {}) into {}",
+                diplomas, catalogue.getCityBySchool().size(), students, seed, targets);
+
+        List<String> names = new ArrayList<>(diplomas);
+        Map<String, List<String>> namesByFiliere = new HashMap<>();
+        for (int i = 0; i < diplomas; i++) {
+            DiplomaRow diploma = catalogue.diploma(i);
+            names.add(diploma.name());
+            for (String filiere : diploma.filieres()) {
+                namesByFiliere.computeIfAbsent(filiere, f -> new ArrayList<>()).add(diploma.name());
+            }
+        }
+        PopulationGenerator population = new PopulationGenerator(profile, seed, recommendationsPerStudent,
+                feedbackRatio, names, namesByFiliere);
+
+        List<Neo4jTarget> opened = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            AdminGraphWriter admin = null;
+            RecommendationGraphWriter recommendation = null;
+            UserGraphWriter users = null;
+            if (targets.contains("admin")) {
+                admin = new AdminGraphWriter(open(opened, "admin", adminUri, adminPassword));
+                admin.prepare(wipe);
+            }
+            if (targets.contains("recommendation")) {
+                recommendation = new RecommendationGraphWriter(open(opened, "recommendation", recommendationUri, recommendationPassword));
+                recommendation.prepare(wipe);
+            }
+            if (targets.contains("users")) {
+                users = new UserGraphWriter(open(opened, "users", usersUri, usersPassword),
+                        new BCryptPasswordEncoder().encode(password));
+                users.prepare(wipe);
+            }
+
+            AdminGraphWriter adminWriter = admin;
+            RecommendationGraphWriter recommendationWriter = recommendation;
+            if (adminWriter != null || recommendationWriter != null) {
+                inBatches(executor, "diplomas", diplomas, (from, to) -> {
+                    List<DiplomaRow> batch = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        batch.add(catalogue.diploma(i));
+                    }
+                    if (adminWriter != null) {
+                        adminWriter.write(batch);
+                    }
+                    if (recommendationWriter != null) {
+                        recommendationWriter.writeDiplomas(batch);
+                    }
+                });
+            }
+
+            UserGraphWriter userWriter = users;
+            if (userWriter != null || recommendationWriter != null) {
+                inBatches(executor, "students", students, (from, to) -> {
+                    List<StudentRow> batch = new ArrayList<>(to - from);
+                    List<List<RecommendationRow>> recommendations = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        StudentRow student = population.student(i);
+                        batch.add(student);
+                        recommendations.add(population.recommendations(i, student));
+                    }
+                    if (userWriter != null) {
+                        userWriter.write(batch);
+                    }
+                    if (recommendationWriter != null) {
+                        recommendationWriter.writeStudents(batch, recommendations);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdownNow();
+            opened.forEach(Neo4jTarget::close);
+        }
+    }
+
+    private Neo4jTarget open(List<Neo4jTarget> opened, String name, String uri, String password) {
+        Neo4jTarget target = new Neo4jTarget(name, uri, "neo4j", password);
+        opened.add(target);
+        return target;
+    }
+
+    private void inBatches(ExecutorService executor, String what, int total, BatchWriter writer) throws Exception {
+        long start = System.currentTimeMillis();
+        List<Future<?>> futures = new ArrayList<>();
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < total; from += size) {
+            int batchFrom = from;
+            int batchTo = Math.min(from + size, total);
+            futures.add(executor.submit(() -> {
+                writer.write(batchFrom, batchTo);
+                if (batchTo % (size * 50) < size || batchTo == total) {
+                    logger.info("{}: {}/{}", what, batchTo, total);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Loading " + what + " failed", e.getCause());
+            }
+        }
+        long took = Math.max(1, System.currentTimeMillis() - start);
+        logger.info("Loaded {} {} in {} s ({} per second)", total, what, took / 1000, total * 1000L / took);
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter {
+        void write(int from, int to) throws Exception;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.dataGenerator.Service;
+
+import org.neo4j.driver.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** One service's Neo4j database, written to in UNWIND batches of one transaction each. */
+public class Neo4jTarget implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Neo4jTarget.class);
+
+    private final String name;
+    private final Driver driver;
+
+    public Neo4jTarget(String name, String uri, String username, String password) {
+        this.name = name;
+        this.driver = GraphDatabase.driver(uri, AuthTokens.basic(username, password));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Fails unless the service's SchemaBootstrap has run on this database: without its unique
+     * constraints every MERGE below is a label scan and a large load never finishes.
+     */
+    public void requireSchema(String service) {
+        try (Session session = driver.session()) {
+            long version = session.run("OPTIONAL MATCH (s:SchemaVersion {service: $service}) RETURN coalesce(s.version, 0)",
+                    Map.of("service", service)).single().get(0).asLong();
+            if (version == 0) {
+                throw new IllegalStateException("No schema on " + name + " database: start " + service
+                        + " once so that its SchemaBootstrap creates the constraints, then rerun");
+            }
+            logger.info("{} database is at {} schema version {}", name, service, version);
+        }
+    }
+
+    public void write(String query, List<Map<String, Object>> rows, Map<String, Object> parameters) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Object> bound = new HashMap<>(parameters);
+        bound.put("rows", rows);
+        try (Session session = driver.session()) {
+            session.executeWriteWithoutResult(tx -> tx.run(query, bound).consume());
+        }
+    }
+
+    /** Runs a self-batching statement ({@code CALL { ... } IN TRANSACTIONS}) in an auto-commit transaction. */
+    public void run(String query) {
+        try (Session session = driver.session()) {
+            session.run(query).consume();
+        }
+    }
+
+    @Override
+    public void close() {
+        driver.close();
+    }
+}
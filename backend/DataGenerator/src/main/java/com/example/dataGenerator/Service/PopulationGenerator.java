@@ -0,0 +1,89 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.CatalogueProfile;
+import com.example.dataGenerator.Model.RecommendationRow;
+import com.example.dataGenerator.Model.StudentRow;
+
+import java.util.*;
+
+/**
+ * Generates students whose filiere, mention, preferred duration, subjects and careers follow
+ * the catalogue's distributions, plus their recommendations and feedback. Recommendations
+ * favour diplomas open to the student's filiere, as the real recommender does. Student
+ * {@code i} depends only on the seed and {@code i}; emails are {@code student<i>@load.test}.
+ */
+public class PopulationGenerator {
+
+    public static final String EMAIL_DOMAIN = "@load.test";
+
+    private static final List<String> YEARS = List.of("1ère Bac", "2ème Bac");
+    private static final List<String> NOTES = List.of(
+            "Programme intéressant", "Trop loin de chez moi", "Bonne école", "Débouchés clairs", "Frais élevés");
+
+    private final CatalogueProfile profile;
+    private final long seed;
+    private final int recommendationsPerStudent;
+    private final double feedbackRatio;
+    private final List<String> allDiplomas;
+    private final Map<String, List<String>> diplomasByFiliere;
+
+    /**
+     * @param diplomasByFiliere names of the generated diplomas open to each filiere
+     * @param allDiplomas       names of every generated diploma
+     */
+    public PopulationGenerator(CatalogueProfile profile, long seed, int recommendationsPerStudent, double feedbackRatio,
+                               List<String> allDiplomas, Map<String, List<String>> diplomasByFiliere) {
+        this.profile = profile;
+        this.seed = seed;
+        this.recommendationsPerStudent = recommendationsPerStudent;
+        this.feedbackRatio = feedbackRatio;
+        this.allDiplomas = allDiplomas;
+        this.diplomasByFiliere = diplomasByFiliere;
+    }
+
+    public StudentRow student(int index) {
+        Random random = random(index, 0);
+        return new StudentRow(
+                "student" + index + EMAIL_DOMAIN,
+                "Student " + index,
+                YEARS.get(random.nextInt(YEARS.size())),
+                profile.getFilieres().sample(random),
+                profile.getDurations().sample(random),
+                profile.getMentions().sample(random),
+                profile.getStudentSubjects().sampleDistinct(random, 2 + random.nextInt(3)),
+                profile.getCareers().sampleDistinct(random, 1 + random.nextInt(3)));
+    }
+
+    public List<RecommendationRow> recommendations(int index, StudentRow student) {
+        Random random = random(index, 1);
+        List<String> candidates = diplomasByFiliere.getOrDefault(student.filiere(), allDiplomas);
+        if (candidates.isEmpty()) {
+            candidates = allDiplomas;
+        }
+        int count = Math.min(recommendationsPerStudent, candidates.size());
+        Set<String> picked = new LinkedHashSet<>();
+        for (int attempts = 0; picked.size() < count && attempts < count * 20; attempts++) {
+            picked.add(candidates.get(random.nextInt(candidates.size())));
+        }
+
+        List<RecommendationRow> recommendations = new ArrayList<>(picked.size());
+        for (String diploma : picked) {
+            double match = Math.round((40 + random.nextDouble() * 60) * 10) / 10.0;
+            if (random.nextDouble() < feedbackRatio) {
+                boolean like = random.nextDouble() < match / 100;
+                float rating = like ? 3 + random.nextInt(3) : 1 + random.nextInt(3);
+                List<String> notes = random.nextBoolean()
+                        ? List.of(NOTES.get(random.nextInt(NOTES.size())))
+                        : List.of();
+                recommendations.add(new RecommendationRow(diploma, match, like, rating, notes));
+            } else {
+                recommendations.add(new RecommendationRow(diploma, match, null, null, null));
+            }
+        }
+        return recommendations;
+    }
+
+    private Random random(int index, int stream) {
+        return new Random((seed * 31 + index) * 7 + stream + 1_000_003L);
+    }
+}
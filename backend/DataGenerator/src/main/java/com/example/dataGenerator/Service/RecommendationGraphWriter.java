@@ -0,0 +1,109 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.DiplomaRow;
+import com.example.dataGenerator.Model.RecommendationRow;
+import com.example.dataGenerator.Model.StudentRow;
+
+import java.util.*;
+
+/**
+ * Layout shared by diplomasRecommendation and FeedbackService: denormalised (:Diplome) nodes
+ * with their vocabulary, and (:User)-[:QUALIFIE_FOR]->(:Diplome) and
+ * (:User)-[:HAS_FEEDBACK]->(:Diplome) edges.
+ */
+public class RecommendationGraphWriter {
+
+    private static final String DIPLOMAS = """
+            UNWIND $rows AS row
+            MERGE (d:Diplome {name: row.name})
+            SET d.ecole = row.school, d.ville = row.city, d.duration = row.duration, d.synthetic = true
+            FOREACH (mention IN CASE WHEN row.mention IS NULL THEN [] ELSE [row.mention] END |
+                MERGE (n:Mention {mention: mention})
+                MERGE (d)-[:HAS_MENTION]->(n))
+            FOREACH (term IN row.careers | MERGE (n:Career {career: term}) MERGE (d)-[:RELATED_TO]->(n))
+            FOREACH (term IN row.opportunities | MERGE (n:EmploymentOpportunity {oppotunity: term}) MERGE (d)-[:PROVIDE_JOB_FOR]->(n))
+            FOREACH (term IN row.filieres | MERGE (n:Filiere {filiere: term}) MERGE (d)-[:HAS_FILIERE]->(n))
+            FOREACH (term IN row.subjects | MERGE (n:MatiereDiplome {matiere: term}) MERGE (d)-[:STUDIES]->(n))
+            FOREACH (term IN row.studentSubjects | MERGE (n:MatiereEtudiant {matiere: term}) MERGE (d)-[:INTERESTED_IN]->(n))
+            FOREACH (term IN row.previousDiplomas |
+                MERGE (n:Diplome {name: term})
+                ON CREATE SET n.synthetic = true
+                MERGE (d)-[:SHOULD_HAVE]->(n))
+            """;
+
+    private static final String STUDENTS = """
+            UNWIND $rows AS row
+            MERGE (u:User {email: row.email})
+            WITH u, row
+            UNWIND row.recommendations AS recommendation
+            MATCH (d:Diplome {name: recommendation.diploma})
+            MERGE (u)-[q:QUALIFIE_FOR]->(d)
+            SET q.matchPercentage = recommendation.matchPercentage, q.updatedAt = $now
+            FOREACH (feedback IN CASE WHEN recommendation.rating IS NULL THEN [] ELSE [recommendation] END |
+                MERGE (u)-[f:HAS_FEEDBACK]->(d)
+                SET f.like = feedback.like, f.rating = feedback.rating, f.notes = feedback.notes,
+                    f.matchPercentage = toInteger(feedback.matchPercentage), f.updatedAt = $now)
+            """;
+
+    private static final String WIPE_STUDENTS = """
+            MATCH (u:User) WHERE u.email ENDS WITH '%s'
+            CALL { WITH u DETACH DELETE u } IN TRANSACTIONS OF 10000 ROWS
+            """.formatted(PopulationGenerator.EMAIL_DOMAIN);
+
+    private static final String WIPE_DIPLOMAS = """
+            MATCH (d:Diplome) WHERE d.synthetic
+            CALL { WITH d DETACH DELETE d } IN TRANSACTIONS OF 10000 ROWS
+            """;
+
+    private final Neo4jTarget target;
+
+    public RecommendationGraphWriter(Neo4jTarget target) {
+        this.target = target;
+    }
+
+    public void prepare(boolean wipe) {
+        target.requireSchema("userdiplomas");
+        if (wipe) {
+            target.run(WIPE_STUDENTS);
+            target.run(WIPE_DIPLOMAS);
+        }
+    }
+
+    public void writeDiplomas(List<DiplomaRow> diplomas) {
+        List<Map<String, Object>> rows = new ArrayList<>(diplomas.size());
+        for (DiplomaRow diploma : diplomas) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("name", diploma.name());
+            row.put("school", diploma.school());
+            row.put("city", diploma.city());
+            row.put("duration", diploma.duration());
+            row.put("mention", diploma.mention());
+            row.put("careers", diploma.careers());
+            row.put("opportunities", diploma.opportunities());
+            row.put("filieres", diploma.filieres());
+            row.put("subjects", diploma.subjects());
+            row.put("studentSubjects", diploma.studentSubjects());
+            row.put("previousDiplomas", diploma.previousDiplomas());
+            rows.add(row);
+        }
+        target.write(DIPLOMAS, rows, Map.of());
+    }
+
+    public void writeStudents(List<StudentRow> students, List<List<RecommendationRow>> recommendations) {
+        List<Map<String, Object>> rows = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            List<Map<String, Object>> edges = new ArrayList<>();
+            for (RecommendationRow recommendation : recommendations.get(i)) {
+                Map<String, Object> edge = new HashMap<>();
+                edge.put("diploma", recommendation.diploma());
+                edge.put("matchPercentage", recommendation.matchPercentage());
+                edge.put("like", recommendation.like());
+                edge.put("rating", recommendation.rating());
+                edge.put("notes", recommendation.notes());
+                edges.add(edge);
+            }
+            rows.add(Map.of("email", students.get(i).email(), "recommendations", edges));
+        }
+        target.write(STUDENTS, rows, Map.of("now", System.currentTimeMillis()));
+    }
+}
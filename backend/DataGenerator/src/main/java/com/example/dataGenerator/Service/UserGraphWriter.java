@@ -0,0 +1,61 @@
+package com.example.dataGenerator.Service;
+
+import com.example.dataGenerator.Model.StudentRow;
+
+import java.util.*;
+
+/** user-service layout: (:User) with its filiere, duration, mention, subjects and career aspirations. */
+public class UserGraphWriter {
+
+    private static final String STUDENTS = """
+            UNWIND $rows AS row
+            MERGE (u:User {email: row.email})
+            SET u.name = row.name, u.password = $password, u.year = row.year
+            MERGE (f:Filiere {name: row.filiere})
+            MERGE (u)-[:STUDIES_FILIERE]->(f)
+            MERGE (du:Duree {name: row.duration})
+            MERGE (u)-[:INTERSTED_IN]->(du)
+            MERGE (m:MontionBac {name: row.mention})
+            MERGE (u)-[:OBTAINED_MENTION]->(m)
+            FOREACH (term IN row.subjects | MERGE (n:Subject {name: term}) MERGE (u)-[:STUDIES]->(n))
+            FOREACH (term IN row.careers | MERGE (n:CareerAspiration {name: term}) MERGE (u)-[:ASPIRES_TO]->(n))
+            """;
+
+    private static final String WIPE = """
+            MATCH (u:User) WHERE u.email ENDS WITH '%s'
+            CALL { WITH u DETACH DELETE u } IN TRANSACTIONS OF 10000 ROWS
+            """.formatted(PopulationGenerator.EMAIL_DOMAIN);
+
+    private final Neo4jTarget target;
+    private final String passwordHash;
+
+    /** @param passwordHash BCrypt hash shared by every generated student */
+    public UserGraphWriter(Neo4jTarget target, String passwordHash) {
+        this.target = target;
+        this.passwordHash = passwordHash;
+    }
+
+    public void prepare(boolean wipe) {
+        target.requireSchema("user-service");
+        if (wipe) {
+            target.run(WIPE);
+        }
+    }
+
+    public void write(List<StudentRow> students) {
+        List<Map<String, Object>> rows = new ArrayList<>(students.size());
+        for (StudentRow student : students) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("email", student.email());
+            row.put("name", student.name());
+            row.put("year", student.year());
+            row.put("filiere", student.filiere());
+            row.put("duration", student.duration());
+            row.put("mention", student.mention());
+            row.put("subjects", student.subjects());
+            row.put("careers", student.careers());
+            rows.add(row);
+        }
+        target.write(STUDENTS, rows, Map.of("password", passwordHash));
+    }
+}
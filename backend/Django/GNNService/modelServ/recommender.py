@@ -287,8 +287,11 @@ class DiplomaRecommender:
             return False
         return True
 
-    def predict(self, features, desired_duree=None, top_k=5):
-        """Predict top-k diploma recommendations based on user features."""
+    def predict(self, features, desired_duree=None, top_k=5, candidates=None):
+        """Predict top-k diploma recommendations based on user features.
+
+        If candidates is given, only diplomas whose Nom_Diplôme is in it are ranked.
+        """
         user_filiere = [features['Filiere']] if isinstance(features['Filiere'], str) else features.get('Filiere', [])
         user_employments = set(features.get('Career', []))
         user_subjects = set(features.get('Matieres_Etudiant', []))
@@ -308,8 +311,14 @@ class DiplomaRecommender:
 
         similarities = torch.cosine_similarity(user_embedding, self.diploma_embeddings.to(self.device), dim=1).cpu().numpy()
 
+        if candidates is not None:
+            candidate_idx = np.flatnonzero(self.df['Nom_Diplôme'].isin(set(candidates)).to_numpy())
+            ranking = candidate_idx[similarities[candidate_idx].argsort()[::-1]]
+        else:
+            ranking = similarities.argsort()[::-1]
+
         valid_predictions = []
-        for idx in similarities.argsort()[::-1]:
+        for idx in ranking:
             if len(valid_predictions) >= top_k:
                 break
             unique_diploma = self.df.iloc[idx]['Unique_Diplôme']
@@ -6,6 +6,7 @@ class DiplomaRecommendationInputSerializer(serializers.Serializer):
     Filiere = serializers.CharField(required=True)
     Durée = serializers.IntegerField(required=True)
     Mention_Bac = serializers.CharField(required=False, allow_blank=True)
+    Candidates = serializers.ListField(child=serializers.CharField(), required=False)
 
 class DiplomaRecommendationOutputSerializer(serializers.Serializer):
     Nom_Diplôme = serializers.CharField()
@@ -0,0 +1,48 @@
+package com.example.feedbackService.Controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.feedbackService.Service.ExportService;
+
+@RestController
+@RequestMapping("/api/")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private ExportService exportService;
+
+    // Used by the GNN retraining job: pass the watermark of the previous END record as
+    // "since" to only pull interactions written after the last export. The export re-reads a
+    // short window before it, so records already seen come back and must be deduplicated.
+    @GetMapping("/export/interactions")
+    public ResponseEntity<?> exportInteractions(
+            @RequestParam(defaultValue = "-1") long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") long limit) {
+        try {
+            exportService.startPosition(since, cursor);
+        } catch (IllegalArgumentException e) {
+            logger.error("Rejected interaction export request", e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        if (limit < 0) {
+            return ResponseEntity.badRequest().body("Limit cannot be negative");
+        }
+
+        StreamingResponseBody body = out -> exportService.exportInteractions(since, cursor, limit, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
@@ -7,11 +7,13 @@ import org.springframework.web.bind.annotation.*;
 import com.example.feedbackService.DTO.FeedbackDTO;
 import com.example.feedbackService.DTO.EmailDTO;
 import com.example.feedbackService.DTO.DiplomeRecommendDTO;
+import com.example.common.ratelimit.RateLimiter;
 import com.example.feedbackService.Service.UserService;
 import com.example.feedbackService.Model.Feedback;
 import com.example.feedbackService.Model.Diplome;
 import com.example.feedbackService.Mapper.DiplomeMapper;
 import org.springframework.http.ResponseEntity;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +31,9 @@ public class FeedbackController {
     @Autowired
     private DiplomeMapper diplomeMapper;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleException(Exception e) {
         logger.error("Error processing request", e);
@@ -36,14 +41,16 @@ public class FeedbackController {
     }
 
     @PostMapping("/update-feedback")
-    public ResponseEntity<?> updateFeedback(@Valid @RequestBody FeedbackDTO feedback) {
+    public ResponseEntity<?> updateFeedback(@Valid @RequestBody FeedbackDTO feedback, HttpServletRequest request) {
+        // The body's email is whatever the client says; count the signed-in user instead
+        ResponseEntity<String> rejected = rateLimiter.admit("update-feedback", rateLimiter.caller(request));
+        if (rejected != null) {
+            return rejected;
+        }
         try {
-            logger.info("Received feedback update request: {}", feedback);
-            logger.info("Email: {}", feedback.getEmail());
-            logger.info("DiplomeName: {}", feedback.getDiplomeName());
-            logger.info("Like: {}", feedback.getLike());
-            logger.info("Rating: {}", feedback.getRating());
-            logger.info("Notes: {}", feedback.getNotes());
+            logger.info("update-feedback email={} diplome={} like={} rating={} notes={}", feedback.getEmail(),
+                    feedback.getDiplomeName(), feedback.getLike(), feedback.getRating(),
+                    feedback.getNotes() != null ? feedback.getNotes().size() : 0);
             
             if (feedback.getDiplomeName() == null || feedback.getDiplomeName().trim().isEmpty()) {
                 logger.error("Diploma name is null or empty");
@@ -65,7 +72,7 @@ public class FeedbackController {
     @PostMapping("/get-feedback")
     public ResponseEntity<?> getFeedback(@Valid @RequestBody EmailDTO emailDTO) {
         try {
-            logger.info("Fetching feedbacks for email: {}", emailDTO.getEmail());
+            logger.debug("Fetching feedbacks for email: {}", emailDTO.getEmail());
             if (emailDTO.getEmail() == null || emailDTO.getEmail().trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Email cannot be null or empty");
             }
@@ -86,7 +93,7 @@ public class FeedbackController {
             @PathVariable String email,
             @PathVariable String diplomeName) {
         try {
-            logger.info("Fetching feedback for email: {} and diploma: {}", email, diplomeName);
+            logger.debug("Fetching feedback for email: {} and diploma: {}", email, diplomeName);
             if (email == null || email.trim().isEmpty() || diplomeName == null || diplomeName.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Email and diploma name cannot be null or empty");
             }
@@ -105,7 +112,7 @@ public class FeedbackController {
             @PathVariable String email,
             @PathVariable String diplomeName) {
         try {
-            logger.info("Deleting feedback for email: {} and diploma: {}", email, diplomeName);
+            logger.debug("Deleting feedback for email: {} and diploma: {}", email, diplomeName);
             if (email == null || email.trim().isEmpty() || diplomeName == null || diplomeName.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Email and diploma name cannot be null or empty");
             }
@@ -121,7 +128,7 @@ public class FeedbackController {
     @GetMapping("/feedback/liked/{email}")
     public ResponseEntity<?> getLikedDiplomas(@PathVariable String email) {
         try {
-            logger.info("Fetching liked diplomas for email: {}", email);
+            logger.debug("Fetching liked diplomas for email: {}", email);
             if (email == null || email.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Email cannot be null or empty");
             }
@@ -138,7 +145,7 @@ public class FeedbackController {
     @GetMapping("/feedback/rated/{email}")
     public ResponseEntity<?> getRatedDiplomas(@PathVariable String email) {
         try {
-            logger.info("Fetching rated diplomas for email: {}", email);
+            logger.debug("Fetching rated diplomas for email: {}", email);
             if (email == null || email.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Email cannot be null or empty");
             }
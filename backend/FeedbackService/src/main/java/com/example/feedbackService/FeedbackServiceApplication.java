@@ -1,14 +1,23 @@
 package com.example.feedbackService;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.metrics.web.client.ObservationRestTemplateCustomizer;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.common.http.HttpClientConfig;
+import com.example.common.ratelimit.RateLimiter;
+import com.example.common.schema.SchemaBootstrap;
+import com.example.common.security.JwtVerifier;
+
 @SpringBootApplication
 @EnableDiscoveryClient
+@Import({HttpClientConfig.class, JwtVerifier.class, RateLimiter.class, SchemaBootstrap.class})
 public class FeedbackServiceApplication {
 
 	public static void main(String[] args) {
@@ -17,8 +26,13 @@ public class FeedbackServiceApplication {
 
 	@Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(HttpComponentsClientHttpRequestFactory httpRequestFactory,
+            ObservationRestTemplateCustomizer observation) {
+        RestTemplate restTemplate = new RestTemplate(httpRequestFactory);
+        // Client timings and trace propagation; not built through RestTemplateBuilder, which
+        // would also swap in the service's SNAKE_CASE ObjectMapper for the other services' JSON
+        observation.customize(restTemplate);
+        return restTemplate;
     }
 
 }
@@ -6,22 +6,31 @@ import org.springframework.data.neo4j.core.schema.RelationshipProperties;
 import org.springframework.data.neo4j.core.schema.TargetNode;
 
 import lombok.Data;
+import lombok.ToString;
 
 import java.util.UUID;
 import java.util.List;
 
 @RelationshipProperties
 @Data
+@ToString(onlyExplicitlyIncluded = true)
 public class Feedback {
 
     @Id
     @GeneratedValue
+    @ToString.Include
     private Long id;
 
+    @ToString.Include
     private boolean like;
     private List<String> notes;
+    @ToString.Include
     private float rating;
+    @ToString.Include
     private Integer matchPercentage;
+    // Epoch millis of the last write, used as the watermark for incremental exports
+    @ToString.Include
+    private Long updatedAt;
 
     @TargetNode
     private Diplome diplome;
@@ -44,4 +53,24 @@ public class Feedback {
         this.matchPercentage = matchPercentage;
         this.diplome = diplome;
     }
+
+    // Equal once saved with the same id; before that only to itself. The hash ignores the id so
+    // it does not change when Neo4j assigns one
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Feedback other && id != null && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Feedback.class.hashCode();
+    }
+
+    @ToString.Include(name = "diplome")
+    private String diplomeName() {
+        return diplome != null ? diplome.getName() : null;
+    }
 }
@@ -1,17 +1,24 @@
 package com.example.feedbackService.Model;
 
 import lombok.Data;
+import lombok.ToString;
 import org.springframework.data.neo4j.core.schema.RelationshipId;
 import org.springframework.data.neo4j.core.schema.RelationshipProperties;
 import org.springframework.data.neo4j.core.schema.TargetNode;
 
 @Data
+@ToString(onlyExplicitlyIncluded = true)
 @RelationshipProperties
 public class QualifieForRelationship {
     @RelationshipId
+    @ToString.Include
     private Long id;
 
+    @ToString.Include
     private Double matchPercentage;
+    // Epoch millis of creation, used as the watermark for incremental interaction exports
+    @ToString.Include
+    private Long updatedAt;
 
     @TargetNode
     private Diplome diplome;
@@ -19,5 +26,26 @@ public class QualifieForRelationship {
     public QualifieForRelationship(Diplome diplome, Double matchPercentage) {
         this.diplome = diplome;
         this.matchPercentage = matchPercentage;
+        this.updatedAt = System.currentTimeMillis();
     }
-}
\ No newline at end of file
+
+    // Equal once saved with the same id; before that only to itself. The hash ignores the id so
+    // it does not change when Neo4j assigns one
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof QualifieForRelationship other && id != null && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return QualifieForRelationship.class.hashCode();
+    }
+
+    @ToString.Include(name = "diplome")
+    private String diplomeName() {
+        return diplome != null ? diplome.getName() : null;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.feedbackService.Model;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.springframework.data.neo4j.core.schema.Id;
 import org.springframework.data.neo4j.core.schema.Node;
 import org.springframework.data.neo4j.core.schema.Relationship;
@@ -9,9 +11,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(onlyExplicitlyIncluded = true)
 @Node("User")
 public class User {
     @Id
+    @EqualsAndHashCode.Include
+    @ToString.Include
     private String email;
 
     @Relationship(type = "QUALIFIE_FOR")
@@ -24,6 +30,16 @@ public class User {
         this.diplomeRelationships = new ArrayList<>();
     }
 
+    @ToString.Include(name = "diplomeRelationships")
+    private int diplomeRelationshipCount() {
+        return diplomeRelationships != null ? diplomeRelationships.size() : 0;
+    }
+
+    @ToString.Include(name = "feedbacks")
+    private int feedbackCount() {
+        return feedbacks != null ? feedbacks.size() : 0;
+    }
+
     // Helper method to get diplomas (optional, for convenience)
     public List<Diplome> getDiplomes() {
         List<Diplome> diplomes = new ArrayList<>();
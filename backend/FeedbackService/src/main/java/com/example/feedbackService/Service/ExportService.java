@@ -0,0 +1,199 @@
+package com.example.feedbackService.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams user/diploma interactions (QUALIFIE_FOR and HAS_FEEDBACK edges) as NDJSON
+ * so the GNN service can retrain on them without reading the graph itself.
+ *
+ * Edges are ordered by (updatedAt, relationship id) and read page by page with a keyset
+ * cursor, so memory stays flat whatever the size of the graph. Edges written before the
+ * updatedAt property existed are exported with a timestamp of 0.
+ *
+ * updatedAt is the writer's wall clock, not commit order: an edge stamped just before the
+ * watermark can commit after an export has passed it (clock skew between instances, a slow
+ * transaction). An incremental export therefore starts {@code feedback.export.overlap-ms}
+ * before the watermark it is given, and the consumer dedupes: each record is the current state
+ * of the edge (type, email, diplome), so keeping the one with the latest updated_at is enough.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Full exports, and resumes still among the edges without an updatedAt
+    private static final String INTERACTIONS_QUERY = """
+            CALL {
+                MATCH (u:User)-[r:QUALIFIE_FOR]->(d:Diplome)
+                WITH u, r, d, coalesce(r.updatedAt, 0) AS ts, id(r) AS rid
+                WHERE ts > $afterTs OR (ts = $afterTs AND rid > $afterId)
+                RETURN 'QUALIFIE_FOR' AS type, u.email AS email, d.name AS diplome, ts, rid,
+                       r.matchPercentage AS matchPercentage, null AS liked, null AS rating
+                UNION ALL
+                MATCH (u:User)-[r:HAS_FEEDBACK]->(d:Diplome)
+                WITH u, r, d, coalesce(r.updatedAt, 0) AS ts, id(r) AS rid
+                WHERE ts > $afterTs OR (ts = $afterTs AND rid > $afterId)
+                RETURN 'HAS_FEEDBACK' AS type, u.email AS email, d.name AS diplome, ts, rid,
+                       r.matchPercentage AS matchPercentage, r.like AS liked, r.rating AS rating
+            }
+            RETURN type, email, diplome, ts, rid, matchPercentage, liked, rating
+            ORDER BY ts, rid
+            LIMIT $batchSize
+            """;
+
+    // Same page once past ts 0: the range predicate on updatedAt itself lets the planner seek
+    // the updatedAt indexes ServiceSchema creates instead of scanning every edge
+    private static final String INTERACTIONS_SINCE_QUERY = """
+            CALL {
+                MATCH (u:User)-[r:QUALIFIE_FOR]->(d:Diplome)
+                WHERE r.updatedAt >= $afterTs
+                WITH u, r, d, r.updatedAt AS ts, id(r) AS rid
+                WHERE ts > $afterTs OR rid > $afterId
+                RETURN 'QUALIFIE_FOR' AS type, u.email AS email, d.name AS diplome, ts, rid,
+                       r.matchPercentage AS matchPercentage, null AS liked, null AS rating
+                UNION ALL
+                MATCH (u:User)-[r:HAS_FEEDBACK]->(d:Diplome)
+                WHERE r.updatedAt >= $afterTs
+                WITH u, r, d, r.updatedAt AS ts, id(r) AS rid
+                WHERE ts > $afterTs OR rid > $afterId
+                RETURN 'HAS_FEEDBACK' AS type, u.email AS email, d.name AS diplome, ts, rid,
+                       r.matchPercentage AS matchPercentage, r.like AS liked, r.rating AS rating
+            }
+            RETURN type, email, diplome, ts, rid, matchPercentage, liked, rating
+            ORDER BY ts, rid
+            LIMIT $batchSize
+            """;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${feedback.export.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${feedback.export.overlap-ms:300000}")
+    private long overlapMs;
+
+    /**
+     * Writes every interaction updated since the given watermark, less the overlap window (or
+     * after the given cursor), one JSON object per line, followed by a trailing END record
+     * carrying the next watermark and, when {@code limit} cut the export short, the cursor to
+     * resume from.
+     *
+     * @param since  watermark of a previous END record, -1 for a full export
+     * @param cursor "ts:id" cursor from a previous END record, takes precedence over since
+     * @param limit  maximum number of interactions to write, 0 for no limit
+     */
+    public void exportInteractions(long since, String cursor, long limit, OutputStream out) throws IOException {
+        long[] position = startPosition(since, cursor);
+        long afterTs = position[0];
+        long afterId = position[1];
+        logger.info("Exporting interactions after ts={} id={} (limit={})", afterTs, afterId, limit);
+
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        long written = 0;
+        // Never behind the watermark the consumer already has, however far back the overlap reads
+        long watermark = Math.max(Math.max(since, afterTs), 0);
+        boolean hasMore = false;
+
+        while (true) {
+            int pageSize = limit > 0 ? (int) Math.min(batchSize, limit - written) : batchSize;
+            String query = afterTs > 0 ? INTERACTIONS_SINCE_QUERY : INTERACTIONS_QUERY;
+            Collection<Map<String, Object>> page = neo4jClient.query(query)
+                    .bind(afterTs).to("afterTs")
+                    .bind(afterId).to("afterId")
+                    .bind(pageSize).to("batchSize")
+                    .fetch()
+                    .all();
+
+            for (Map<String, Object> row : page) {
+                writeLine(writer, toRecord(row));
+                afterTs = ((Number) row.get("ts")).longValue();
+                afterId = ((Number) row.get("rid")).longValue();
+                watermark = Math.max(watermark, afterTs);
+                written++;
+            }
+            writer.flush();
+
+            if (page.size() < pageSize) {
+                break;
+            }
+            if (limit > 0 && written >= limit) {
+                hasMore = true;
+                break;
+            }
+        }
+
+        Map<String, Object> end = new LinkedHashMap<>();
+        end.put("type", "END");
+        end.put("count", written);
+        end.put("watermark", watermark);
+        end.put("cursor", hasMore ? afterTs + ":" + afterId : null);
+        writeLine(writer, end);
+        writer.flush();
+        logger.info("Exported {} interactions, watermark={}, hasMore={}", written, watermark, hasMore);
+    }
+
+    private Map<String, Object> toRecord(Map<String, Object> row) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("type", row.get("type"));
+        record.put("email", row.get("email"));
+        record.put("diplome", row.get("diplome"));
+        record.put("match_percentage", row.get("matchPercentage"));
+        if ("HAS_FEEDBACK".equals(row.get("type"))) {
+            record.put("like", row.get("liked"));
+            record.put("rating", row.get("rating"));
+        }
+        record.put("updated_at", row.get("ts"));
+        return record;
+    }
+
+    private void writeLine(Writer writer, Map<String, Object> record) throws IOException {
+        writer.write(objectMapper.writeValueAsString(record));
+        writer.write('\n');
+    }
+
+    /**
+     * Resolves the keyset position to start from. Validated before the response is committed
+     * so a malformed cursor is reported as a 400 rather than a truncated stream.
+     */
+    public long[] startPosition(long since, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            if (since < 0) {
+                return new long[] { -1, Long.MAX_VALUE };
+            }
+            // Inclusive of the first overlapping timestamp
+            return new long[] { since - overlapMs, -1 };
+        }
+        int separator = cursor.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new long[] {
+                Long.parseLong(cursor.substring(0, separator)),
+                Long.parseLong(cursor.substring(separator + 1))
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.feedbackService.Service;
+
+import com.example.common.schema.SchemaDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migrations and extra lookups of feedback-service, applied and checked on startup by the shared
+ * {@link com.example.common.schema.SchemaBootstrap}.
+ */
+@Component
+public class ServiceSchema implements SchemaDefinition {
+
+    private static final List<List<String>> MIGRATIONS = List.of(
+            // 1: every node here has an assigned String id. The database is shared with
+            // diplomasRecommendation, which creates the same constraints under the same names
+            List.of(
+                    "CREATE CONSTRAINT user_email IF NOT EXISTS FOR (n:User) REQUIRE n.email IS UNIQUE",
+                    "CREATE CONSTRAINT diplome_name IF NOT EXISTS FOR (n:Diplome) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT career_career IF NOT EXISTS FOR (n:Career) REQUIRE n.career IS UNIQUE",
+                    "CREATE CONSTRAINT filiere_filiere IF NOT EXISTS FOR (n:Filiere) REQUIRE n.filiere IS UNIQUE",
+                    "CREATE CONSTRAINT mention_mention IF NOT EXISTS FOR (n:Mention) REQUIRE n.mention IS UNIQUE",
+                    "CREATE CONSTRAINT employment_opportunity_oppotunity IF NOT EXISTS FOR (n:EmploymentOpportunity) REQUIRE n.oppotunity IS UNIQUE",
+                    "CREATE CONSTRAINT matiere_diplome_matiere IF NOT EXISTS FOR (n:MatiereDiplome) REQUIRE n.matiere IS UNIQUE",
+                    "CREATE CONSTRAINT matiere_etudiant_matiere IF NOT EXISTS FOR (n:MatiereEtudiant) REQUIRE n.matiere IS UNIQUE"
+            ),
+            // 2: incremental interaction exports range over updatedAt (ExportService)
+            List.of(
+                    "CREATE INDEX qualifie_for_updated_at IF NOT EXISTS FOR ()-[r:QUALIFIE_FOR]-() ON (r.updatedAt)",
+                    "CREATE INDEX has_feedback_updated_at IF NOT EXISTS FOR ()-[r:HAS_FEEDBACK]-() ON (r.updatedAt)"
+            )
+    );
+
+    @Override
+    public String service() {
+        return "feedback-service";
+    }
+
+    @Override
+    public List<List<String>> migrations() {
+        return MIGRATIONS;
+    }
+}
@@ -34,26 +34,26 @@ public class UserService {
     private Neo4jTemplate neo4jTemplate;
 
     public void save(User user) {
-        logger.info("Saving user: {}", user);
+        logger.debug("Saving user: {}", user.getEmail());
         userRepository.save(user);
-        logger.info("User saved successfully in userdiplomas database");
+        logger.debug("User saved successfully in userdiplomas database");
     }
 
     public User findByEmail(String email) {
-        logger.info("Searching for user with email: {}", email);
+        logger.debug("Searching for user with email: {}", email);
         return userRepository.findByEmail(email)
             .orElseThrow(() -> new RuntimeException("No user found with email: " + email));
     }
 
     public List<User> getAllUsers() {
-        logger.info("Fetching all users");
+        logger.debug("Fetching all users");
         List<User> users = userRepository.findAll();
-        logger.info("Found {} users", users.size());
+        logger.debug("Found {} users", users.size());
         return users;
     }
 
     public void updateFeedBack(String email, String name, boolean like, List<String> notes, float rate) {
-        logger.info("Updating feedback for user: {} and diploma: {}", email, name);
+        logger.debug("Updating feedback for user: {} and diploma: {}", email, name);
         User user = findByEmail(email);
         Diplome diplome = diplomRepository.findByName(name);
         if (diplome == null) {
@@ -79,20 +79,22 @@ public class UserService {
             feedback.setNotes(notes);
             feedback.setRating(rate);
             feedback.setMatchPercentage(matchPercentage);
-            logger.info("Updated existing feedback for diploma: {}", name);
+            feedback.setUpdatedAt(System.currentTimeMillis());
+            logger.debug("Updated existing feedback for diploma: {}", name);
         } else {
             // Create new feedback
             Feedback feedback = new Feedback(like, notes, rate, matchPercentage, diplome);
+            feedback.setUpdatedAt(System.currentTimeMillis());
             user.getFeedbacks().add(feedback);
-            logger.info("Created new feedback for diploma: {}", name);
+            logger.debug("Created new feedback for diploma: {}", name);
         }
 
         userRepository.save(user);
-        logger.info("Feedback updated successfully");
+        logger.debug("Feedback updated successfully");
     }
 
     public List<Feedback> getFeedbacks(String email) {
-        logger.info("Getting feedbacks for user: {}", email);
+        logger.debug("Getting feedbacks for user: {}", email);
         User user = findByEmail(email);
         
         // Update match percentages in feedbacks from QUALIFIE_FOR relationships
@@ -110,7 +112,7 @@ public class UserService {
     }
 
     public Feedback getFeedbackForDiploma(String email, String diplomeName) {
-        logger.info("Getting feedback for user: {} and diploma: {}", email, diplomeName);
+        logger.debug("Getting feedback for user: {} and diploma: {}", email, diplomeName);
         User user = findByEmail(email);
         Feedback feedback = user.getFeedbacks().stream()
             .filter(f -> f.getDiplome().getName().equals(diplomeName))
@@ -129,7 +131,7 @@ public class UserService {
     }
 
     public void deleteFeedback(String email, String diplomeName) {
-        logger.info("Deleting feedback for user: {} and diploma: {}", email, diplomeName);
+        logger.debug("Deleting feedback for user: {} and diploma: {}", email, diplomeName);
         User user = findByEmail(email);
         
         // Find the feedback to delete
@@ -147,7 +149,7 @@ public class UserService {
             user.getFeedbacks().remove(feedback);
             userRepository.save(user);
             
-            logger.info("Successfully deleted HAS_FEEDBACK relationship and feedback for user: {} and diploma: {}", 
+            logger.debug("Successfully deleted HAS_FEEDBACK relationship and feedback for user: {} and diploma: {}", 
                        email, diplomeName);
         } else {
             logger.warn("No feedback found to delete for user: {} and diploma: {}", email, diplomeName);
@@ -155,7 +157,7 @@ public class UserService {
     }
 
     public List<Diplome> getLikedDiplomas(String email) {
-        logger.info("Getting liked diplomas for user: {}", email);
+        logger.debug("Getting liked diplomas for user: {}", email);
         User user = findByEmail(email);
         return user.getFeedbacks().stream()
             .filter(Feedback::isLike)
@@ -164,7 +166,7 @@ public class UserService {
     }
 
     public List<Diplome> getRatedDiplomas(String email) {
-        logger.info("Getting rated diplomas for user: {}", email);
+        logger.debug("Getting rated diplomas for user: {}", email);
         User user = findByEmail(email);
         return user.getFeedbacks().stream()
             .filter(feedback -> feedback.getRating() > 0)
@@ -3,7 +3,7 @@ package com.example.feedbackService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "schema.bootstrap.enabled=false")
 class FeedbackServiceApplicationTests {
 
 	@Test
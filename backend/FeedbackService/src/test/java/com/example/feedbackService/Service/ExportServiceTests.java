@@ -0,0 +1,173 @@
+package com.example.feedbackService.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "feedback.export.batch-size=2",
+        "feedback.export.overlap-ms=60000"})
+@Testcontainers(disabledWithoutDocker = true)
+class ExportServiceTests {
+
+    private static final TypeReference<Map<String, Object>> RECORD = new TypeReference<>() {};
+
+    @Container
+    @ServiceConnection
+    static Neo4jContainer<?> neo4j = new Neo4jContainer<>("neo4j:5");
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clearGraph() {
+        neo4jClient.query("MATCH (n) WHERE NOT n:SchemaVersion DETACH DELETE n").run();
+    }
+
+    @Test
+    void cursorPagesVisitEveryInteractionOnceInOrder() throws Exception {
+        qualifies("a@example.com", "Diplome A", null);
+        qualifies("a@example.com", "Diplome B", 1_000_000L);
+        qualifies("b@example.com", "Diplome A", 1_000_000L);
+        qualifies("b@example.com", "Diplome B", 1_000_500L);
+        feedback("a@example.com", "Diplome A", 1_000_000L);
+        feedback("c@example.com", "Diplome C", 1_002_000L);
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        Map<String, Object> end;
+        String cursor = null;
+        int pages = 0;
+        do {
+            List<Map<String, Object>> page = export(-1, cursor, 3);
+            end = page.remove(page.size() - 1);
+            records.addAll(page);
+            cursor = (String) end.get("cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(6, records.size());
+        assertEquals(6, records.stream().map(this::key).distinct().count());
+        assertTrue(pages >= 2);
+        List<Long> timestamps = records.stream().map(this::updatedAt).toList();
+        assertEquals(timestamps.stream().sorted().toList(), timestamps);
+        assertEquals(0L, timestamps.get(0));
+        assertEquals(1_002_000L, ((Number) end.get("watermark")).longValue());
+    }
+
+    @Test
+    void incrementalExportRereadsTheOverlapSoLateCommitsAreNotLost() throws Exception {
+        qualifies("a@example.com", "Diplome A", 1_000_000L);
+        qualifies("a@example.com", "Diplome B", 2_000_000L);
+        long watermark = ((Number) end(export(-1, null, 0)).get("watermark")).longValue();
+        assertEquals(2_000_000L, watermark);
+
+        // Stamped before the watermark, committed after the export read past it
+        qualifies("b@example.com", "Diplome A", 1_990_000L);
+        // Older than the overlap: out of reach of an incremental export
+        qualifies("c@example.com", "Diplome A", 1_900_000L);
+
+        List<Map<String, Object>> records = export(watermark, null, 0);
+        Map<String, Object> end = end(records);
+        Set<String> keys = new HashSet<>();
+        records.stream().filter(record -> !"END".equals(record.get("type"))).forEach(record -> keys.add(key(record)));
+
+        assertEquals(Set.of("QUALIFIE_FOR b@example.com Diplome A", "QUALIFIE_FOR a@example.com Diplome B"), keys);
+        assertEquals(2_000_000L, ((Number) end.get("watermark")).longValue());
+    }
+
+    @Test
+    void incrementalExportWithNothingNewKeepsTheWatermark() throws Exception {
+        qualifies("a@example.com", "Diplome A", 1_000_000L);
+
+        List<Map<String, Object>> records = export(5_000_000L, null, 0);
+
+        assertEquals(1, records.size());
+        assertEquals(5_000_000L, ((Number) end(records).get("watermark")).longValue());
+    }
+
+    @Test
+    void updatedAtIsIndexedOnBothEdgeTypes() {
+        Collection<String> indexed = neo4jClient.query(
+                        "SHOW INDEXES YIELD labelsOrTypes, properties, state WHERE properties = ['updatedAt'] "
+                                + "AND state = 'ONLINE' RETURN labelsOrTypes[0]")
+                .fetchAs(String.class)
+                .all();
+        assertEquals(Set.of("QUALIFIE_FOR", "HAS_FEEDBACK"), new HashSet<>(indexed));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.startPosition(-1, "12"));
+        assertThrows(IllegalArgumentException.class, () -> exportService.startPosition(-1, "12:x"));
+        assertArrayEquals(new long[] { 12, 34 }, exportService.startPosition(-1, "12:34"));
+    }
+
+    private void qualifies(String email, String diplome, Long updatedAt) {
+        neo4jClient.query("""
+                        MERGE (u:User {email: $email})
+                        MERGE (d:Diplome {name: $diplome})
+                        CREATE (u)-[:QUALIFIE_FOR {matchPercentage: 50.0, updatedAt: $updatedAt}]->(d)
+                        """)
+                .bind(email).to("email")
+                .bind(diplome).to("diplome")
+                .bind(updatedAt).to("updatedAt")
+                .run();
+    }
+
+    private void feedback(String email, String diplome, long updatedAt) {
+        neo4jClient.query("""
+                        MERGE (u:User {email: $email})
+                        MERGE (d:Diplome {name: $diplome})
+                        CREATE (u)-[:HAS_FEEDBACK {like: true, rating: 4, updatedAt: $updatedAt}]->(d)
+                        """)
+                .bind(email).to("email")
+                .bind(diplome).to("diplome")
+                .bind(updatedAt).to("updatedAt")
+                .run();
+    }
+
+    private List<Map<String, Object>> export(long since, String cursor, long limit) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportInteractions(since, cursor, limit, out);
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            records.add(objectMapper.readValue(line, RECORD));
+        }
+        return records;
+    }
+
+    private Map<String, Object> end(List<Map<String, Object>> records) {
+        Map<String, Object> end = records.get(records.size() - 1);
+        assertEquals("END", end.get("type"));
+        return end;
+    }
+
+    private String key(Map<String, Object> record) {
+        return record.get("type") + " " + record.get("email") + " " + record.get("diplome");
+    }
+
+    private long updatedAt(Map<String, Object> record) {
+        return ((Number) record.get("updated_at")).longValue();
+    }
+}
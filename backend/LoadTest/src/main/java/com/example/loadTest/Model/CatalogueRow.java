@@ -0,0 +1,37 @@
+package com.example.loadTest.Model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** One data.csv diploma, used for the stub GNN's answers and to build signup profiles. */
+public record CatalogueRow(String name,
+                           String school,
+                           String city,
+                           List<String> careers,
+                           List<String> opportunities,
+                           List<String> previousDiplomas,
+                           List<String> filieres,
+                           Integer duration,
+                           String mention,
+                           List<String> subjects,
+                           List<String> studentSubjects) {
+
+    /** The row as GNNService's recommendation output serializer writes it. */
+    public Map<String, Object> toGnnOutput(double matchPercentage) {
+        Map<String, Object> output = new LinkedHashMap<>();
+        output.put("Nom_Diplôme", name);
+        output.put("Ecole", school);
+        output.put("Employement_Opportunities", opportunities);
+        output.put("Ville", city);
+        output.put("Matieres_Etudiant", studentSubjects);
+        output.put("Ancienne_Diplome", previousDiplomas);
+        output.put("Durée", duration);
+        output.put("Matieres_Diplome", subjects);
+        output.put("Career", careers);
+        output.put("Filiere", filieres);
+        output.put("Mention_Bac", mention != null ? mention : "");
+        output.put("match_percentage", matchPercentage);
+        return output;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.loadTest.Model;
+
+/** Measured figures for one endpoint over the measurement window; latencies in milliseconds. */
+public record EndpointStats(String endpoint,
+                            long requests,
+                            long errors,
+                            double throughputPerSecond,
+                            double meanMs,
+                            double p50Ms,
+                            double p95Ms,
+                            double p99Ms,
+                            double maxMs) {
+}
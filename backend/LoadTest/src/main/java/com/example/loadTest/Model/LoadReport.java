@@ -0,0 +1,21 @@
+package com.example.loadTest.Model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one run, written as {@code <label>.json} so a later run can be compared with it.
+ * Only runs with the same settings are comparable. {@code services} is empty for reports
+ * written before services were sampled.
+ */
+public record LoadReport(String label,
+                         String commit,
+                         Instant startedAt,
+                         double measuredSeconds,
+                         long journeys,
+                         long failedJourneys,
+                         Map<String, String> settings,
+                         List<EndpointStats> endpoints,
+                         List<ServiceStats> services) {
+}
@@ -0,0 +1,13 @@
+package com.example.loadTest.Model;
+
+/**
+ * Peaks scraped from one service's {@code /actuator/prometheus} over the measurement window.
+ * Live threads are platform threads only; virtual threads are not counted by the JVM metrics.
+ */
+public record ServiceStats(String service,
+                           int samples,
+                           double peakInFlight,
+                           double peakLiveThreads,
+                           double peakHeapMb,
+                           double peakNonHeapMb) {
+}
@@ -0,0 +1,116 @@
+package com.example.loadTest.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers the stub GNN in Eureka under the name GNNService uses ({@code gnn-service}), through
+ * Eureka's REST API, and keeps the lease alive, the way GNNService's py_eureka_client does.
+ * diplomasRecommendation resolves {@code http://gnn-service/...} through Eureka, so it calls
+ * the stub without any change on its side.
+ */
+public class EurekaRegistration {
+    private static final Logger logger = LoggerFactory.getLogger(EurekaRegistration.class);
+
+    private static final String APP = "GNN-SERVICE";
+    private static final int RENEWAL_SECONDS = 10;
+    private static final int LEASE_SECONDS = 30;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper;
+    private final String eurekaUrl;
+    private final int port;
+    private final String instanceId;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "eureka-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EurekaRegistration(ObjectMapper objectMapper, String eurekaUrl, int port) {
+        this.objectMapper = objectMapper;
+        this.eurekaUrl = eurekaUrl.endsWith("/") ? eurekaUrl.substring(0, eurekaUrl.length() - 1) : eurekaUrl;
+        this.port = port;
+        this.instanceId = "localhost:gnn-service-stub:" + port;
+    }
+
+    public void register() throws IOException, InterruptedException {
+        post();
+        heartbeat.scheduleAtFixedRate(this::renew, RENEWAL_SECONDS, RENEWAL_SECONDS, TimeUnit.SECONDS);
+        logger.info("Registered stub GNN in Eureka as {} ({})", APP, instanceId);
+    }
+
+    private void post() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(eurekaUrl + "/apps/" + APP))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of("instance", instance()))))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Eureka refused the stub GNN registration: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    public void deregister() {
+        heartbeat.shutdownNow();
+        try {
+            client.send(HttpRequest.newBuilder(URI.create(eurekaUrl + "/apps/" + APP + "/" + instanceId)).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            logger.info("Removed stub GNN from Eureka");
+        } catch (IOException e) {
+            logger.warn("Could not remove stub GNN from Eureka, its lease expires in {} s: {}", LEASE_SECONDS, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void renew() {
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(eurekaUrl + "/apps/" + APP + "/" + instanceId))
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() == 404) {
+                // Eureka dropped the lease (e.g. it restarted), so register again
+                post();
+            }
+        } catch (IOException e) {
+            logger.warn("Stub GNN heartbeat failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<String, Object> instance() {
+        Map<String, Object> instance = new LinkedHashMap<>();
+        instance.put("instanceId", instanceId);
+        instance.put("hostName", "localhost");
+        instance.put("app", APP);
+        instance.put("ipAddr", "127.0.0.1");
+        instance.put("vipAddress", "gnn-service");
+        instance.put("secureVipAddress", "gnn-service");
+        instance.put("status", "UP");
+        instance.put("port", Map.of("$", port, "@enabled", "true"));
+        instance.put("securePort", Map.of("$", 443, "@enabled", "false"));
+        instance.put("healthCheckUrl", "http://localhost:" + port + "/health/");
+        instance.put("homePageUrl", "http://localhost:" + port + "/");
+        instance.put("dataCenterInfo", Map.of(
+                "@class", "com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo",
+                "name", "MyOwn"));
+        instance.put("leaseInfo", Map.of("renewalIntervalInSecs", RENEWAL_SECONDS, "durationInSecs", LEASE_SECONDS));
+        return instance;
+    }
+}
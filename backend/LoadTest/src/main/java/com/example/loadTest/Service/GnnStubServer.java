@@ -0,0 +1,140 @@
+package com.example.loadTest.Service;
+
+import com.example.loadTest.Model.CatalogueRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stands in for GNNService so a load test measures the Java services, not the model. It serves
+ * the same contract on the same paths: {@code POST /api/recommend/} returns the best
+ * {@code results} data.csv diplomas for the profile (restricted to {@code Candidates} when
+ * sent), after a fixed {@code latencyMs} that models inference time; {@code /api/retrain/}
+ * and {@code /health/} answer at once. Scores count the careers and subjects a diploma shares
+ * with the profile, so the same profile always gets the same answer.
+ */
+public class GnnStubServer {
+    private static final Logger logger = LoggerFactory.getLogger(GnnStubServer.class);
+
+    private final List<CatalogueRow> catalogue;
+    private final Map<String, CatalogueRow> byName = new HashMap<>();
+    private final Map<String, List<CatalogueRow>> byFiliere = new HashMap<>();
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final int results;
+    private final long latencyMs;
+    private final ExecutorService executor;
+    private HttpServer server;
+
+    public GnnStubServer(List<CatalogueRow> catalogue, ObjectMapper objectMapper, int port, int results,
+                         long latencyMs, int threads) {
+        this.catalogue = catalogue;
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.results = results;
+        this.latencyMs = latencyMs;
+        // 0: a virtual thread per request, so the stub never queues requests at high concurrency
+        this.executor = threads > 0 ? Executors.newFixedThreadPool(threads) : Executors.newVirtualThreadPerTaskExecutor();
+        for (CatalogueRow row : catalogue) {
+            byName.putIfAbsent(row.name(), row);
+            for (String filiere : row.filieres()) {
+                byFiliere.computeIfAbsent(filiere, f -> new ArrayList<>()).add(row);
+            }
+        }
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/recommend/", this::recommend);
+        server.createContext("/api/retrain/", exchange -> respond(exchange, 200,
+                Map.of("message", "Model retrained and saved successfully")));
+        server.createContext("/health/", exchange -> respond(exchange, 200, Map.of("status", "UP")));
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Stub GNN service listening on port {} ({} diplomas, {} ms per recommendation)",
+                port, byName.size(), latencyMs);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    private void recommend(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, Map.of("detail", "Method not allowed"));
+            return;
+        }
+        Map<?, ?> profile;
+        try (InputStream body = exchange.getRequestBody()) {
+            profile = objectMapper.readValue(body, Map.class);
+        } catch (IOException e) {
+            respond(exchange, 400, Map.of("error", "Invalid JSON"));
+            return;
+        }
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        respond(exchange, 200, rank(profile));
+    }
+
+    List<Map<String, Object>> rank(Map<?, ?> profile) {
+        Set<String> wanted = new HashSet<>(strings(profile.get("Career")));
+        wanted.addAll(strings(profile.get("Matieres_Etudiant")));
+
+        Collection<CatalogueRow> pool;
+        if (profile.get("Candidates") != null) {
+            pool = strings(profile.get("Candidates")).stream().map(byName::get).filter(Objects::nonNull).toList();
+        } else {
+            pool = byFiliere.getOrDefault(String.valueOf(profile.get("Filiere")), catalogue);
+        }
+
+        List<Map.Entry<CatalogueRow, Double>> scored = new ArrayList<>(pool.size());
+        for (CatalogueRow row : pool) {
+            long shared = row.careers().stream().filter(wanted::contains).count()
+                    + row.studentSubjects().stream().filter(wanted::contains).count();
+            double score = wanted.isEmpty() ? 50 : 50 + 50.0 * Math.min(shared, wanted.size()) / wanted.size();
+            scored.add(Map.entry(row, Math.round(score * 100) / 100.0));
+        }
+        scored.sort(Map.Entry.<CatalogueRow, Double>comparingByValue().reversed()
+                .thenComparing(entry -> entry.getKey().name()));
+
+        List<Map<String, Object>> output = new ArrayList<>(Math.min(results, scored.size()));
+        for (Map.Entry<CatalogueRow, Double> entry : scored.subList(0, Math.min(results, scored.size()))) {
+            output.add(entry.getKey().toGnnOutput(entry.getValue()));
+        }
+        return output;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static List<String> strings(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().filter(Objects::nonNull).map(Object::toString).toList();
+        }
+        return value == null ? List.of() : List.of(value.toString());
+    }
+}
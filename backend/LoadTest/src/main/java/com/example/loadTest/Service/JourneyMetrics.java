@@ -0,0 +1,113 @@
+package com.example.loadTest.Service;
+
+import com.example.loadTest.Model.EndpointStats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint latencies and error counts. Nothing is kept until {@link #startMeasuring()}, so
+ * the warm-up (JIT, connection pools, caches) does not skew the figures.
+ */
+public class JourneyMetrics {
+
+    public static final String SIGNUP = "signup";
+    public static final String LOGIN = "login";
+    public static final String ME = "me";
+    public static final String RECOMMEND = "recommend-diplomas";
+    public static final String UPDATE_FEEDBACK = "update-feedback";
+    public static final String GET_FEEDBACK = "get-feedback";
+
+    // Journey order, which is also the report order
+    private static final List<String> ENDPOINTS = List.of(SIGNUP, LOGIN, ME, RECOMMEND, UPDATE_FEEDBACK, GET_FEEDBACK);
+
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+    private final AtomicLong journeys = new AtomicLong();
+    private final AtomicLong failedJourneys = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile long measuringSince;
+    private volatile long measuringUntil;
+
+    public JourneyMetrics() {
+        for (String endpoint : ENDPOINTS) {
+            latencies.put(endpoint, new LatencyHistogram());
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    public void startMeasuring() {
+        measuringSince = System.nanoTime();
+        measuring = true;
+    }
+
+    public void stopMeasuring() {
+        measuringUntil = System.nanoTime();
+        measuring = false;
+    }
+
+    public void success(String endpoint, long startNanos) {
+        if (measuring) {
+            latencies.get(endpoint).record((System.nanoTime() - startNanos) / 1000);
+        }
+    }
+
+    public void error(String endpoint) {
+        if (measuring) {
+            errors.get(endpoint).incrementAndGet();
+        }
+    }
+
+    public void journeyDone(boolean succeeded) {
+        if (measuring) {
+            journeys.incrementAndGet();
+            if (!succeeded) {
+                failedJourneys.incrementAndGet();
+            }
+        }
+    }
+
+    public double measuredSeconds() {
+        long until = measuring ? System.nanoTime() : measuringUntil;
+        return Math.max(0, until - measuringSince) / 1e9;
+    }
+
+    public long journeys() {
+        return journeys.get();
+    }
+
+    public long failedJourneys() {
+        return failedJourneys.get();
+    }
+
+    public List<EndpointStats> snapshot() {
+        double seconds = Math.max(measuredSeconds(), 1e-9);
+        List<EndpointStats> stats = new ArrayList<>(ENDPOINTS.size());
+        for (String endpoint : ENDPOINTS) {
+            LatencyHistogram histogram = latencies.get(endpoint);
+            long failed = errors.get(endpoint).get();
+            stats.add(new EndpointStats(
+                    endpoint,
+                    histogram.count() + failed,
+                    failed,
+                    round(histogram.count() / seconds),
+                    millis(histogram.meanMicros()),
+                    millis(histogram.percentileMicros(50)),
+                    millis(histogram.percentileMicros(95)),
+                    millis(histogram.percentileMicros(99)),
+                    millis(histogram.maxMicros())));
+        }
+        return stats;
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
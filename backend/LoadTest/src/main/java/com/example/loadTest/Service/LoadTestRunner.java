@@ -0,0 +1,271 @@
+package com.example.loadTest.Service;
+
+import com.example.loadTest.Model.CatalogueRow;
+import com.example.loadTest.Model.LoadReport;
+import com.example.loadTest.Model.ServiceStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code loadtest.concurrency} virtual users, each repeating the {@link StudentJourney}
+ * with a fresh student for {@code loadtest.warmup-seconds} plus
+ * {@code loadtest.duration-seconds}; only the second period is measured. Closed model: a user
+ * starts its next journey when the previous one ends, after {@code loadtest.think-time-ms}.
+ * Each user is a virtual thread, so thousands of concurrent users cost the harness little;
+ * the services it drives are sampled with {@link ServiceSampler} meanwhile.
+ *
+ * The report is written to {@code loadtest.report-dir} under {@code loadtest.label} (the short
+ * commit hash by default) and compared with {@code loadtest.baseline} when set. With
+ * {@code loadtest.compare=a.json,b.json} nothing is run; the two reports are compared.
+ */
+@Component
+public class LoadTestRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${loadtest.user-service-url}")
+    private String userServiceUrl;
+
+    @Value("${loadtest.recommendation-url}")
+    private String recommendationUrl;
+
+    @Value("${loadtest.feedback-url}")
+    private String feedbackUrl;
+
+    @Value("${loadtest.csv}")
+    private String csv;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${loadtest.think-time-ms}")
+    private long thinkTimeMs;
+
+    @Value("${loadtest.request-timeout-ms}")
+    private long requestTimeoutMs;
+
+    @Value("${loadtest.recommend-limit}")
+    private int recommendLimit;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Value("${loadtest.sample-interval-ms}")
+    private long sampleIntervalMs;
+
+    @Value("${loadtest.password}")
+    private String password;
+
+    @Value("${loadtest.report-dir}")
+    private String reportDir;
+
+    @Value("${loadtest.label:}")
+    private String label;
+
+    @Value("${loadtest.baseline:}")
+    private String baseline;
+
+    @Value("${loadtest.compare:}")
+    private List<String> compare;
+
+    @Value("${loadtest.gnn-stub.enabled}")
+    private boolean stubEnabled;
+
+    @Value("${loadtest.gnn-stub.port}")
+    private int stubPort;
+
+    @Value("${loadtest.gnn-stub.results}")
+    private int stubResults;
+
+    @Value("${loadtest.gnn-stub.latency-ms}")
+    private long stubLatencyMs;
+
+    @Value("${loadtest.gnn-stub.threads}")
+    private int stubThreads;
+
+    @Value("${loadtest.gnn-stub.eureka-url:}")
+    private String eurekaUrl;
+
+    @Value("${loadtest.gnn-stub.discovery-wait-seconds}")
+    private int discoveryWaitSeconds;
+
+    public LoadTestRunner(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ReportWriter reports = new ReportWriter(objectMapper);
+        if (!compare.isEmpty()) {
+            if (compare.size() != 2) {
+                throw new IllegalArgumentException("loadtest.compare takes two report files");
+            }
+            logger.info("\n{}", reports.compare(reports.read(Path.of(compare.get(0))), reports.read(Path.of(compare.get(1)))));
+            return;
+        }
+
+        List<CatalogueRow> catalogue = new CsvCatalogueReader().read(Path.of(csv));
+        GnnStubServer stub = null;
+        EurekaRegistration registration = null;
+        try {
+            if (stubEnabled) {
+                stub = new GnnStubServer(catalogue, objectMapper, stubPort, stubResults, stubLatencyMs, stubThreads);
+                stub.start();
+                if (!eurekaUrl.isBlank()) {
+                    registration = new EurekaRegistration(objectMapper, eurekaUrl, stubPort);
+                    registration.register();
+                    // diplomasRecommendation only sees the stub once its registry cache refreshes
+                    logger.info("Waiting {} s for the services to discover the stub GNN", discoveryWaitSeconds);
+                    TimeUnit.SECONDS.sleep(discoveryWaitSeconds);
+                }
+            }
+            LoadReport report = load(catalogue);
+            Path written = reports.write(report, Path.of(reportDir));
+            logger.info("Report written to {}\n{}", written, reports.table(report));
+            if (!baseline.isBlank()) {
+                logger.info("\n{}", reports.compare(reports.read(Path.of(baseline)), report));
+            }
+        } finally {
+            if (registration != null) {
+                registration.deregister();
+            }
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+    }
+
+    private LoadReport load(List<CatalogueRow> catalogue) throws InterruptedException {
+        String commit = commit();
+        String runLabel = !label.isBlank() ? label
+                : (commit != null ? commit : "run") + "-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+                        .withZone(ZoneOffset.UTC).format(Instant.now());
+        // Unique per run, so reruns never sign up an existing email
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        JourneyMetrics metrics = new JourneyMetrics();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(requestTimeoutMs))
+                .build();
+        StudentJourney journey = new StudentJourney(client, objectMapper, metrics, catalogue, userServiceUrl,
+                recommendationUrl, feedbackUrl, password, recommendLimit, Duration.ofMillis(requestTimeoutMs));
+
+        Instant startedAt = Instant.now();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        logger.info("Starting {} virtual users: {} s warm-up, {} s measured ({})", concurrency, warmupSeconds,
+                durationSeconds, runLabel);
+
+        ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+        for (int user = 0; user < concurrency; user++) {
+            int userIndex = user;
+            users.execute(() -> {
+                Random random = new Random(seed * 31 + userIndex);
+                for (int iteration = 0; System.nanoTime() < deadline && !Thread.currentThread().isInterrupted(); iteration++) {
+                    String email = "lt-" + runId + "-" + userIndex + "-" + iteration + "@load.test";
+                    metrics.journeyDone(journey.run(email, random));
+                    if (thinkTimeMs > 0) {
+                        try {
+                            Thread.sleep(thinkTimeMs);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            });
+        }
+        users.shutdown();
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        metrics.startMeasuring();
+        Map<String, String> sampled = new LinkedHashMap<>();
+        sampled.put("user-service", userServiceUrl);
+        sampled.put("userdiplomas", recommendationUrl);
+        sampled.put("feedback-service", feedbackUrl);
+        ServiceSampler sampler = new ServiceSampler(client, sampled, sampleIntervalMs);
+        sampler.start();
+        long nextProgress = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(TimeUnit.SECONDS.toNanos(10), Math.max(0, deadline - System.nanoTime())));
+            if (System.nanoTime() >= nextProgress) {
+                logger.info("{} journeys ({} failed) after {} s", metrics.journeys(), metrics.failedJourneys(),
+                        (long) metrics.measuredSeconds());
+                nextProgress += TimeUnit.SECONDS.toNanos(10);
+            }
+        }
+        // Journeys still running at the deadline would only add a tail with fewer users
+        metrics.stopMeasuring();
+        List<ServiceStats> services = sampler.stop();
+        if (!users.awaitTermination(requestTimeoutMs * 6 + 1000, TimeUnit.MILLISECONDS)) {
+            users.shutdownNow();
+        }
+
+        Map<String, String> settings = new TreeMap<>();
+        settings.put("concurrency", Integer.toString(concurrency));
+        settings.put("durationSeconds", Integer.toString(durationSeconds));
+        settings.put("warmupSeconds", Integer.toString(warmupSeconds));
+        settings.put("thinkTimeMs", Long.toString(thinkTimeMs));
+        settings.put("recommendLimit", Integer.toString(recommendLimit));
+        settings.put("gnnStub", stubEnabled ? stubResults + " results, " + stubLatencyMs + " ms" : "off");
+        settings.put("catalogueRows", Integer.toString(catalogue.size()));
+        return new LoadReport(runLabel, commit, startedAt, Math.round(metrics.measuredSeconds() * 10) / 10.0,
+                metrics.journeys(), metrics.failedJourneys(), settings, metrics.snapshot(), services);
+    }
+
+    // Short hash of the checked-out commit, suffixed when the tree has local changes
+    private static String commit() {
+        String hash = git("rev-parse", "--short", "HEAD");
+        if (hash == null) {
+            return null;
+        }
+        String changes = git("status", "--porcelain", "--untracked-files=no");
+        return changes != null && !changes.isEmpty() ? hash + "-dirty" : hash;
+    }
+
+    private static String git(String... args) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = reader.lines().reduce("", (a, b) -> a + b).trim();
+            }
+            return process.waitFor() == 0 ? output : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
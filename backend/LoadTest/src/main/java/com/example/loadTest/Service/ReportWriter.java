@@ -0,0 +1,127 @@
+package com.example.loadTest.Service;
+
+import com.example.loadTest.Model.EndpointStats;
+import com.example.loadTest.Model.LoadReport;
+import com.example.loadTest.Model.ServiceStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Writes a run as {@code <label>.json} (read back for comparisons) and {@code <label>.csv}
+ * (for spreadsheets), and renders runs and comparisons as text tables.
+ */
+public class ReportWriter {
+
+    private static final String CSV_HEADER = "endpoint,requests,errors,throughput_per_s,mean_ms,p50_ms,p95_ms,p99_ms,max_ms";
+
+    private final ObjectMapper objectMapper;
+
+    public ReportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Path write(LoadReport report, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path json = directory.resolve(report.label() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), report);
+
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (EndpointStats stats : report.endpoints()) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                    stats.endpoint(), stats.requests(), stats.errors(), stats.throughputPerSecond(),
+                    stats.meanMs(), stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs()));
+        }
+        Files.writeString(directory.resolve(report.label() + ".csv"), csv, StandardCharsets.UTF_8);
+        return json;
+    }
+
+    public LoadReport read(Path json) throws IOException {
+        return objectMapper.readValue(json.toFile(), LoadReport.class);
+    }
+
+    public String table(LoadReport report) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%s: %d journeys (%d failed) in %.0f s%n", report.label(), report.journeys(),
+                report.failedJourneys(), report.measuredSeconds()));
+        table.append(String.format(Locale.ROOT, "%-20s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats stats : report.endpoints()) {
+            table.append(String.format(Locale.ROOT, "%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.endpoint(), stats.requests(), stats.errors(), stats.throughputPerSecond(),
+                    stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs()));
+        }
+        if (!services(report).isEmpty()) {
+            table.append(String.format(Locale.ROOT, "%-20s %9s %9s %9s %9s %9s%n",
+                    "service", "samples", "in-flight", "threads", "heap MB", "non-heap"));
+            for (ServiceStats stats : services(report)) {
+                table.append(String.format(Locale.ROOT, "%-20s %9d %9.0f %9.0f %9.1f %9.1f%n",
+                        stats.service(), stats.samples(), stats.peakInFlight(), stats.peakLiveThreads(),
+                        stats.peakHeapMb(), stats.peakNonHeapMb()));
+            }
+        }
+        return table.toString();
+    }
+
+    /** Side by side figures with the relative change; negative latency changes are improvements. */
+    public String compare(LoadReport baseline, LoadReport current) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%s -> %s%n", baseline.label(), current.label()));
+        if (!Objects.equals(baseline.settings(), current.settings())) {
+            table.append("Warning: the runs used different settings, so the figures are not comparable\n");
+        }
+        table.append(String.format(Locale.ROOT, "%-20s %-28s %-28s %-28s %-28s%n",
+                "endpoint", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        Map<String, EndpointStats> before = baseline.endpoints().stream()
+                .collect(Collectors.toMap(EndpointStats::endpoint, Function.identity()));
+        for (EndpointStats after : current.endpoints()) {
+            EndpointStats previous = before.get(after.endpoint());
+            if (previous == null) {
+                continue;
+            }
+            table.append(String.format(Locale.ROOT, "%-20s %-28s %-28s %-28s %-28s%n", after.endpoint(),
+                    change(previous, after, EndpointStats::throughputPerSecond),
+                    change(previous, after, EndpointStats::p50Ms),
+                    change(previous, after, EndpointStats::p95Ms),
+                    change(previous, after, EndpointStats::p99Ms)));
+        }
+        Map<String, ServiceStats> servicesBefore = services(baseline).stream()
+                .collect(Collectors.toMap(ServiceStats::service, Function.identity()));
+        if (!servicesBefore.isEmpty() && !services(current).isEmpty()) {
+            table.append(String.format(Locale.ROOT, "%-20s %-28s %-28s %-28s %-28s%n",
+                    "service (peak)", "in-flight", "threads", "heap MB", "non-heap MB"));
+            for (ServiceStats after : services(current)) {
+                ServiceStats previous = servicesBefore.get(after.service());
+                if (previous == null) {
+                    continue;
+                }
+                table.append(String.format(Locale.ROOT, "%-20s %-28s %-28s %-28s %-28s%n", after.service(),
+                        change(previous, after, ServiceStats::peakInFlight),
+                        change(previous, after, ServiceStats::peakLiveThreads),
+                        change(previous, after, ServiceStats::peakHeapMb),
+                        change(previous, after, ServiceStats::peakNonHeapMb)));
+            }
+        }
+        return table.toString();
+    }
+
+    private static List<ServiceStats> services(LoadReport report) {
+        return report.services() != null ? report.services() : List.of();
+    }
+
+    private static <T> String change(T before, T after, ToDoubleFunction<T> figure) {
+        double from = figure.applyAsDouble(before);
+        double to = figure.applyAsDouble(after);
+        String percent = from == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (to - from) / from * 100);
+        return String.format(Locale.ROOT, "%.2f -> %.2f (%s)", from, to, percent);
+    }
+}
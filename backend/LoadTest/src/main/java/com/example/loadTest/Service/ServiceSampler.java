@@ -0,0 +1,135 @@
+package com.example.loadTest.Service;
+
+import com.example.loadTest.Model.ServiceStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scrapes the services' Prometheus endpoints every {@code intervalMs} while the run is
+ * measured and keeps the peaks: requests in flight ({@code http.server.requests.active}),
+ * live platform threads and heap / non-heap use. This is what separates a platform-thread run
+ * from a virtual-thread run at the same load: how many requests each service holds at once
+ * and what that costs in threads and memory.
+ */
+public class ServiceSampler {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceSampler.class);
+
+    private static final double MB = 1024 * 1024;
+
+    private final HttpClient client;
+    private final Map<String, Peaks> services = new LinkedHashMap<>();
+    private final long intervalMs;
+    private final ScheduledExecutorService scraper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "service-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** @param baseUrls service name to base URL, e.g. {@code userdiplomas -> http://localhost:8082} */
+    public ServiceSampler(HttpClient client, Map<String, String> baseUrls, long intervalMs) {
+        this.client = client;
+        this.intervalMs = intervalMs;
+        baseUrls.forEach((service, url) -> services.put(service, new Peaks(URI.create(url + "/actuator/prometheus"))));
+    }
+
+    public void start() {
+        scraper.scheduleWithFixedDelay(this::scrapeAll, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public List<ServiceStats> stop() {
+        scraper.shutdownNow();
+        try {
+            scraper.awaitTermination(intervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<ServiceStats> stats = new ArrayList<>();
+        services.forEach((service, peaks) -> stats.add(new ServiceStats(service, peaks.samples, peaks.inFlight,
+                peaks.liveThreads, Math.round(peaks.heap / MB * 10) / 10.0, Math.round(peaks.nonHeap / MB * 10) / 10.0)));
+        return stats;
+    }
+
+    private void scrapeAll() {
+        services.forEach((service, peaks) -> {
+            try {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(peaks.uri)
+                        .timeout(Duration.ofMillis(Math.max(1000, intervalMs))).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    peaks.record(response.body());
+                } else if (peaks.samples == 0) {
+                    logger.warn("{} answered {} for {}", service, response.statusCode(), peaks.uri);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.debug("Could not scrape {}: {}", service, e.getMessage());
+            }
+        });
+    }
+
+    private static final class Peaks {
+        private final URI uri;
+        private int samples;
+        private double inFlight;
+        private double liveThreads;
+        private double heap;
+        private double nonHeap;
+
+        private Peaks(URI uri) {
+            this.uri = uri;
+        }
+
+        // Prometheus text format: name{labels} value
+        private void record(String exposition) {
+            double sampleInFlight = 0;
+            double sampleThreads = 0;
+            double sampleHeap = 0;
+            double sampleNonHeap = 0;
+            for (String line : exposition.split("\n")) {
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                int space = line.lastIndexOf(' ');
+                if (space < 0) {
+                    continue;
+                }
+                double value;
+                try {
+                    value = Double.parseDouble(line.substring(space + 1));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (line.startsWith("http_server_requests_active_seconds_active_count")) {
+                    sampleInFlight += value;
+                } else if (line.startsWith("jvm_threads_live_threads")) {
+                    sampleThreads = value;
+                } else if (line.startsWith("jvm_memory_used_bytes")) {
+                    if (line.contains("area=\"heap\"")) {
+                        sampleHeap += value;
+                    } else if (line.contains("area=\"nonheap\"")) {
+                        sampleNonHeap += value;
+                    }
+                }
+            }
+            samples++;
+            inFlight = Math.max(inFlight, sampleInFlight);
+            liveThreads = Math.max(liveThreads, sampleThreads);
+            heap = Math.max(heap, sampleHeap);
+            nonHeap = Math.max(nonHeap, sampleNonHeap);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.loadTest.Service;
+
+import com.example.loadTest.Model.CatalogueRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * One pass of the student journey as the frontend makes it: signup and login on user-service,
+ * {@code /api/auth/me}, {@code /api/recommend-diplomas} on diplomasRecommendation, then
+ * {@code /api/update-feedback} on the first recommended diploma and {@code /api/get-feedback}
+ * on FeedbackService, all after login with the student's token as the frontend sends them, so
+ * each virtual user has its own rate-limit bucket. A failed step ends the journey, since the
+ * later ones depend on it.
+ * Thread-safe; each virtual user passes its own {@link Random}.
+ */
+public class StudentJourney {
+    private static final Logger logger = LoggerFactory.getLogger(StudentJourney.class);
+
+    private static final String YEAR = "2ème Bac";
+    private static final String DEFAULT_MENTION = "Mention Bien";
+    private static final String DIPLOMA_NAME = "Nom_Diplôme";
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final JourneyMetrics metrics;
+    private final List<CatalogueRow> catalogue;
+    private final String userServiceUrl;
+    private final String recommendationUrl;
+    private final String feedbackUrl;
+    private final String password;
+    private final int recommendLimit;
+    private final Duration timeout;
+
+    public StudentJourney(HttpClient client, ObjectMapper objectMapper, JourneyMetrics metrics,
+                          List<CatalogueRow> catalogue, String userServiceUrl, String recommendationUrl,
+                          String feedbackUrl, String password, int recommendLimit, Duration timeout) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.catalogue = catalogue;
+        this.userServiceUrl = userServiceUrl;
+        this.recommendationUrl = recommendationUrl;
+        this.feedbackUrl = feedbackUrl;
+        this.password = password;
+        this.recommendLimit = recommendLimit;
+        this.timeout = timeout;
+    }
+
+    /** Runs the journey for a new student; true if every step succeeded. */
+    public boolean run(String email, Random random) {
+        try {
+            if (post(JourneyMetrics.SIGNUP, userServiceUrl + "/api/auth/signup", signup(email, random), null) == null) {
+                return false;
+            }
+            JsonNode login = post(JourneyMetrics.LOGIN, userServiceUrl + "/api/auth/login",
+                    Map.of("email", email, "password", password), null);
+            if (login == null || !login.hasNonNull("token")) {
+                return false;
+            }
+            String authorization = "Bearer " + login.get("token").asText();
+            if (get(JourneyMetrics.ME, userServiceUrl + "/api/auth/me", authorization) == null) {
+                return false;
+            }
+            JsonNode recommended = get(JourneyMetrics.RECOMMEND,
+                    recommendationUrl + "/api/recommend-diplomas?limit=" + recommendLimit, authorization);
+            if (recommended == null) {
+                return false;
+            }
+            // An empty recommendation comes back as a plain message, leaving nothing to rate
+            if (recommended.isArray() && !recommended.isEmpty() && recommended.get(0).hasNonNull(DIPLOMA_NAME)) {
+                Map<String, Object> feedback = new LinkedHashMap<>();
+                feedback.put("email", email);
+                feedback.put("diplomeName", recommended.get(0).get(DIPLOMA_NAME).asText());
+                feedback.put("notes", List.of("load test"));
+                feedback.put("rating", 1 + random.nextInt(5));
+                feedback.put("like", random.nextBoolean());
+                if (post(JourneyMetrics.UPDATE_FEEDBACK, feedbackUrl + "/api/update-feedback", feedback, authorization) == null) {
+                    return false;
+                }
+            }
+            return post(JourneyMetrics.GET_FEEDBACK, feedbackUrl + "/api/get-feedback", Map.of("email", email),
+                    authorization) != null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Shaped like the frontend's signup form, with values taken from one catalogue row so the
+    // student is eligible for at least that diploma
+    private Map<String, Object> signup(String email, Random random) {
+        CatalogueRow row = catalogue.get(random.nextInt(catalogue.size()));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("email", email);
+        body.put("name", email.substring(0, email.indexOf('@')));
+        body.put("password", password);
+        body.put("year", YEAR);
+        body.put("filiere", row.filieres().isEmpty() ? "" : row.filieres().get(random.nextInt(row.filieres().size())));
+        body.put("duree", row.duration() != null ? row.duration() : 3);
+        body.put("montionBac", row.mention() != null ? row.mention() : DEFAULT_MENTION);
+        body.put("subjects", new LinkedHashSet<>(row.studentSubjects()));
+        body.put("careerAspirations", new LinkedHashSet<>(row.careers()));
+        return body;
+    }
+
+    private JsonNode get(String endpoint, String url, String authorization) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET();
+        return send(endpoint, request, authorization);
+    }
+
+    private JsonNode post(String endpoint, String url, Object body, String authorization) throws InterruptedException {
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialise " + endpoint + " request", e);
+        }
+        return send(endpoint, request, authorization);
+    }
+
+    // The parsed body (a text node if it is not JSON), or null after recording an error
+    private JsonNode send(String endpoint, HttpRequest.Builder request, String authorization) throws InterruptedException {
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            metrics.error(endpoint);
+            logger.debug("{} failed: {}", endpoint, e.toString());
+            return null;
+        }
+        if (response.statusCode() / 100 != 2) {
+            metrics.error(endpoint);
+            logger.debug("{} returned {}: {}", endpoint, response.statusCode(), response.body());
+            return null;
+        }
+        metrics.success(endpoint, start);
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return objectMapper.getNodeFactory().textNode(response.body());
+        }
+    }
+}
@@ -5,12 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.example.common.ratelimit.RateLimiter;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -21,28 +25,48 @@ public class UpdateController {
     @Autowired 
     RestTemplate restTemplate;
 
+    @Autowired
+    RateLimiter rateLimiter;
+
     @GetMapping("/user/update-diplomas")
-    public void userUpdatedDiplomas(HttpServletRequest request){
+    public ResponseEntity<?> userUpdatedDiplomas(HttpServletRequest request){
        
         HttpEntity<String> entity = getEntity(request);
 
-        restTemplate.exchange(
-                "http://userdiplomas/api/recommend-gnn", 
-                HttpMethod.GET,
-                entity,
-                void.class
-        ).getBody();
+        // userdiplomas limits /recommend-gnn per student
+        return forward("http://userdiplomas/api/recommend-gnn", entity);
     }
 
     @PostMapping("/users/update-diplomas")
-    public void usersUpdateDiplomas(HttpServletRequest request){
+    public ResponseEntity<?> usersUpdateDiplomas(HttpServletRequest request){
         HttpEntity<String> entity = getEntity(request);
-        restTemplate.exchange(
-                "http://userdiplomas/api/recommend-gnn-all", 
-                HttpMethod.GET,
-                entity,
-                void.class
-        ).getBody();
+        ResponseEntity<String> rejected = rateLimiter.admit("users-update-diplomas", rateLimiter.caller(request));
+        if (rejected == null) {
+            rejected = rateLimiter.startBulkJob("users-update-diplomas");
+        }
+        if (rejected != null) {
+            return rejected;
+        }
+        try {
+            return forward("http://userdiplomas/api/recommend-gnn-all", entity);
+        } finally {
+            rateLimiter.endBulkJob();
+        }
+    }
+
+    // Passes a 429 from userdiplomas back to the caller, with its Retry-After
+    private ResponseEntity<?> forward(String url, HttpEntity<String> entity) {
+        try {
+            restTemplate.exchange(url, HttpMethod.GET, entity, void.class);
+            return ResponseEntity.ok().build();
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            HttpHeaders headers = new HttpHeaders();
+            String retryAfter = e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER) : null;
+            if (retryAfter != null) {
+                headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+            }
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).headers(headers).body(e.getResponseBodyAsString());
+        }
     }
 
     private HttpEntity<String> getEntity(HttpServletRequest request){
@@ -0,0 +1,49 @@
+package org.example.userservicef.Service;
+
+import com.example.common.schema.SchemaDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migrations and extra lookups of user-service, applied and checked on startup by the shared
+ * {@link com.example.common.schema.SchemaBootstrap}.
+ */
+@Component
+public class ServiceSchema implements SchemaDefinition {
+
+    private static final List<List<String>> MIGRATIONS = List.of(
+            // 1: every node here has an assigned String (or int) id
+            List.of(
+                    "CREATE CONSTRAINT user_email IF NOT EXISTS FOR (n:User) REQUIRE n.email IS UNIQUE",
+                    "CREATE CONSTRAINT filiere_name IF NOT EXISTS FOR (n:Filiere) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT duree_name IF NOT EXISTS FOR (n:Duree) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT montion_bac_name IF NOT EXISTS FOR (n:MontionBac) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT subject_name IF NOT EXISTS FOR (n:Subject) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT career_aspiration_name IF NOT EXISTS FOR (n:CareerAspiration) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT interest_name IF NOT EXISTS FOR (n:Interest) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT year_name IF NOT EXISTS FOR (n:Year) REQUIRE n.name IS UNIQUE"
+            )
+    );
+
+    // Lookups the services run through the Neo4jClient or Neo4jTemplate rather than a repository
+    private static final Map<String, String> LOOKUPS = Map.of(
+            "UserService.deleteUserRelationships", UserService.DELETE_RELATIONSHIPS_QUERY
+    );
+
+    @Override
+    public String service() {
+        return "user-service";
+    }
+
+    @Override
+    public List<List<String>> migrations() {
+        return MIGRATIONS;
+    }
+
+    @Override
+    public Map<String, String> lookups() {
+        return LOOKUPS;
+    }
+}
@@ -1,11 +1,14 @@
 package org.example.userservicef;
 
+import com.example.common.schema.SchemaBootstrap;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@Import(SchemaBootstrap.class)
 public class UserServiceFApplication {
 
     public static void main(String[] args) {
@@ -17,6 +17,14 @@ import java.util.Map;
 @Service
 public class UserService implements UserDetailsService {
 
+    static final String DELETE_RELATIONSHIPS_QUERY = """
+            MATCH (u:User {email: $email})-[r]->(n)
+            DELETE r
+            WITH n
+            WHERE NOT (n)-[]-()
+            DELETE n
+            """;
+
     private final Neo4jClient neo4jClient;
 
     public UserService(Neo4jClient neo4jClient) {
@@ -41,17 +49,9 @@ public class UserService implements UserDetailsService {
 
 
     public void deleteUserRelationships(String email) {
-        String cypherQuery = """
-            MATCH (u:User {email: $email})-[r]->(n)
-            DELETE r
-            WITH n
-            WHERE NOT (n)-[]-()
-            DELETE n;
-        """;
-    
-        neo4jClient.query(cypherQuery)
+        neo4jClient.query(DELETE_RELATIONSHIPS_QUERY)
                    .bind(email).to("email")
                    .run();
     }
     
-}
\ No newline at end of file
+}
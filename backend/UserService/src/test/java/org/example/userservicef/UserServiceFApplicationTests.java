@@ -3,7 +3,7 @@ package org.example.userservicef;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "schema.bootstrap.enabled=false")
 class UserServiceFApplicationTests {
 
     @Test
@@ -11,37 +11,39 @@ import org.slf4j.LoggerFactory;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.example.diplomasRecommendation.DTO.DiplomeDTO;
 import com.example.diplomasRecommendation.DTO.UserDTO;
-import com.example.diplomasRecommendation.Model.Career;
+import com.example.diplomasRecommendation.Logging.LogPayload;
+import com.example.diplomasRecommendation.Logging.LogSampler;
+import com.example.diplomasRecommendation.Mapper.DiplomeMapper;
 import com.example.diplomasRecommendation.Model.Diplome;
-import com.example.diplomasRecommendation.Model.EmploymentOpportunity;
-import com.example.diplomasRecommendation.Model.Filiere;
-import com.example.diplomasRecommendation.Model.MatiereDiplome;
-import com.example.diplomasRecommendation.Model.MatiereEtudiant;
-import com.example.diplomasRecommendation.Model.Mention;
-import com.example.diplomasRecommendation.Model.QualifieForRelationship;
-import com.example.diplomasRecommendation.Model.User;
-import com.example.diplomasRecommendation.Service.CareerService;
+import com.example.diplomasRecommendation.Service.CatalogueService;
 import com.example.diplomasRecommendation.Service.DiplomeService;
-import com.example.diplomasRecommendation.Service.EmploymentService;
-import com.example.diplomasRecommendation.Service.FiliereService;
-import com.example.diplomasRecommendation.Service.MatiereDiplomeService;
-import com.example.diplomasRecommendation.Service.MatiereEtudService;
-import com.example.diplomasRecommendation.Service.MentionService;
+import com.example.diplomasRecommendation.Service.EligibilityIndex;
+import com.example.diplomasRecommendation.Service.FallbackRecommender;
+import com.example.common.ratelimit.RateLimiter;
+import com.example.diplomasRecommendation.Service.ReactiveRecommendationPipeline;
+import com.example.diplomasRecommendation.Service.ReactiveRecommendationPipeline.Recommendations;
+import com.example.diplomasRecommendation.Service.RecommendationSingleFlight;
+import com.example.diplomasRecommendation.Service.RecommendationStages;
+import com.example.diplomasRecommendation.Service.RecommendationStore;
+import com.example.diplomasRecommendation.Service.RecommendationWriteBehind;
 import com.example.diplomasRecommendation.Service.UserService;
+import com.example.common.http.HttpClientConfig;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpHeaders;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -62,40 +64,83 @@ public class UserDiplomeController {
     private DiplomeService diplomeService;
 
     @Autowired
-    private CareerService careerService;
+    private RecommendationStore recommendationStore;
 
     @Autowired
-    private FiliereService filiereService;
+    private RecommendationWriteBehind writeBehind;
 
     @Autowired
-    private MentionService mentionService;
+    private RecommendationSingleFlight singleFlight;
 
     @Autowired
-    private EmploymentService employmentService;
+    private ReactiveRecommendationPipeline reactivePipeline;
 
     @Autowired
-    private MatiereDiplomeService matiereDiplomeService;
+    private UserController userController;
 
     @Autowired
-    private MatiereEtudService matiereEtudService;
+    private CatalogueService catalogueService;
 
     @Autowired
-    private UserController userController;
+    private EligibilityIndex eligibilityIndex;
+
+    @Autowired
+    private FallbackRecommender fallbackRecommender;
+
+    @Autowired
+    private DiplomeMapper diplomeMapper;
+
+    @Autowired
+    private RecommendationStages stages;
+
+    @Autowired
+    private LogSampler logSampler;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Value("${recommendation.fallback.top-k:10}")
+    private int fallbackTopK;
+
+    @Value("${recommendation.gnn.predict-timeout-ms:10000}")
+    private long predictTimeoutMs;
+
+    @Value("${recommendation.reactive.enabled:false}")
+    private boolean reactive;
+
+    @Value("${recommendation.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
 
     @GetMapping("/recommend-gnn")
-    public void recommendNewDiplomas(HttpServletRequest request) {
-        logger.info("Entering recommendNewDiplomas endpoint");
-        logger.info("Request headers: {}", request.getHeaderNames());
+    public ResponseEntity<?> recommendNewDiplomas(HttpServletRequest request) {
         UserDTO userDTO = userController.getUser(request);
-        logger.info("Fetched UserDTO: {}", userDTO);
+        ResponseEntity<String> rejected = rateLimiter.admit("recommend-gnn", userDTO.getEmail());
+        if (rejected != null) {
+            return rejected;
+        }
+        logger.debug("Recomputing GNN recommendations for {}", LogPayload.user(userDTO));
         GNNRecommend(userDTO);
-        logger.info("Exiting recommendNewDiplomas endpoint");
+        return ResponseEntity.ok().build();
     }
 
     @GetMapping("/recommend-gnn-all")
-    public void recommendNewDiplomasAll(HttpServletRequest request) {
-        logger.info("Entering recommendNewDiplomasAll endpoint");
-        logger.info("Request headers: {}", request.getHeaderNames());
+    public ResponseEntity<?> recommendNewDiplomasAll(HttpServletRequest request) {
+        ResponseEntity<String> rejected = rateLimiter.admit("recommend-gnn-all", rateLimiter.caller(request));
+        if (rejected == null) {
+            rejected = rateLimiter.startBulkJob("recommend-gnn-all");
+        }
+        if (rejected != null) {
+            return rejected;
+        }
+        try {
+            recomputeAll(request);
+        } finally {
+            rateLimiter.endBulkJob();
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private void recomputeAll(HttpServletRequest request) {
 
 
 
@@ -123,6 +168,9 @@ public class UserDiplomeController {
             logger.error("Error calling GNN service", e);
         }
 
+        // The catalogue changed, rebuild the eligibility index before recomputing
+        catalogueService.refresh();
+
 
 
 
@@ -130,103 +178,167 @@ public class UserDiplomeController {
         List<UserDTO> usersDTO = userController.getAllUsers(request);
         logger.info("Fetched all users, count: {}", usersDTO.size());
         for (UserDTO user : usersDTO) {
-            logger.info("Processing user: {}", user);
+            logger.debug("Processing user: {}", LogPayload.user(user));
             GNNRecommend(user);
         }
-        logger.info("Exiting recommendNewDiplomasAll endpoint");
+        logger.info("Recomputed GNN recommendations for {} users", usersDTO.size());
     }
 
+    // A ResponseEntity, or a Mono of one when the reactive pipeline is enabled
     @GetMapping("/recommend-diplomas")
-    public ResponseEntity<?> recommendDiplomas(HttpServletRequest request) {
-        logger.info("Entering recommendDiplomas endpoint");
-        logger.info("Request headers: {}", request.getHeaderNames());
+    public Object recommendDiplomas(HttpServletRequest request,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "match_percentage") String sort,
+            @RequestParam(defaultValue = "desc") String order) {
+        long start = System.nanoTime();
+        if ((limit != null && limit < 0) || offset < 0) {
+            return ResponseEntity.badRequest().body("limit and offset cannot be negative");
+        }
+        if (!"match_percentage".equals(sort)) {
+            return ResponseEntity.badRequest().body("Unsupported sort field: " + sort);
+        }
+        if (!"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)) {
+            return ResponseEntity.badRequest().body("order must be asc or desc");
+        }
+        boolean ascending = "asc".equalsIgnoreCase(order);
+        int pageSize = limit != null ? limit : Integer.MAX_VALUE;
 
-        UserDTO userDTO = userController.getUser(request);
-        logger.info("Fetched UserDTO: {}", userDTO);
-        logger.info("UserDTO email: {}", userDTO.getEmail());
+        if (reactive) {
+            return reactivePipeline.recommend(request.getHeader(HttpHeaders.AUTHORIZATION), offset, pageSize, ascending)
+                    .map(recommendations -> respond(recommendations, start));
+        }
+
+        UserDTO userDTO = stages.time(RecommendationStages.USER, () -> userController.getUser(request));
+        logger.debug("Fetched {}", LogPayload.user(userDTO));
 
         List<DiplomeDTO> diplomesDTO = new ArrayList<>();
-        User user = userService.findByEmail(userDTO.getEmail());
-        logger.info("User fetched from database: {}", user);
-        if (user != null) {
-            logger.info("User exists with email: {}", user.getEmail());
-            List<QualifieForRelationship> relationships = user.getDiplomeRelationships();
-            logger.info("Diploma relationships associated with user: {}", relationships);
-            for (QualifieForRelationship relationship : relationships) {
-                Diplome diplome = relationship.getDiplome();
-                logger.info("Processing diplome: {}", diplome);
-                DiplomeDTO diplomeDTO = new DiplomeDTO();
-                diplomeDTO.setNom_Diplôme(diplome.getName());
-                diplomeDTO.setVille(diplome.getVille());
-                diplomeDTO.setEcole(diplome.getEcole());
-                diplomeDTO.setDurée(diplome.getDuration());
-                diplomeDTO.setMatch_percentage(relationship.getMatchPercentage()); // Set match percentage
-                diplomeDTO.setMention_Bac(diplome.getMention() != null ? diplome.getMention().getMention() : null);
-                logger.info("Set Mention_Bac: {}", diplomeDTO.getMention_Bac());
-
-                diplomeDTO.setAncienne_Diplome(diplome.getDiplomes() != null ?
-                        diplome.getDiplomes().stream()
-                                .map(Diplome::getName)
-                                .collect(Collectors.toSet()) : new HashSet<>());
-                logger.info("Set Ancienne_Diplome: {}", diplomeDTO.getAncienne_Diplome());
-
-                diplomeDTO.setEmployement_Opportunities(diplome.getOpportunities() != null ?
-                        diplome.getOpportunities().stream()
-                                .map(EmploymentOpportunity::getOppotunity)
-                                .collect(Collectors.toSet()) : new HashSet<>());
-                logger.info("Set Employement_Opportunities: {}", diplomeDTO.getEmployement_Opportunities());
-
-                diplomeDTO.setCareer(diplome.getCareers() != null ?
-                        diplome.getCareers().stream()
-                                .map(Career::getCareer)
-                                .collect(Collectors.toSet()) : new HashSet<>());
-                logger.info("Set Career: {}", diplomeDTO.getCareer());
-
-                diplomeDTO.setFiliere(diplome.getFilieres() != null ?
-                        diplome.getFilieres().stream()
-                                .map(Filiere::getFiliere)
-                                .collect(Collectors.toSet()) : new HashSet<>());
-                logger.info("Set Filiere: {}", diplomeDTO.getFiliere());
-
-                diplomeDTO.setMatieres_Etudiant(diplome.getMatiereEtudiants() != null ?
-                        diplome.getMatiereEtudiants().stream()
-                                .map(MatiereEtudiant::getMatiere)
-                                .collect(Collectors.toSet()) : new HashSet<>());
-                logger.info("Set Matieres_Etudiant: {}", diplomeDTO.getMatieres_Etudiant());
-
-                diplomeDTO.setMatieres_Diplome(diplome.getMatiereDiplomes() != null ?
-                        diplome.getMatiereDiplomes().stream()
-                                .map(MatiereDiplome::getMatiere)
-                                .collect(Collectors.toSet()) : new HashSet<>());
-                logger.info("Set Matieres_Diplome: {}", diplomeDTO.getMatieres_Diplome());
-
-                diplomesDTO.add(diplomeDTO);
-                logger.info("Added diplomeDTO to list: {}", diplomeDTO);
+        long total;
+        String source;
+        // Newer than anything in Neo4j until the write-behind has stored it
+        List<DiplomeDTO> buffered = writeBehind.recent(userDTO.getEmail());
+        if (buffered != null) {
+            source = Recommendations.BUFFERED;
+            total = buffered.size();
+            diplomesDTO = diplomeMapper.page(buffered, offset, pageSize, ascending);
+        } else if (stages.time(RecommendationStages.NEO4J_READ, () -> userService.exists(userDTO.getEmail()))) {
+            source = Recommendations.STORED;
+            // Page and sort in Cypher so only the requested diplomas are loaded and mapped
+            total = stages.time(RecommendationStages.NEO4J_READ, () -> userService.countRecommendations(userDTO.getEmail()));
+            Map<String, Double> page = stages.time(RecommendationStages.NEO4J_READ,
+                    () -> userService.findRecommendationPage(userDTO.getEmail(), offset, pageSize, ascending));
+            Map<String, Diplome> diplomes = stages.time(RecommendationStages.NEO4J_READ,
+                    () -> diplomeService.findAllByNames(page.keySet())).stream()
+                    .collect(Collectors.toMap(Diplome::getName, d -> d));
+            for (Map.Entry<String, Double> entry : page.entrySet()) {
+                Diplome diplome = diplomes.get(entry.getKey());
+                if (diplome != null) {
+                    diplomesDTO.add(diplomeMapper.toDiplomeDTO(diplome, entry.getValue()));
+                }
             }
         } else {
-            logger.info("User does not exist for email: {}", userDTO.getEmail());
-            diplomesDTO = GNNRecommend(userDTO);
-            logger.info("GNNRecommend returned: {}", diplomesDTO);
+            source = Recommendations.COMPUTED;
+            List<DiplomeDTO> recommended = GNNRecommend(userDTO);
+            total = recommended.size();
+            diplomesDTO = diplomeMapper.page(recommended, offset, pageSize, ascending);
         }
+        return respond(new Recommendations(userDTO.getEmail(), diplomesDTO, total, source), start);
+    }
 
-        if (diplomesDTO.isEmpty()) {
-            logger.warn("No diplomas found or recommended for user: {}", userDTO.getEmail());
+    private ResponseEntity<?> respond(Recommendations recommendations, long start) {
+        if (recommendations.total() == 0) {
+            logger.warn("No diplomas found or recommended for user: {}", recommendations.email());
             return ResponseEntity.ok().body("No diploma recommendations available");
         }
 
-        logger.info("Returning diplomesDTO: {}", diplomesDTO);
-        logger.info("Exiting recommendDiplomas endpoint");
-        return ResponseEntity.ok(diplomesDTO);
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        if (logSampler.sample(tookMs)) {
+            logger.info("recommend-diplomas email={} source={} returned={} total={} took_ms={}",
+                    recommendations.email(), recommendations.source(),
+                    LogPayload.diplomas(recommendations.page()), recommendations.total(), tookMs);
+        }
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(recommendations.total()))
+                .body(recommendations.page());
     }
+
+    // Offline: compares the fallback with the GNN results already computed for the student,
+    // so it works (and costs nothing) while the GNN service is down
+    @GetMapping("/recommend-compare")
+    public ResponseEntity<?> compareRecommenders(HttpServletRequest request) {
+        UserDTO userDTO = userController.getUser(request);
+
+        String gnnSource;
+        List<String> gnn;
+        List<DiplomeDTO> buffered = writeBehind.recent(userDTO.getEmail());
+        if (buffered != null) {
+            gnnSource = Recommendations.BUFFERED;
+            gnn = diplomeMapper.page(buffered, 0, fallbackTopK, false).stream()
+                    .map(DiplomeDTO::getNom_Diplôme)
+                    .collect(Collectors.toList());
+        } else {
+            Map<String, Double> stored = userService.exists(userDTO.getEmail())
+                    ? userService.findRecommendationPage(userDTO.getEmail(), 0, fallbackTopK, false)
+                    : Map.of();
+            gnnSource = stored.isEmpty() ? "none" : Recommendations.STORED;
+            gnn = new ArrayList<>(stored.keySet());
+        }
+        long start = System.nanoTime();
+        List<DiplomeDTO> fallback = fallbackRecommender.recommend(userDTO, fallbackTopK);
+        long fallbackMicros = (System.nanoTime() - start) / 1000;
+
+        Set<String> gnnNames = new HashSet<>(gnn);
+        Set<String> fallbackNames = fallback.stream().map(DiplomeDTO::getNom_Diplôme).collect(Collectors.toSet());
+        Set<String> union = new HashSet<>(gnnNames);
+        union.addAll(fallbackNames);
+        long overlap = fallbackNames.stream().filter(gnnNames::contains).count();
+
+        Map<String, Object> comparison = new HashMap<>();
+        comparison.put("gnn", gnn);
+        comparison.put("fallback", fallback.stream().map(DiplomeDTO::getNom_Diplôme).collect(Collectors.toList()));
+        comparison.put("gnn_source", gnnSource);
+        comparison.put("overlap", overlap);
+        // Nothing to compare against until the GNN has recommended for this student once
+        comparison.put("jaccard", gnn.isEmpty() ? null : (double) overlap / union.size());
+        comparison.put("fallback_micros", fallbackMicros);
+        return ResponseEntity.ok(comparison);
+    }
+
+    // Concurrent calls for the same student (open tabs, double clicks, a recompute) share one run
     private List<DiplomeDTO> GNNRecommend(UserDTO userDTO) {
-        logger.info("Entering GNNRecommend for userDTO: {}", userDTO);
+        return singleFlight.run(userDTO.getEmail(), () -> computeAndStore(userDTO));
+    }
+
+    private List<DiplomeDTO> computeAndStore(UserDTO userDTO) {
+        logger.debug("Computing recommendations for {}", LogPayload.user(userDTO));
+
+        List<DiplomeDTO> diplomasBody;
+        try {
+            diplomasBody = stages.time(RecommendationStages.GNN, () -> callGnn(userDTO));
+        } catch (RestClientException e) {
+            // Degraded mode, also when predict overran its budget: serve content-based results
+            // but keep the stored GNN ones untouched
+            logger.warn("GNN service unavailable for {}, serving fallback recommendations: {}",
+                    userDTO.getEmail(), e.getMessage());
+            return stages.time(RecommendationStages.FALLBACK, () -> fallbackRecommender.recommend(userDTO, fallbackTopK));
+        }
+
+        if (writeBehindEnabled) {
+            // Answer now; the write-behind buffer serves this list until it is in Neo4j
+            writeBehind.submit(userDTO.getEmail(), diplomasBody);
+            logger.debug("Queued {} for {}", LogPayload.diplomas(diplomasBody), userDTO.getEmail());
+        } else {
+            stages.time(RecommendationStages.STORE, () -> recommendationStore.store(diplomasBody, userDTO.getEmail()));
+            logger.debug("Stored {} for {}", LogPayload.diplomas(diplomasBody), userDTO.getEmail());
+        }
+        return diplomasBody;
+    }
 
+    private List<DiplomeDTO> callGnn(UserDTO userDTO) {
         String url = "http://gnn-service/api/recommend/";
-        logger.info("GNN service URL: {}", url);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        logger.info("Headers set: {}", headers);
 
         Map<String, Object> body = new HashMap<>();
         body.put("Matieres_Etudiant", userDTO.getSubjects());
@@ -234,229 +346,28 @@ public class UserDiplomeController {
         body.put("Filiere", userDTO.getFiliere());
         body.put("Durée", userDTO.getDuree());
         body.put("Mention_Bac", userDTO.getMontionBac());
-        logger.info("Request body prepared: {}", body);
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-        logger.info("HttpEntity created for request");
-
-        ResponseEntity<List<DiplomeDTO>> diplomas = restTemplate.exchange(
-            url,
-            HttpMethod.POST,
-            request,
-            new ParameterizedTypeReference<List<DiplomeDTO>>() {}
-        );
-        logger.info("GNN service response: {}", diplomas);
-
-        List<DiplomeDTO> diplomasBody = diplomas.getBody();
-        logger.info("Extracted diplomas body: {}", diplomasBody);
-
-        storeDiplomasAndUser(diplomasBody, userDTO.getEmail());
-        logger.info("Stored diplomas and user for email: {}", userDTO.getEmail());
 
-        logger.info("Exiting GNNRecommend, returning: {}", diplomasBody);
-        return diplomasBody;
-    }
-
-    @Transactional
-    private void storeDiplomasAndUser(List<DiplomeDTO> diplomasDTO, String email) {
-        logger.info("Entering storeDiplomasAndUser for email: {}", email);
-        logger.info("DiplomasDTO to store: {}", diplomasDTO);
-
-        List<QualifieForRelationship> diplomeRelationships = new ArrayList<>();
-
-        // Step 1: Fetch or create the user
-        User user = userService.findByEmail(email);
-        if (user == null) {
-            logger.info("User not found, creating new user with email: {}", email);
-            user = new User();
-            user.setEmail(email);
-            user.setDiplomeRelationships(new ArrayList<>());
-        } else {
-            logger.info("User found: {}", user);
-            // Step 2: Delete existing diploma relationships
-            List<QualifieForRelationship> existingRelationships = user.getDiplomeRelationships();
-            if (existingRelationships != null && !existingRelationships.isEmpty()) {
-                logger.info("Processing {} existing diploma relationships for user: {}", existingRelationships.size(), email);
-                for (QualifieForRelationship relationship : existingRelationships) {
-                    Diplome diplome = relationship.getDiplome();
-                    // Only delete if there are no feedback relationships
-                    if (!diplomeService.hasFeedbackRelationships(diplome)) {
-                        diplomeService.delete(diplome);
-                        logger.info("Deleted diploma: {} (no feedback relationships)", diplome.getName());
-                    } else {
-                        logger.info("Preserved diploma: {} (has feedback relationships)", diplome.getName());
-                    }
-                }
-            }
-            user.setDiplomeRelationships(new ArrayList<>());
-        }
-
-        // Step 3: Process and save new diplomas
-        for (DiplomeDTO diplomeDTO : diplomasDTO) {
-            try {
-                logger.info("Processing diplomeDTO: {}", diplomeDTO);
-                Diplome diplome = new Diplome();
-                diplome.setName(diplomeDTO.getNom_Diplôme());
-                diplome.setVille(diplomeDTO.getVille() != null ? diplomeDTO.getVille() : "Unknown");
-                diplome.setEcole(diplomeDTO.getEcole() != null ? diplomeDTO.getEcole() : "Unknown");
-                diplome.setDuration(diplomeDTO.getDurée() != null ? diplomeDTO.getDurée() : 0);
-                logger.info("Created diplome: name={}, ville={}, ecole={}, duration={}",
-                        diplome.getName(), diplome.getVille(), diplome.getEcole(), diplome.getDuration());
-
-                // Handle Mention
-                Mention mention = mentionService.findByName(diplomeDTO.getMention_Bac());
-                if (mention == null && diplomeDTO.getMention_Bac() != null) {
-                    mention = new Mention();
-                    mention.setMention(diplomeDTO.getMention_Bac());
-                    mentionService.save(mention);
-                    logger.info("Created and saved new mention: {}", mention);
-                }
-                diplome.setMention(mention);
-                logger.info("Set mention for diplome: {}", mention);
-
-                // Handle Ancienne Diplome
-                Set<Diplome> diplomeSet = diplomeDTO.getAncienne_Diplome() != null ?
-                        diplomeDTO.getAncienne_Diplome().stream()
-                                .filter(name -> name != null && !name.trim().isEmpty())
-                                .map(name -> {
-                                    logger.info("Processing ancienne diplome with name: {}", name);
-                                    Diplome d = diplomeService.findByName(name);
-                                    if (d == null) {
-                                        d = new Diplome();
-                                        d.setName(name);
-                                        d.setVille("Unknown");
-                                        d.setEcole("Unknown");
-                                        d.setDuration(0);
-                                        d.setMatiereEtudiants(new HashSet<>());
-                                        d.setDiplomes(new HashSet<>());
-                                        d.setMatiereDiplomes(new HashSet<>());
-                                        diplomeService.save(d);
-                                    }
-                                    return d;
-                                })
-                                .collect(Collectors.toSet()) : new HashSet<>();
-                diplome.setDiplomes(diplomeSet);
-
-                // Handle Employment Opportunities
-                Set<EmploymentOpportunity> opportunities = diplomeDTO.getEmployement_Opportunities() != null ?
-                        diplomeDTO.getEmployement_Opportunities().stream()
-                                .filter(opp -> opp != null && !opp.trim().isEmpty())
-                                .map(opp -> {
-                                    logger.info("Fetching employment opportunity: {}", opp);
-                                    EmploymentOpportunity e = employmentService.findByName(opp);
-                                    if (e == null) {
-                                        e = new EmploymentOpportunity();
-                                        e.setOppotunity(opp);
-                                        employmentService.save(e);
-                                        logger.info("Created and saved new employment opportunity: {}", e);
-                                    }
-                                    return e;
-                                })
-                                .collect(Collectors.toSet()) : new HashSet<>();
-                diplome.setOpportunities(opportunities);
-                logger.info("Set opportunities: {}", opportunities);
-
-                // Handle Careers
-                Set<Career> careers = diplomeDTO.getCareer() != null ?
-                        diplomeDTO.getCareer().stream()
-                                .filter(careerName -> careerName != null && !careerName.trim().isEmpty())
-                                .map(careerName -> {
-                                    logger.info("Fetching career: {}", careerName);
-                                    Career c = careerService.findByName(careerName);
-                                    if (c == null) {
-                                        c = new Career();
-                                        c.setCareer(careerName);
-                                        careerService.save(c);
-                                        logger.info("Created and saved new career: {}", c);
-                                    }
-                                    return c;
-                                })
-                            
-                                .collect(Collectors.toSet()) : new HashSet<>();
-                diplome.setCareers(careers);
-                logger.info("Set careers: {}", careers);
-
-                // Handle Filieres
-                Set<Filiere> filieres = diplomeDTO.getFiliere() != null ?
-                        diplomeDTO.getFiliere().stream()
-                                .filter(fil -> fil != null && !fil.trim().isEmpty())
-                                .map(fil -> {
-                                    logger.info("Fetching filiere: {}", fil);
-                                    Filiere f = filiereService.findByName(fil);
-                                    if (f == null) {
-                                        f = new Filiere();
-                                        f.setFiliere(fil);
-                                        filiereService.save(f);
-                                        logger.info("Created and saved new filiere: {}", f);
-                                    }
-                                    return f;
-                                })
-                                .collect(Collectors.toSet()) : new HashSet<>();
-                diplome.setFilieres(filieres);
-                logger.info("Set filieres: {}", filieres);
-
-                // Handle MatiereEtudiant
-                Set<MatiereEtudiant> matiereEtudiants = diplomeDTO.getMatieres_Etudiant() != null ?
-                        diplomeDTO.getMatieres_Etudiant().stream()
-                                .filter(mat -> mat != null && !mat.trim().isEmpty())
-                                .map(mat -> {
-                                    logger.info("Fetching matiereEtudiant: {}", mat);
-                                    MatiereEtudiant m = matiereEtudService.findByName(mat);
-                                    if (m == null) {
-                                        m = new MatiereEtudiant();
-                                        m.setMatiere(mat);
-                                        matiereEtudService.save(m);
-                                        logger.info("Created and saved new matiereEtudiant: {}", m);
-                                    }
-                                    return m;
-                                })
-                                .collect(Collectors.toSet()) : new HashSet<>();
-                diplome.setMatiereEtudiants(matiereEtudiants);
-                logger.info("Set matiereEtudiants: {}", matiereEtudiants);
-
-                // Handle MatiereDiplome
-                Set<MatiereDiplome> matiereDiplomes = diplomeDTO.getMatieres_Diplome() != null ?
-                        diplomeDTO.getMatieres_Diplome().stream()
-                                .filter(mat -> mat != null && !mat.trim().isEmpty())
-                                .map(mat -> {
-                                    logger.info("Fetching matiereDiplome: {}", mat);
-                                    MatiereDiplome m = matiereDiplomeService.findByName(mat);
-                                    if (m == null) {
-                                        m = new MatiereDiplome();
-                                        m.setMatiere(mat);
-                                        matiereDiplomeService.save(m);
-                                        logger.info("Created and saved new matiereDiplome: {}", m);
-                                    }
-                                    return m;
-                                })
-                                .collect(Collectors.toSet()) : new HashSet<>();
-                diplome.setMatiereDiplomes(matiereDiplomes);
-                logger.info("Set matiereDiplomes: {}", matiereDiplomes);
-
-                // Save the diploma
-                diplomeService.save(diplome);
-
-                // Create the relationship with match_percentage
-                Double matchPercentage = diplomeDTO.getMatch_percentage() != null ? diplomeDTO.getMatch_percentage() : 0.0;
-                QualifieForRelationship relationship = new QualifieForRelationship(diplome, matchPercentage);
-                diplomeRelationships.add(relationship);
-                logger.info("Added relationship for diplome: {} with matchPercentage: {}", diplome.getName(), matchPercentage);
-            } catch (Exception e) {
-                logger.error("Failed to process diplomeDTO: {}. Continuing with next diploma.", diplomeDTO.getNom_Diplôme(), e);
+        // Only let the model rank diplomas the student is eligible for
+        List<String> candidates = eligibilityIndex.eligibleDiplomas(userDTO);
+        if (candidates != null) {
+            logger.debug("{} of {} diplomas eligible for {}", candidates.size(), eligibilityIndex.size(), userDTO.getEmail());
+            if (candidates.isEmpty()) {
+                return new ArrayList<>();
             }
+            body.put("Candidates", candidates);
         }
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
 
-        // Step 4: Associate new diploma relationships with the user and save
-        try {
-            user.setDiplomeRelationships(diplomeRelationships);
-            logger.info("User prepared with {} diploma relationships: {}", diplomeRelationships.size(), user);
-            userService.save(user);
-            logger.info("Saved user: {}", user);
-        } catch (Exception e) {
-            logger.error("Failed to save user: {}", email, e);
-            throw new RuntimeException("Failed to save user", e);
-        }
-
-        logger.info("Exiting storeDiplomasAndUser with {} diploma relationships saved", diplomeRelationships.size());
+        // gnn-service's timeout is sized for retraining; a prediction gets its own budget
+        ResponseEntity<List<DiplomeDTO>> diplomas = HttpClientConfig.withResponseTimeout(predictTimeoutMs,
+            () -> restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                request,
+                new ParameterizedTypeReference<List<DiplomeDTO>>() {}
+            ));
+        List<DiplomeDTO> diplomasBody = diplomas.getBody() != null ? diplomas.getBody() : new ArrayList<>();
+        logger.debug("GNN returned {} for {}", LogPayload.diplomas(diplomasBody), userDTO.getEmail());
+        return diplomasBody;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.example.diplomasRecommendation.DTO;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+// One row of Admin-service's /api/diplomas/diplomas catalogue listing
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CatalogueDiplomaDTO {
+    @JsonProperty("nomDiplome")
+    private String nomDiplome;
+
+    @JsonProperty("ecole")
+    private String ecole;
+
+    @JsonProperty("ville")
+    private String ville;
+
+    @JsonProperty("duree")
+    private Integer duree;
+
+    @JsonProperty("mentionBac")
+    private String mentionBac;
+
+    @JsonProperty("filiere")
+    private List<String> filiere;
+
+    @JsonProperty("career")
+    private List<String> career;
+
+    @JsonProperty("employmentOpportunities")
+    private List<String> employmentOpportunities;
+
+    @JsonProperty("ancienneDiplome")
+    private List<String> ancienneDiplome;
+
+    @JsonProperty("matieresDiplome")
+    private List<String> matieresDiplome;
+
+    @JsonProperty("matieresEtudiant")
+    private List<String> matieresEtudiant;
+}
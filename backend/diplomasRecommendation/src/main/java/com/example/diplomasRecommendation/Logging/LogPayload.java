@@ -0,0 +1,73 @@
+package com.example.diplomasRecommendation.Logging;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.DTO.UserDTO;
+import com.example.diplomasRecommendation.Model.User;
+
+/**
+ * Compact log arguments for request payloads. Each method returns an object that renders its
+ * summary in {@code toString()}, which SLF4J only calls when the statement's level is enabled:
+ * a disabled statement costs one small allocation, and an enabled one formats a bounded
+ * summary instead of the Lombok {@code toString()} of a whole entity graph.
+ */
+public final class LogPayload {
+
+    private static final int MAX_NAMES = 3;
+
+    private LogPayload() {
+    }
+
+    /** {@code "12 [A, B, C, ...]"}: the size and the first few diploma names. */
+    public static Object diplomas(Collection<DiplomeDTO> diplomas) {
+        return items(diplomas, DiplomeDTO::getNom_Diplôme);
+    }
+
+    /** {@code "12 [a, b, c, ...]"}: the size and the first few labels. */
+    public static <T> Object items(Collection<T> items, Function<T, String> label) {
+        return lazy(() -> {
+            if (items == null) {
+                return "null";
+            }
+            StringBuilder summary = new StringBuilder().append(items.size()).append(" [");
+            Iterator<T> iterator = items.iterator();
+            for (int i = 0; i < MAX_NAMES && iterator.hasNext(); i++) {
+                summary.append(i > 0 ? ", " : "").append(label.apply(iterator.next()));
+            }
+            return summary.append(items.size() > MAX_NAMES ? ", ...]" : "]").toString();
+        });
+    }
+
+    /** The profile fields that drive a recommendation, without the token or full sets. */
+    public static Object user(UserDTO user) {
+        return lazy(() -> user == null ? "null" : "UserDTO{email=" + user.getEmail()
+                + ", filiere=" + user.getFiliere()
+                + ", duree=" + user.getDuree()
+                + ", mention=" + user.getMontionBac()
+                + ", subjects=" + size(user.getSubjects())
+                + ", careers=" + size(user.getCareerAspirations()) + "}");
+    }
+
+    /** The user node and how many diplomas it qualifies for, not the diplomas themselves. */
+    public static Object user(User user) {
+        return lazy(() -> user == null ? "null" : "User{email=" + user.getEmail()
+                + ", diplomes=" + size(user.getDiplomeRelationships()) + "}");
+    }
+
+    private static int size(Collection<?> items) {
+        return items != null ? items.size() : 0;
+    }
+
+    private static Object lazy(Supplier<String> render) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return render.get();
+            }
+        };
+    }
+}
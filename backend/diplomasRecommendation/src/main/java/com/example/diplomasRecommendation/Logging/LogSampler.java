@@ -0,0 +1,26 @@
+package com.example.diplomasRecommendation.Logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which requests get their one-line INFO summary. A request is always logged when it
+ * took at least {@code recommendation.logging.slow-ms}, otherwise with probability
+ * {@code recommendation.logging.sample-rate}. Lines carry the trace id, so a sampled request
+ * can be followed into the services it called.
+ */
+@Component
+public class LogSampler {
+
+    @Value("${recommendation.logging.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${recommendation.logging.slow-ms:500}")
+    private long slowMs;
+
+    public boolean sample(long tookMs) {
+        return tookMs >= slowMs || sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
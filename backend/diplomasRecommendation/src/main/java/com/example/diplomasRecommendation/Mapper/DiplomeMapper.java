@@ -0,0 +1,81 @@
+package com.example.diplomasRecommendation.Mapper;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.Model.Career;
+import com.example.diplomasRecommendation.Model.Diplome;
+import com.example.diplomasRecommendation.Model.EmploymentOpportunity;
+import com.example.diplomasRecommendation.Model.Filiere;
+import com.example.diplomasRecommendation.Model.MatiereDiplome;
+import com.example.diplomasRecommendation.Model.MatiereEtudiant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class DiplomeMapper {
+    private static final Logger logger = LoggerFactory.getLogger(DiplomeMapper.class);
+
+    public DiplomeDTO toDiplomeDTO(Diplome diplome, Double matchPercentage) {
+        DiplomeDTO diplomeDTO = new DiplomeDTO();
+        diplomeDTO.setNom_Diplôme(diplome.getName());
+        diplomeDTO.setVille(diplome.getVille());
+        diplomeDTO.setEcole(diplome.getEcole());
+        diplomeDTO.setDurée(diplome.getDuration());
+        diplomeDTO.setMatch_percentage(matchPercentage); // Set match percentage
+        diplomeDTO.setMention_Bac(diplome.getMention() != null ? diplome.getMention().getMention() : null);
+
+        diplomeDTO.setAncienne_Diplome(diplome.getDiplomes() != null ?
+                diplome.getDiplomes().stream()
+                        .map(Diplome::getName)
+                        .collect(Collectors.toSet()) : new HashSet<>());
+
+        diplomeDTO.setEmployement_Opportunities(diplome.getOpportunities() != null ?
+                diplome.getOpportunities().stream()
+                        .map(EmploymentOpportunity::getOppotunity)
+                        .collect(Collectors.toSet()) : new HashSet<>());
+
+        diplomeDTO.setCareer(diplome.getCareers() != null ?
+                diplome.getCareers().stream()
+                        .map(Career::getCareer)
+                        .collect(Collectors.toSet()) : new HashSet<>());
+
+        diplomeDTO.setFiliere(diplome.getFilieres() != null ?
+                diplome.getFilieres().stream()
+                        .map(Filiere::getFiliere)
+                        .collect(Collectors.toSet()) : new HashSet<>());
+
+        diplomeDTO.setMatieres_Etudiant(diplome.getMatiereEtudiants() != null ?
+                diplome.getMatiereEtudiants().stream()
+                        .map(MatiereEtudiant::getMatiere)
+                        .collect(Collectors.toSet()) : new HashSet<>());
+
+        diplomeDTO.setMatieres_Diplome(diplome.getMatiereDiplomes() != null ?
+                diplome.getMatiereDiplomes().stream()
+                        .map(MatiereDiplome::getMatiere)
+                        .collect(Collectors.toSet()) : new HashSet<>());
+
+        logger.trace("Mapped diplome {}", diplomeDTO.getNom_Diplôme());
+        return diplomeDTO;
+    }
+
+    /**
+     * Sorts recommendations by match percentage, missing ones counting as 0, then by name as
+     * UserService's page query does, so equal matches page the same whether stored or not.
+     */
+    public List<DiplomeDTO> page(List<DiplomeDTO> diplomas, int offset, int limit, boolean ascending) {
+        Comparator<DiplomeDTO> byMatch = Comparator.comparing(
+                d -> d.getMatch_percentage() != null ? d.getMatch_percentage() : 0.0);
+        Comparator<DiplomeDTO> order = (ascending ? byMatch : byMatch.reversed())
+                .thenComparing(DiplomeDTO::getNom_Diplôme, Comparator.nullsLast(Comparator.naturalOrder()));
+        return diplomas.stream()
+                .sorted(order)
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
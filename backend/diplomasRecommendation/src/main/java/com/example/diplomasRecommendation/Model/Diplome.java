@@ -1,6 +1,8 @@
 package com.example.diplomasRecommendation.Model;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -9,13 +11,22 @@ import org.springframework.data.neo4j.core.schema.Id;
 import org.springframework.data.neo4j.core.schema.Node;
 import org.springframework.data.neo4j.core.schema.Relationship;
 
+// Equality is the node id and toString never follows a relationship: Diplomes are hashed into
+// the relationship sets, and SHOULD_HAVE makes the graph self-referencing
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(onlyExplicitlyIncluded = true)
 @Node("Diplome")
 public class Diplome {
     @Id
+    @EqualsAndHashCode.Include
+    @ToString.Include
     private String name;
+    @ToString.Include
     private String ville;
+    @ToString.Include
     private String ecole;
+    @ToString.Include
     private Integer duration;
 
     @Relationship(type = "SHOULD_HAVE")
@@ -39,4 +50,8 @@ public class Diplome {
     @Relationship(type = "STUDIES")
     private Set<MatiereDiplome> matiereDiplomes = new HashSet<>();
 
-}
\ No newline at end of file
+    @ToString.Include(name = "diplomes")
+    private int diplomeCount() {
+        return diplomes != null ? diplomes.size() : 0;
+    }
+}
@@ -10,6 +10,6 @@ import com.example.diplomasRecommendation.Model.Diplome;
 public interface DiplomeRepository extends Neo4jRepository<Diplome, String> {
     Diplome findByName(String name);
 
-    @Query("MATCH (d:Diplome {id: $diplomeId})<-[:HAS_FEEDBACK]-(:User) RETURN count(*)")
-    int countFeedbackRelationships(String diplomeId);
+    @Query("MATCH (d:Diplome {name: $name})<-[:HAS_FEEDBACK]-(:User) RETURN count(*)")
+    int countFeedbackRelationships(String name);
 }
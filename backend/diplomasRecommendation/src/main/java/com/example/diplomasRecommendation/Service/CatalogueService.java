@@ -0,0 +1,89 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.diplomasRecommendation.DTO.CatalogueDiplomaDTO;
+
+/**
+ * In-memory copy of the Admin-service diploma catalogue, i.e. the same rows the GNN service
+ * exports and scores. Reloaded when older than the configured refresh interval or when a
+ * catalogue change is signalled through {@link #refresh()}.
+ */
+@Service
+public class CatalogueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogueService.class);
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${recommendation.catalogue.url:http://admin-service/api/diplomas/diplomas}")
+    private String catalogueUrl;
+
+    @Value("${recommendation.catalogue.refresh-ms:300000}")
+    private long refreshMs;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile List<CatalogueDiplomaDTO> diplomas = Collections.emptyList();
+    private volatile long loadedAt;
+    private volatile long version;
+
+    /**
+     * Returns the current catalogue, reloading it first if it is stale. Returns an empty list
+     * when the catalogue has never been loaded and Admin-service is unreachable.
+     */
+    public List<CatalogueDiplomaDTO> getDiplomas() {
+        if (System.currentTimeMillis() - loadedAt > refreshMs) {
+            refresh();
+        }
+        return diplomas;
+    }
+
+    /** Incremented on every successful load, lets derived indexes know when to rebuild. */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isLoaded() {
+        return version > 0;
+    }
+
+    /**
+     * Reloads the catalogue from Admin-service. Concurrent callers do not queue up behind a
+     * slow reload: only one thread fetches, the others keep serving the previous copy.
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            CatalogueDiplomaDTO[] fetched = restTemplate.getForObject(catalogueUrl, CatalogueDiplomaDTO[].class);
+            if (fetched == null) {
+                logger.warn("Catalogue endpoint {} returned no body", catalogueUrl);
+                return false;
+            }
+            diplomas = Collections.unmodifiableList(Arrays.asList(fetched));
+            version++;
+            logger.info("Loaded {} diplomas from catalogue (version {})", fetched.length, version);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to load diploma catalogue from {}: {}", catalogueUrl, e.getMessage());
+            return false;
+        } finally {
+            // Also throttles retries when Admin-service is down
+            loadedAt = System.currentTimeMillis();
+            refreshing.set(false);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.diplomasRecommendation.Service;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,7 +24,7 @@ public class DiplomeService{
     }
 
     public boolean hasFeedbackRelationships(Diplome diplome) {
-        return diplomeRepository.countFeedbackRelationships(diplome.getId()) > 0;
+        return diplomeRepository.countFeedbackRelationships(diplome.getName()) > 0;
     }
 
     public void delete(Diplome diplome) {
@@ -35,4 +38,8 @@ public class DiplomeService{
     public Diplome findById(String diplome){
         return diplomeRepository.findById(diplome).orElse(null);
     }
+
+    public List<Diplome> findAllByNames(Collection<String> names) {
+        return diplomeRepository.findAllById(names);
+    }
 }
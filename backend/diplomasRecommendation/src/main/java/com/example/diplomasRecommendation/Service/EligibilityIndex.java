@@ -0,0 +1,146 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.diplomasRecommendation.DTO.CatalogueDiplomaDTO;
+import com.example.diplomasRecommendation.DTO.UserDTO;
+
+/**
+ * Bitset index over the diploma catalogue used to drop diplomas a student cannot be
+ * recommended before the catalogue is sent to the GNN service.
+ *
+ * It applies exactly the constraints the GNN service's predict treats as hard: a shared
+ * filiere, the desired duration when one is given and a shared career when any is given.
+ * Subjects only weigh in the model's score and the mention is not checked at all, so neither
+ * filters here; dropping a diploma the model would have ranked changes its answer.
+ *
+ * Each diploma gets a position in the catalogue and every filiere, career and duration maps
+ * to the set of positions having it. A profile is matched by OR-ing the bitmaps of its own
+ * values inside a constraint and AND-ing the constraints together.
+ */
+@Service
+public class EligibilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EligibilityIndex.class);
+
+    @Autowired
+    private CatalogueService catalogueService;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Returns the names of the catalogue diplomas the given profile is eligible for, or
+     * {@code null} when no catalogue is available and the caller should not filter at all.
+     */
+    public List<String> eligibleDiplomas(UserDTO userDTO) {
+        Snapshot current = currentSnapshot();
+        if (current.size() == 0) {
+            return null;
+        }
+
+        BitSet eligible = new BitSet(current.size());
+        eligible.set(0, current.size());
+
+        if (userDTO.getFiliere() != null) {
+            eligible.and(current.anyOf(current.byFiliere, List.of(userDTO.getFiliere())));
+        }
+        if (userDTO.getDuree() > 0) {
+            eligible.and(current.anyOf(current.byDuration, List.of(userDTO.getDuree())));
+        }
+        if (userDTO.getCareerAspirations() != null && !userDTO.getCareerAspirations().isEmpty()) {
+            eligible.and(current.anyOf(current.byCareer, userDTO.getCareerAspirations()));
+        }
+
+        List<String> names = new ArrayList<>(eligible.cardinality());
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            names.add(current.names[i]);
+        }
+        return names;
+    }
+
+    public int size() {
+        return currentSnapshot().size();
+    }
+
+    private Snapshot currentSnapshot() {
+        List<CatalogueDiplomaDTO> diplomas = catalogueService.getDiplomas();
+        long version = catalogueService.getVersion();
+        Snapshot current = snapshot;
+        if (current.version != version) {
+            current = Snapshot.build(diplomas, version);
+            snapshot = current;
+            logger.info("Rebuilt eligibility index over {} diplomas (catalogue version {})", current.size(), version);
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], 0);
+
+        final String[] names;
+        final long version;
+        final Map<String, BitSet> byFiliere = new HashMap<>();
+        final Map<String, BitSet> byCareer = new HashMap<>();
+        final Map<Integer, BitSet> byDuration = new HashMap<>();
+
+        private Snapshot(String[] names, long version) {
+            this.names = names;
+            this.version = version;
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        static Snapshot build(List<CatalogueDiplomaDTO> diplomas, long version) {
+            String[] names = new String[diplomas.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = diplomas.get(i).getNomDiplome();
+            }
+            Snapshot snapshot = new Snapshot(names, version);
+
+            for (int i = 0; i < names.length; i++) {
+                CatalogueDiplomaDTO diploma = diplomas.get(i);
+                addAll(snapshot.byFiliere, diploma.getFiliere(), i);
+                addAll(snapshot.byCareer, diploma.getCareer(), i);
+                if (diploma.getDuree() != null) {
+                    snapshot.byDuration.computeIfAbsent(diploma.getDuree(), k -> new BitSet()).set(i);
+                }
+            }
+            return snapshot;
+        }
+
+        private static void addAll(Map<String, BitSet> index, List<String> values, int position) {
+            if (values == null) {
+                return;
+            }
+            for (String value : values) {
+                if (value != null) {
+                    index.computeIfAbsent(value, k -> new BitSet()).set(position);
+                }
+            }
+        }
+
+        <K> BitSet anyOf(Map<K, BitSet> index, Collection<K> keys) {
+            BitSet union = new BitSet(names.length);
+            for (K key : keys) {
+                BitSet bits = index.get(key);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            return union;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.diplomasRecommendation.DTO.CatalogueDiplomaDTO;
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.DTO.UserDTO;
+
+/**
+ * Content-based recommender used when the GNN service is down or failing.
+ *
+ * Every catalogue diploma is turned into a sparse, L2-normalised feature vector over its
+ * careers, required student subjects, filieres, mention and duration. A profile is encoded
+ * over the same vocabulary and scored against each eligible diploma by cosine similarity;
+ * the best {@code topK} are kept in a bounded min-heap. All of it works on primitive arrays
+ * built once per catalogue version.
+ */
+@Service
+public class FallbackRecommender {
+
+    private static final Logger logger = LoggerFactory.getLogger(FallbackRecommender.class);
+
+    // Careers and subjects carry most of the signal, as in the GNN service's final score
+    private static final float CAREER_WEIGHT = 1.0f;
+    private static final float SUBJECT_WEIGHT = 1.0f;
+    private static final float FILIERE_WEIGHT = 0.5f;
+    private static final float MENTION_WEIGHT = 0.25f;
+    private static final float DURATION_WEIGHT = 0.5f;
+
+    // Profiles store "Très Bien" where catalogue rows (from data.csv) say "Mention Très Bien";
+    // both sides go through mentionTerm so the same mention is one vocabulary term
+    private static final Map<String, String> MENTION_LEVELS = Map.of(
+            "passable", "0",
+            "assez bien", "1",
+            "bien", "2",
+            "très bien", "3");
+
+    @Autowired
+    private CatalogueService catalogueService;
+
+    @Autowired
+    private EligibilityIndex eligibilityIndex;
+
+    private volatile Model model = Model.EMPTY;
+
+    /**
+     * Returns up to {@code topK} eligible diplomas ordered by decreasing similarity, with
+     * match_percentage set to the cosine similarity scaled to 0-100.
+     */
+    public List<DiplomeDTO> recommend(UserDTO userDTO, int topK) {
+        long start = System.nanoTime();
+        Model current = currentModel();
+        if (current.size() == 0 || topK <= 0) {
+            return new ArrayList<>();
+        }
+
+        float[] profile = current.encodeProfile(userDTO);
+        List<String> eligibleNames = eligibilityIndex.eligibleDiplomas(userDTO);
+        Set<String> eligible = eligibleNames != null ? new HashSet<>(eligibleNames) : null;
+
+        TopK heap = new TopK(topK);
+        for (int i = 0; i < current.size(); i++) {
+            if (eligible != null && !eligible.contains(current.diplomas.get(i).getNomDiplome())) {
+                continue;
+            }
+            float score = current.cosine(i, profile);
+            if (score > 0f) {
+                heap.offer(i, score);
+            }
+        }
+
+        int[] ranked = heap.drainDescending();
+        float[] scores = heap.lastScores();
+        List<DiplomeDTO> recommendations = new ArrayList<>(ranked.length);
+        for (int r = 0; r < ranked.length; r++) {
+            recommendations.add(toDTO(current.diplomas.get(ranked[r]), scores[r]));
+        }
+        logger.debug("Fallback scored {} diplomas for {} in {} us", current.size(), userDTO.getEmail(),
+                (System.nanoTime() - start) / 1000);
+        return recommendations;
+    }
+
+    public int size() {
+        return currentModel().size();
+    }
+
+    private Model currentModel() {
+        List<CatalogueDiplomaDTO> diplomas = catalogueService.getDiplomas();
+        long version = catalogueService.getVersion();
+        Model current = model;
+        if (current.version != version) {
+            current = Model.build(diplomas, version);
+            model = current;
+            logger.info("Rebuilt fallback model: {} diplomas, {} features", current.size(), current.features.size());
+        }
+        return current;
+    }
+
+    private DiplomeDTO toDTO(CatalogueDiplomaDTO diploma, float score) {
+        DiplomeDTO dto = new DiplomeDTO();
+        dto.setNom_Diplôme(diploma.getNomDiplome());
+        dto.setEcole(diploma.getEcole());
+        dto.setVille(diploma.getVille());
+        dto.setDurée(diploma.getDuree());
+        dto.setMention_Bac(diploma.getMentionBac());
+        dto.setCareer(toSet(diploma.getCareer()));
+        dto.setFiliere(toSet(diploma.getFiliere()));
+        dto.setMatieres_Etudiant(toSet(diploma.getMatieresEtudiant()));
+        dto.setMatieres_Diplome(toSet(diploma.getMatieresDiplome()));
+        dto.setAncienne_Diplome(toSet(diploma.getAncienneDiplome()));
+        dto.setEmployement_Opportunities(toSet(diploma.getEmploymentOpportunities()));
+        dto.setMatch_percentage((double) score * 100);
+        return dto;
+    }
+
+    private static Set<String> toSet(Collection<String> values) {
+        return values != null ? new LinkedHashSet<>(values) : new LinkedHashSet<>();
+    }
+
+    /** The mention's level, or the bare label when it is not one of the four; null if blank. */
+    static String mentionTerm(String mention) {
+        if (mention == null || mention.isBlank()) {
+            return null;
+        }
+        String label = mention.trim().toLowerCase(Locale.ROOT);
+        if (label.startsWith("mention ")) {
+            label = label.substring("mention ".length()).trim();
+        }
+        return MENTION_LEVELS.getOrDefault(label, label);
+    }
+
+    private static final class Model {
+
+        static final Model EMPTY = new Model(List.of(), Map.of(), new int[0][], new float[0][], 0);
+
+        final List<CatalogueDiplomaDTO> diplomas;
+        final Map<String, Integer> features;
+        final int[][] indices;
+        final float[][] values;
+        final long version;
+
+        private Model(List<CatalogueDiplomaDTO> diplomas, Map<String, Integer> features,
+                      int[][] indices, float[][] values, long version) {
+            this.diplomas = diplomas;
+            this.features = features;
+            this.indices = indices;
+            this.values = values;
+            this.version = version;
+        }
+
+        int size() {
+            return diplomas.size();
+        }
+
+        static Model build(List<CatalogueDiplomaDTO> diplomas, long version) {
+            Map<String, Integer> features = new HashMap<>();
+            int[][] indices = new int[diplomas.size()][];
+            float[][] values = new float[diplomas.size()][];
+
+            for (int i = 0; i < diplomas.size(); i++) {
+                CatalogueDiplomaDTO diploma = diplomas.get(i);
+                Map<Integer, Float> vector = new HashMap<>();
+                addAll(features, vector, "c:", diploma.getCareer(), CAREER_WEIGHT);
+                addAll(features, vector, "s:", diploma.getMatieresEtudiant(), SUBJECT_WEIGHT);
+                addAll(features, vector, "f:", diploma.getFiliere(), FILIERE_WEIGHT);
+                String mention = mentionTerm(diploma.getMentionBac());
+                if (mention != null) {
+                    vector.put(feature(features, "m:" + mention), MENTION_WEIGHT);
+                }
+                if (diploma.getDuree() != null) {
+                    vector.put(feature(features, "d:" + diploma.getDuree()), DURATION_WEIGHT);
+                }
+
+                int[] idx = new int[vector.size()];
+                float[] val = new float[vector.size()];
+                double norm = 0;
+                int k = 0;
+                for (Map.Entry<Integer, Float> entry : vector.entrySet()) {
+                    idx[k] = entry.getKey();
+                    val[k] = entry.getValue();
+                    norm += val[k] * val[k];
+                    k++;
+                }
+                float inverse = norm > 0 ? (float) (1 / Math.sqrt(norm)) : 0f;
+                for (k = 0; k < val.length; k++) {
+                    val[k] *= inverse;
+                }
+                indices[i] = idx;
+                values[i] = val;
+            }
+            return new Model(diplomas, features, indices, values, version);
+        }
+
+        /** Dense, L2-normalised profile vector; unknown vocabulary terms are ignored. */
+        float[] encodeProfile(UserDTO userDTO) {
+            float[] profile = new float[features.size()];
+            addKnown(profile, "c:", userDTO.getCareerAspirations(), CAREER_WEIGHT);
+            addKnown(profile, "s:", userDTO.getSubjects(), SUBJECT_WEIGHT);
+            if (userDTO.getFiliere() != null) {
+                addKnown(profile, "f:", List.of(userDTO.getFiliere()), FILIERE_WEIGHT);
+            }
+            String mention = mentionTerm(userDTO.getMontionBac());
+            if (mention != null) {
+                addKnown(profile, "m:", List.of(mention), MENTION_WEIGHT);
+            }
+            if (userDTO.getDuree() > 0) {
+                addKnown(profile, "d:", List.of(String.valueOf(userDTO.getDuree())), DURATION_WEIGHT);
+            }
+
+            double norm = 0;
+            for (float v : profile) {
+                norm += v * v;
+            }
+            if (norm > 0) {
+                float inverse = (float) (1 / Math.sqrt(norm));
+                for (int i = 0; i < profile.length; i++) {
+                    profile[i] *= inverse;
+                }
+            }
+            return profile;
+        }
+
+        float cosine(int diploma, float[] profile) {
+            int[] idx = indices[diploma];
+            float[] val = values[diploma];
+            float dot = 0f;
+            for (int k = 0; k < idx.length; k++) {
+                dot += val[k] * profile[idx[k]];
+            }
+            return dot;
+        }
+
+        private void addKnown(float[] profile, String prefix, Collection<String> terms, float weight) {
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Integer index = features.get(prefix + term);
+                if (index != null) {
+                    profile[index] = weight;
+                }
+            }
+        }
+
+        private static void addAll(Map<String, Integer> features, Map<Integer, Float> vector,
+                                   String prefix, List<String> terms, float weight) {
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                if (term != null) {
+                    vector.put(feature(features, prefix + term), weight);
+                }
+            }
+        }
+
+        private static int feature(Map<String, Integer> features, String key) {
+            return features.computeIfAbsent(key, k -> features.size());
+        }
+    }
+
+    /** Bounded min-heap of (diploma index, score) pairs keeping the {@code capacity} best. */
+    private static final class TopK {
+
+        private final int[] items;
+        private final float[] scores;
+        private int size;
+        private float[] drainedScores = new float[0];
+
+        TopK(int capacity) {
+            this.items = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int item, float score) {
+            if (size < items.length) {
+                items[size] = item;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                items[0] = item;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /** Empties the heap, returning items best first; their scores via {@link #lastScores()}. */
+        int[] drainDescending() {
+            int[] ranked = new int[size];
+            drainedScores = new float[size];
+            for (int r = size - 1; r >= 0; r--) {
+                ranked[r] = items[0];
+                drainedScores[r] = scores[0];
+                size--;
+                items[0] = items[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        float[] lastScores() {
+            return Arrays.copyOf(drainedScores, drainedScores.length);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[i] <= scores[smallest]) {
+                    break;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int item = items[a];
+            items[a] = items[b];
+            items[b] = item;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.ReactiveNeo4jClient;
+import org.springframework.data.neo4j.core.ReactiveNeo4jTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+
+import com.example.common.http.HttpClientProperties;
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.DTO.UserDTO;
+import com.example.diplomasRecommendation.Logging.LogPayload;
+import com.example.diplomasRecommendation.Mapper.DiplomeMapper;
+import com.example.diplomasRecommendation.Model.Diplome;
+import com.example.diplomasRecommendation.Model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking {@code /recommend-diplomas}, used when {@code recommendation.reactive.enabled}
+ * is set. It returns what the blocking path returns, but runs the steps that do not depend on
+ * each other at the same time: the stored page is read while user-service answers {@code /me},
+ * the count and page queries run together on the reactive driver, and a freshly computed list
+ * is handed to {@link RecommendationWriteBehind} instead of being stored before the response.
+ */
+@Service
+public class ReactiveRecommendationPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRecommendationPipeline.class);
+
+    private static final ObjectMapper JWT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private WebClient webClient;
+
+    @Autowired
+    private ReactiveNeo4jClient neo4jClient;
+
+    @Autowired
+    private ReactiveNeo4jTemplate neo4jTemplate;
+
+    @Autowired
+    private EligibilityIndex eligibilityIndex;
+
+    @Autowired
+    private FallbackRecommender fallbackRecommender;
+
+    @Autowired
+    private RecommendationWriteBehind writeBehind;
+
+    @Autowired
+    private RecommendationSingleFlight singleFlight;
+
+    @Autowired
+    private DiplomeMapper diplomeMapper;
+
+    @Autowired
+    private RecommendationStages stages;
+
+    @Value("${recommendation.fallback.top-k:10}")
+    private int fallbackTopK;
+
+    // Same per-service timeouts as the RestTemplate (HttpClientConfig)
+    @Autowired
+    private HttpClientProperties httpClientProperties;
+
+    // Not the gnn-service timeout, which is sized for /api/retrain/
+    @Value("${recommendation.gnn.predict-timeout-ms:10000}")
+    private long predictTimeoutMs;
+
+    /** One page of a user's recommendations and where they came from. */
+    public record Recommendations(String email, List<DiplomeDTO> page, long total, String source) {
+        public static final String STORED = "stored";
+        public static final String BUFFERED = "buffered";
+        public static final String COMPUTED = "computed";
+    }
+
+    private record StoredPage(long total, List<DiplomeDTO> diplomas) {
+    }
+
+    public Mono<Recommendations> recommend(String authorization, int offset, int limit, boolean ascending) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return Mono.error(new RuntimeException("Missing or invalid Authorization header"));
+        }
+        Mono<UserDTO> profile = stages.time(RecommendationStages.USER, fetchUser(authorization));
+        String subject = tokenSubject(authorization);
+
+        Mono<Recommendations> recommendations;
+        if (subject == null) {
+            recommendations = profile.flatMap(user -> storedPage(user.getEmail(), offset, limit, ascending)
+                    .flatMap(stored -> resolve(user, stored, offset, limit, ascending)));
+        } else {
+            // user-service puts the email in the token subject, so the stored page is read while
+            // /me is answered; it is only used once /me has returned that same email
+            recommendations = Mono.zip(profile, storedPage(subject, offset, limit, ascending))
+                    .flatMap(both -> {
+                        UserDTO user = both.getT1();
+                        Mono<StoredPage> stored = subject.equals(user.getEmail()) ? Mono.just(both.getT2())
+                                : storedPage(user.getEmail(), offset, limit, ascending);
+                        return stored.flatMap(page -> resolve(user, page, offset, limit, ascending));
+                    });
+        }
+        // Carries the request's observation into the stages, the WebClient calls and the logs
+        return recommendations.contextCapture();
+    }
+
+    private Mono<UserDTO> fetchUser(String authorization) {
+        return webClient.get()
+                .uri("http://user-service/api/auth/me")
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .retrieve()
+                .bodyToMono(UserDTO.class)
+                .timeout(Duration.ofMillis(httpClientProperties.responseTimeoutMs("user-service")))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("user-service returned no profile")));
+    }
+
+    private Mono<StoredPage> storedPage(String email, int offset, int limit, boolean ascending) {
+        Mono<Long> total = neo4jClient.query(UserService.COUNT_RECOMMENDATIONS)
+                .bind(email).to("email")
+                .fetchAs(Long.class)
+                .one()
+                .defaultIfEmpty(0L);
+        Mono<List<DiplomeDTO>> page = neo4jClient.query(UserService.recommendationPageQuery(ascending))
+                .bind(email).to("email")
+                .bind(offset).to("offset")
+                .bind(limit).to("limit")
+                .fetch()
+                .all()
+                .collect(LinkedHashMap<String, Double>::new,
+                        (matches, row) -> matches.put((String) row.get("name"), UserService.matchPercentage(row)))
+                .flatMap(this::loadDiplomas);
+        return stages.time(RecommendationStages.NEO4J_READ, Mono.zip(total, page, StoredPage::new));
+    }
+
+    private Mono<List<DiplomeDTO>> loadDiplomas(Map<String, Double> matches) {
+        if (matches.isEmpty()) {
+            return Mono.just(new ArrayList<>());
+        }
+        return neo4jTemplate.findAllById(matches.keySet(), Diplome.class)
+                .collectMap(Diplome::getName)
+                .map(diplomes -> {
+                    List<DiplomeDTO> page = new ArrayList<>(matches.size());
+                    for (Map.Entry<String, Double> entry : matches.entrySet()) {
+                        Diplome diplome = diplomes.get(entry.getKey());
+                        if (diplome != null) {
+                            page.add(diplomeMapper.toDiplomeDTO(diplome, entry.getValue()));
+                        }
+                    }
+                    return page;
+                });
+    }
+
+    private Mono<Recommendations> resolve(UserDTO user, StoredPage stored, int offset, int limit, boolean ascending) {
+        String email = user.getEmail();
+        // Newer than anything in Neo4j until the write-behind has stored it
+        List<DiplomeDTO> buffered = writeBehind.recent(email);
+        if (buffered != null) {
+            return Mono.just(new Recommendations(email, diplomeMapper.page(buffered, offset, limit, ascending),
+                    buffered.size(), Recommendations.BUFFERED));
+        }
+        if (stored.total() > 0) {
+            return Mono.just(new Recommendations(email, stored.diplomas(), stored.total(), Recommendations.STORED));
+        }
+        // No QUALIFIE_FOR edges: either a stored user without recommendations, or a new one
+        return stages.time(RecommendationStages.NEO4J_READ, neo4jTemplate.existsById(email, User.class))
+                .flatMap(exists -> exists
+                        ? Mono.just(new Recommendations(email, new ArrayList<>(), 0, Recommendations.STORED))
+                        : compute(user).map(recommended -> new Recommendations(email,
+                                diplomeMapper.page(recommended, offset, limit, ascending), recommended.size(),
+                                Recommendations.COMPUTED)));
+    }
+
+    // Shared with concurrent requests for the same student, blocking or reactive
+    private Mono<List<DiplomeDTO>> compute(UserDTO user) {
+        return singleFlight.share(user.getEmail(), () -> computeAndStore(user));
+    }
+
+    private Mono<List<DiplomeDTO>> computeAndStore(UserDTO user) {
+        logger.debug("Computing recommendations for {}", LogPayload.user(user));
+        return stages.time(RecommendationStages.GNN, callGnn(user))
+                // Off the event loop: with a full write queue, submit stores the list itself
+                .flatMap(diplomas -> Mono.fromRunnable(() -> writeBehind.submit(user.getEmail(), diplomas))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(diplomas))
+                .onErrorResume(e -> e instanceof WebClientException || e instanceof TimeoutException, e -> {
+                    // Degraded mode: serve content-based results but keep the stored GNN ones untouched
+                    logger.warn("GNN service unavailable for {}, serving fallback recommendations: {}",
+                            user.getEmail(), e.getMessage());
+                    return stages.time(RecommendationStages.FALLBACK,
+                            Mono.fromCallable(() -> fallbackRecommender.recommend(user, fallbackTopK))
+                                    .subscribeOn(Schedulers.boundedElastic()));
+                });
+    }
+
+    private Mono<List<DiplomeDTO>> callGnn(UserDTO user) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("Matieres_Etudiant", user.getSubjects());
+        body.put("Career", user.getCareerAspirations());
+        body.put("Filiere", user.getFiliere());
+        body.put("Durée", user.getDuree());
+        body.put("Mention_Bac", user.getMontionBac());
+
+        // The catalogue behind the index may reload over the blocking RestTemplate
+        return Mono.fromCallable(() -> Optional.ofNullable(eligibilityIndex.eligibleDiplomas(user)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(candidates -> {
+                    // Only let the model rank diplomas the student is eligible for
+                    if (candidates.isPresent()) {
+                        if (candidates.get().isEmpty()) {
+                            return Mono.<List<DiplomeDTO>>just(new ArrayList<>());
+                        }
+                        body.put("Candidates", candidates.get());
+                    }
+                    return webClient.post()
+                            .uri("http://gnn-service/api/recommend/")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(body)
+                            .retrieve()
+                            .bodyToFlux(DiplomeDTO.class)
+                            .collectList()
+                            .timeout(Duration.ofMillis(predictTimeoutMs));
+                });
+    }
+
+    // Unverified read of the JWT subject, only ever used as a hint: user-service validates the token
+    private static String tokenSubject(String authorization) {
+        String[] parts = authorization.substring("Bearer ".length()).split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            JsonNode subject = JWT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("sub");
+            return subject != null && subject.isTextual() ? subject.asText() : null;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent recommendation computations for the same student: the first caller runs
+ * the GNN call and the store, callers arriving while it runs wait for and share its result (or
+ * its exception) instead of calling the model and rewriting the same QUALIFIE_FOR edges again.
+ * Blocking and reactive callers share the same flights. Like the per-student lock in
+ * {@link RecommendationStore}, coalescing only spans the callers of one instance.
+ */
+@Service
+public class RecommendationSingleFlight {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<List<DiplomeDTO>>> flights = new ConcurrentHashMap<>();
+
+    public List<DiplomeDTO> run(String email, Supplier<List<DiplomeDTO>> computation) {
+        CompletableFuture<List<DiplomeDTO>> flight = new CompletableFuture<>();
+        CompletableFuture<List<DiplomeDTO>> inFlight = flights.putIfAbsent(email, flight);
+        if (inFlight != null) {
+            coalesced("blocking");
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            List<DiplomeDTO> result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(email, flight);
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #run}. The computation runs to completion even if the caller
+     * that started it goes away, since others may be waiting for it.
+     */
+    public Mono<List<DiplomeDTO>> share(String email, Supplier<Mono<List<DiplomeDTO>>> computation) {
+        return Mono.deferContextual(context -> {
+            CompletableFuture<List<DiplomeDTO>> flight = new CompletableFuture<>();
+            CompletableFuture<List<DiplomeDTO>> inFlight = flights.putIfAbsent(email, flight);
+            if (inFlight != null) {
+                coalesced("reactive");
+                return Mono.fromFuture(inFlight, true);
+            }
+            computation.get()
+                    .contextWrite(context)
+                    .subscribe(flight::complete, flight::completeExceptionally, () -> flight.complete(null));
+            flight.whenComplete((result, error) -> flights.remove(email, flight));
+            return Mono.fromFuture(flight, true);
+        });
+    }
+
+    private void coalesced(String pipeline) {
+        meterRegistry.counter("recommendation.single_flight.coalesced", "pipeline", pipeline).increment();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times the stages of a recommendation request. Each stage runs as an observation, which
+ * records a {@code recommendation.stage} timer tagged with the stage (and any exception) and
+ * opens a child span of the request's trace, so a slow {@code /recommend-diplomas} can be
+ * split into the {@code /me} hop, Neo4j reads, the GNN call and the writes.
+ */
+@Service
+public class RecommendationStages {
+
+    public static final String USER = "user-service";
+    public static final String NEO4J_READ = "neo4j-read";
+    public static final String GNN = "gnn";
+    public static final String FALLBACK = "fallback";
+    public static final String STORE = "store";
+
+    private static final String NAME = "recommendation.stage";
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    public <T> T time(String stage, Supplier<T> work) {
+        return observation(stage).observe(work);
+    }
+
+    public void time(String stage, Runnable work) {
+        observation(stage).observe(work);
+    }
+
+    /** Times a reactive stage from subscription until it completes, fails or is cancelled. */
+    public <T> Mono<T> time(String stage, Mono<T> work) {
+        return Mono.defer(() -> {
+            Observation observation = observation(stage).start();
+            return work.doOnError(observation::error)
+                    .doFinally(signal -> observation.stop());
+        });
+    }
+
+    private Observation observation(String stage) {
+        return Observation.createNotStarted(NAME, observationRegistry)
+                .contextualName("recommendation " + stage)
+                .lowCardinalityKeyValue("stage", stage);
+    }
+}
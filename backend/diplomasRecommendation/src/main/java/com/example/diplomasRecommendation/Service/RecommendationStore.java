@@ -0,0 +1,283 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.Logging.LogPayload;
+import com.example.diplomasRecommendation.Model.Career;
+import com.example.diplomasRecommendation.Model.Diplome;
+import com.example.diplomasRecommendation.Model.EmploymentOpportunity;
+import com.example.diplomasRecommendation.Model.Filiere;
+import com.example.diplomasRecommendation.Model.MatiereDiplome;
+import com.example.diplomasRecommendation.Model.MatiereEtudiant;
+import com.example.diplomasRecommendation.Model.Mention;
+import com.example.diplomasRecommendation.Model.QualifieForRelationship;
+import com.example.diplomasRecommendation.Model.User;
+
+/**
+ * Replaces a user's stored QUALIFIE_FOR recommendations with a freshly computed list, creating
+ * the diplomas and their vocabulary nodes as needed. Shared by the blocking and the reactive
+ * {@code /recommend-diplomas} pipelines and the GNN recompute endpoints.
+ *
+ * Stores for the same student run one at a time: interleaved, one store's deletes would remove
+ * the diplomas the other has just linked, and the last user save would keep a mix of both lists.
+ */
+@Service
+public class RecommendationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationStore.class);
+
+    // Striped by email: bounded memory, and students sharing a stripe rarely store at once
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] locks = Stream.generate(ReentrantLock::new)
+            .limit(LOCK_STRIPES)
+            .toArray(ReentrantLock[]::new);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DiplomeService diplomeService;
+
+    @Autowired
+    private CareerService careerService;
+
+    @Autowired
+    private FiliereService filiereService;
+
+    @Autowired
+    private MentionService mentionService;
+
+    @Autowired
+    private EmploymentService employmentService;
+
+    @Autowired
+    private MatiereDiplomeService matiereDiplomeService;
+
+    @Autowired
+    private MatiereEtudService matiereEtudService;
+
+    public void store(List<DiplomeDTO> diplomasDTO, String email) {
+        ReentrantLock lock = locks[Math.floorMod(email.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            replace(diplomasDTO, email);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replace(List<DiplomeDTO> diplomasDTO, String email) {
+        logger.debug("Storing recommendations for email: {}", email);
+        logger.debug("DiplomasDTO to store: {}", LogPayload.diplomas(diplomasDTO));
+
+        List<QualifieForRelationship> diplomeRelationships = new ArrayList<>();
+
+        // Step 1: Fetch or create the user
+        User user = userService.findByEmail(email);
+        if (user == null) {
+            logger.debug("User not found, creating new user with email: {}", email);
+            user = new User();
+            user.setEmail(email);
+            user.setDiplomeRelationships(new ArrayList<>());
+        } else {
+            logger.debug("User found: {}", LogPayload.user(user));
+            // Step 2: Delete existing diploma relationships
+            List<QualifieForRelationship> existingRelationships = user.getDiplomeRelationships();
+            if (existingRelationships != null && !existingRelationships.isEmpty()) {
+                logger.debug("Processing {} existing diploma relationships for user: {}", existingRelationships.size(), email);
+                for (QualifieForRelationship relationship : existingRelationships) {
+                    Diplome diplome = relationship.getDiplome();
+                    // Only delete if there are no feedback relationships
+                    if (!diplomeService.hasFeedbackRelationships(diplome)) {
+                        diplomeService.delete(diplome);
+                        logger.debug("Deleted diploma: {} (no feedback relationships)", diplome.getName());
+                    } else {
+                        logger.debug("Preserved diploma: {} (has feedback relationships)", diplome.getName());
+                    }
+                }
+            }
+            user.setDiplomeRelationships(new ArrayList<>());
+        }
+
+        // Step 3: Process and save new diplomas
+        for (DiplomeDTO diplomeDTO : diplomasDTO) {
+            try {
+                logger.debug("Processing diplomeDTO: {}", diplomeDTO.getNom_Diplôme());
+                Diplome diplome = new Diplome();
+                diplome.setName(diplomeDTO.getNom_Diplôme());
+                diplome.setVille(diplomeDTO.getVille() != null ? diplomeDTO.getVille() : "Unknown");
+                diplome.setEcole(diplomeDTO.getEcole() != null ? diplomeDTO.getEcole() : "Unknown");
+                diplome.setDuration(diplomeDTO.getDurée() != null ? diplomeDTO.getDurée() : 0);
+                logger.debug("Created diplome: name={}, ville={}, ecole={}, duration={}",
+                        diplome.getName(), diplome.getVille(), diplome.getEcole(), diplome.getDuration());
+
+                // Handle Mention
+                Mention mention = mentionService.findByName(diplomeDTO.getMention_Bac());
+                if (mention == null && diplomeDTO.getMention_Bac() != null) {
+                    mention = new Mention();
+                    mention.setMention(diplomeDTO.getMention_Bac());
+                    mentionService.save(mention);
+                    logger.debug("Created and saved new mention: {}", mention);
+                }
+                diplome.setMention(mention);
+                logger.debug("Set mention for diplome: {}", mention);
+
+                // Handle Ancienne Diplome
+                Set<Diplome> diplomeSet = diplomeDTO.getAncienne_Diplome() != null ?
+                        diplomeDTO.getAncienne_Diplome().stream()
+                                .filter(name -> name != null && !name.trim().isEmpty())
+                                .map(name -> {
+                                    logger.debug("Processing ancienne diplome with name: {}", name);
+                                    Diplome d = diplomeService.findByName(name);
+                                    if (d == null) {
+                                        d = new Diplome();
+                                        d.setName(name);
+                                        d.setVille("Unknown");
+                                        d.setEcole("Unknown");
+                                        d.setDuration(0);
+                                        d.setMatiereEtudiants(new HashSet<>());
+                                        d.setDiplomes(new HashSet<>());
+                                        d.setMatiereDiplomes(new HashSet<>());
+                                        diplomeService.save(d);
+                                    }
+                                    return d;
+                                })
+                                .collect(Collectors.toSet()) : new HashSet<>();
+                diplome.setDiplomes(diplomeSet);
+
+                // Handle Employment Opportunities
+                Set<EmploymentOpportunity> opportunities = diplomeDTO.getEmployement_Opportunities() != null ?
+                        diplomeDTO.getEmployement_Opportunities().stream()
+                                .filter(opp -> opp != null && !opp.trim().isEmpty())
+                                .map(opp -> {
+                                    logger.debug("Fetching employment opportunity: {}", opp);
+                                    EmploymentOpportunity e = employmentService.findByName(opp);
+                                    if (e == null) {
+                                        e = new EmploymentOpportunity();
+                                        e.setOppotunity(opp);
+                                        employmentService.save(e);
+                                        logger.debug("Created and saved new employment opportunity: {}", e);
+                                    }
+                                    return e;
+                                })
+                                .collect(Collectors.toSet()) : new HashSet<>();
+                diplome.setOpportunities(opportunities);
+                logger.debug("Set opportunities: {}", opportunities);
+
+                // Handle Careers
+                Set<Career> careers = diplomeDTO.getCareer() != null ?
+                        diplomeDTO.getCareer().stream()
+                                .filter(careerName -> careerName != null && !careerName.trim().isEmpty())
+                                .map(careerName -> {
+                                    logger.debug("Fetching career: {}", careerName);
+                                    Career c = careerService.findByName(careerName);
+                                    if (c == null) {
+                                        c = new Career();
+                                        c.setCareer(careerName);
+                                        careerService.save(c);
+                                        logger.debug("Created and saved new career: {}", c);
+                                    }
+                                    return c;
+                                })
+                            
+                                .collect(Collectors.toSet()) : new HashSet<>();
+                diplome.setCareers(careers);
+                logger.debug("Set careers: {}", careers);
+
+                // Handle Filieres
+                Set<Filiere> filieres = diplomeDTO.getFiliere() != null ?
+                        diplomeDTO.getFiliere().stream()
+                                .filter(fil -> fil != null && !fil.trim().isEmpty())
+                                .map(fil -> {
+                                    logger.debug("Fetching filiere: {}", fil);
+                                    Filiere f = filiereService.findByName(fil);
+                                    if (f == null) {
+                                        f = new Filiere();
+                                        f.setFiliere(fil);
+                                        filiereService.save(f);
+                                        logger.debug("Created and saved new filiere: {}", f);
+                                    }
+                                    return f;
+                                })
+                                .collect(Collectors.toSet()) : new HashSet<>();
+                diplome.setFilieres(filieres);
+                logger.debug("Set filieres: {}", filieres);
+
+                // Handle MatiereEtudiant
+                Set<MatiereEtudiant> matiereEtudiants = diplomeDTO.getMatieres_Etudiant() != null ?
+                        diplomeDTO.getMatieres_Etudiant().stream()
+                                .filter(mat -> mat != null && !mat.trim().isEmpty())
+                                .map(mat -> {
+                                    logger.debug("Fetching matiereEtudiant: {}", mat);
+                                    MatiereEtudiant m = matiereEtudService.findByName(mat);
+                                    if (m == null) {
+                                        m = new MatiereEtudiant();
+                                        m.setMatiere(mat);
+                                        matiereEtudService.save(m);
+                                        logger.debug("Created and saved new matiereEtudiant: {}", m);
+                                    }
+                                    return m;
+                                })
+                                .collect(Collectors.toSet()) : new HashSet<>();
+                diplome.setMatiereEtudiants(matiereEtudiants);
+                logger.debug("Set matiereEtudiants: {}", matiereEtudiants);
+
+                // Handle MatiereDiplome
+                Set<MatiereDiplome> matiereDiplomes = diplomeDTO.getMatieres_Diplome() != null ?
+                        diplomeDTO.getMatieres_Diplome().stream()
+                                .filter(mat -> mat != null && !mat.trim().isEmpty())
+                                .map(mat -> {
+                                    logger.debug("Fetching matiereDiplome: {}", mat);
+                                    MatiereDiplome m = matiereDiplomeService.findByName(mat);
+                                    if (m == null) {
+                                        m = new MatiereDiplome();
+                                        m.setMatiere(mat);
+                                        matiereDiplomeService.save(m);
+                                        logger.debug("Created and saved new matiereDiplome: {}", m);
+                                    }
+                                    return m;
+                                })
+                                .collect(Collectors.toSet()) : new HashSet<>();
+                diplome.setMatiereDiplomes(matiereDiplomes);
+                logger.debug("Set matiereDiplomes: {}", matiereDiplomes);
+
+                // Save the diploma
+                diplomeService.save(diplome);
+
+                // Create the relationship with match_percentage
+                Double matchPercentage = diplomeDTO.getMatch_percentage() != null ? diplomeDTO.getMatch_percentage() : 0.0;
+                QualifieForRelationship relationship = new QualifieForRelationship(diplome, matchPercentage);
+                diplomeRelationships.add(relationship);
+                logger.debug("Added relationship for diplome: {} with matchPercentage: {}", diplome.getName(), matchPercentage);
+            } catch (Exception e) {
+                logger.error("Failed to process diplomeDTO: {}. Continuing with next diploma.", diplomeDTO.getNom_Diplôme(), e);
+            }
+        }
+
+        // Step 4: Associate new diploma relationships with the user and save
+        try {
+            user.setDiplomeRelationships(diplomeRelationships);
+            logger.debug("User prepared with {} diploma relationships: {}", diplomeRelationships.size(), email);
+            userService.save(user);
+            logger.debug("Saved user: {}", LogPayload.user(user));
+        } catch (Exception e) {
+            logger.error("Failed to save user: {}", email, e);
+            throw new RuntimeException("Failed to save user", e);
+        }
+
+        logger.debug("Stored recommendations: {} diploma relationships saved", diplomeRelationships.size());
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stores freshly computed recommendations after the response has been sent. Writes run on a
+ * bounded pool ({@code recommendation.write-behind.*}); when its queue is full the caller
+ * stores the list itself, which slows a bulk recompute down instead of dropping writes.
+ *
+ * Writes are keyed by email: at most one runs per student at a time, and lists submitted while
+ * one is queued or running replace each other, so only the latest is written next. A failed
+ * write is retried with a growing backoff unless a newer list has arrived in the meantime.
+ * Until its list is in Neo4j, {@link #recent(String)} serves it to the student's next request.
+ */
+@Service
+public class RecommendationWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationWriteBehind.class);
+
+    @Autowired
+    private RecommendationStore recommendationStore;
+
+    @Autowired
+    private RecommendationStages stages;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${recommendation.write-behind.threads:4}")
+    private int threads;
+
+    @Value("${recommendation.write-behind.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${recommendation.write-behind.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${recommendation.write-behind.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${recommendation.write-behind.buffer-ttl-ms:60000}")
+    private long bufferTtlMs;
+
+    private record Write(List<DiplomeDTO> diplomas, long expiresAt) {
+    }
+
+    // Latest list per email not yet picked up by a writer
+    private final Map<String, Write> queued = new ConcurrentHashMap<>();
+    // Emails with a writer scheduled or running
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+    // Submitted lists not yet known to be in Neo4j, for read-your-writes
+    private final Map<String, Write> buffer = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-write-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("recommendation.write_behind.queued", queued, Map::size)
+                .description("Students whose recommendations wait for a writer")
+                .register(meterRegistry);
+        Gauge.builder("recommendation.write_behind.buffered", buffer, Map::size)
+                .description("Students served from the write-behind buffer")
+                .register(meterRegistry);
+    }
+
+    // Lets queued writes finish on a graceful shutdown
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Shutting down with {} recommendation writes still queued", queued.size());
+        }
+    }
+
+    /** Stores the list in the background; it replaces any list for the same email not yet written. */
+    public void submit(String email, List<DiplomeDTO> diplomas) {
+        Write write = new Write(diplomas, System.currentTimeMillis() + bufferTtlMs);
+        buffer.put(email, write);
+        queued.put(email, write);
+        if (active.add(email)) {
+            executor.execute(() -> drain(email));
+        }
+    }
+
+    /**
+     * The latest list submitted for this email if it may not be readable from Neo4j yet, else
+     * null. A list whose writes keep failing is served until {@code buffer-ttl-ms} has passed.
+     */
+    public List<DiplomeDTO> recent(String email) {
+        Write write = buffer.get(email);
+        if (write == null) {
+            return null;
+        }
+        if (write.expiresAt() < System.currentTimeMillis()) {
+            buffer.remove(email, write);
+            return null;
+        }
+        return write.diplomas();
+    }
+
+    private void drain(String email) {
+        while (true) {
+            Write write = queued.remove(email);
+            if (write == null) {
+                active.remove(email);
+                // A submit between the remove above and this one saw the email active and did not schedule
+                if (queued.containsKey(email) && active.add(email)) {
+                    continue;
+                }
+                return;
+            }
+            store(email, write);
+        }
+    }
+
+    private void store(String email, Write write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                stages.time(RecommendationStages.STORE, () -> recommendationStore.store(write.diplomas(), email));
+                buffer.remove(email, write);
+                count("stored");
+                return;
+            } catch (RuntimeException e) {
+                if (queued.containsKey(email)) {
+                    // A newer list replaces this one anyway
+                    count("superseded");
+                    return;
+                }
+                if (attempt >= maxAttempts) {
+                    count("failed");
+                    logger.error("Giving up storing recommendations for {} after {} attempts", email, attempt, e);
+                    return;
+                }
+                count("retried");
+                logger.warn("Storing recommendations for {} failed (attempt {} of {}): {}",
+                        email, attempt, maxAttempts, e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("recommendation.write_behind.writes")
+                .description("Background recommendation writes by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
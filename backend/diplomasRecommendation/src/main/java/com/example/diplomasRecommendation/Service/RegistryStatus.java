@@ -0,0 +1,42 @@
+package com.example.diplomasRecommendation.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+
+/**
+ * Keeps the Eureka registration in step with readiness. The instance registers as
+ * {@code eureka.instance.initial-status} (STARTING), which the load balancers skip, and is only
+ * switched to UP once Spring Boot reports ACCEPTING_TRAFFIC, i.e. after {@link WarmupService}
+ * has run. Refusing traffic again (e.g. on shutdown) takes it OUT_OF_SERVICE.
+ */
+@Service
+public class RegistryStatus {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistryStatus.class);
+
+    // Absent when the Eureka client is disabled
+    @Autowired
+    private ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager == null) {
+            return;
+        }
+        InstanceStatus status = event.getState() == ReadinessState.ACCEPTING_TRAFFIC
+                ? InstanceStatus.UP
+                : InstanceStatus.OUT_OF_SERVICE;
+        logger.info("Readiness {}: registering as {}", event.getState(), status);
+        manager.setInstanceStatus(status);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.diplomasRecommendation.Service;
+
+import com.example.common.schema.SchemaDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migrations and extra lookups of userdiplomas, applied and checked on startup by the shared
+ * {@link com.example.common.schema.SchemaBootstrap}.
+ */
+@Component
+public class ServiceSchema implements SchemaDefinition {
+
+    private static final List<List<String>> MIGRATIONS = List.of(
+            // 1: every node here has an assigned String id. The database is shared with
+            // FeedbackService, which creates the same constraints under the same names
+            List.of(
+                    "CREATE CONSTRAINT user_email IF NOT EXISTS FOR (n:User) REQUIRE n.email IS UNIQUE",
+                    "CREATE CONSTRAINT diplome_name IF NOT EXISTS FOR (n:Diplome) REQUIRE n.name IS UNIQUE",
+                    "CREATE CONSTRAINT career_career IF NOT EXISTS FOR (n:Career) REQUIRE n.career IS UNIQUE",
+                    "CREATE CONSTRAINT filiere_filiere IF NOT EXISTS FOR (n:Filiere) REQUIRE n.filiere IS UNIQUE",
+                    "CREATE CONSTRAINT mention_mention IF NOT EXISTS FOR (n:Mention) REQUIRE n.mention IS UNIQUE",
+                    "CREATE CONSTRAINT employment_opportunity_oppotunity IF NOT EXISTS FOR (n:EmploymentOpportunity) REQUIRE n.oppotunity IS UNIQUE",
+                    "CREATE CONSTRAINT matiere_diplome_matiere IF NOT EXISTS FOR (n:MatiereDiplome) REQUIRE n.matiere IS UNIQUE",
+                    "CREATE CONSTRAINT matiere_etudiant_matiere IF NOT EXISTS FOR (n:MatiereEtudiant) REQUIRE n.matiere IS UNIQUE"
+            )
+    );
+
+    // Lookups the services run through the Neo4jClient or Neo4jTemplate rather than a repository
+    private static final Map<String, String> LOOKUPS = Map.of(
+            "UserService.countRecommendations", UserService.COUNT_RECOMMENDATIONS,
+            "UserService.findRecommendationPage", UserService.recommendationPageQuery(false)
+    );
+
+    @Override
+    public String service() {
+        return "userdiplomas";
+    }
+
+    @Override
+    public List<List<String>> migrations() {
+        return MIGRATIONS;
+    }
+
+    @Override
+    public Map<String, String> lookups() {
+        return LOOKUPS;
+    }
+}
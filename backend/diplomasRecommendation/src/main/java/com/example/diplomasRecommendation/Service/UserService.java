@@ -1,13 +1,17 @@
 package com.example.diplomasRecommendation.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.stereotype.Service;
 
+import com.example.diplomasRecommendation.Logging.LogPayload;
 import com.example.diplomasRecommendation.Model.Diplome;
 import com.example.diplomasRecommendation.Model.User;
 import com.example.diplomasRecommendation.Repository.UserRepository;
@@ -17,28 +21,30 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class); // Fixed logger
 
+    // Shared with ReactiveRecommendationPipeline, which runs the same reads on the reactive driver
+    static final String COUNT_RECOMMENDATIONS =
+            "MATCH (:User {email: $email})-[:QUALIFIE_FOR]->(:Diplome) RETURN count(*) AS total";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private Neo4jClient neo4jClient;
+
     public void save(User user) {
-        logger.info("Saving user: {}", user);
         userRepository.save(user);
-        logger.info("User saved successfully in userdiplomas database");
+        logger.debug("Saved {} in userdiplomas database", LogPayload.user(user));
     }
     
 
     public User findByEmail(String email) {
-        logger.info("Searching for user with email: {}", email);
         Optional<User> userOptional = userRepository.findByEmail(email);
-        logger.info("Raw Optional<User> result: isPresent={}, value={}", 
-            userOptional.isPresent(), userOptional.orElse(null));
-        
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            logger.info("User found in userdiplomas database: {}", user);
+            logger.debug("Found {} in userdiplomas database", LogPayload.user(user));
             return user;
         } else {
-            logger.info("No user found with email: {} in userdiplomas database", email);
+            logger.debug("No user found with email: {} in userdiplomas database", email);
             return null;
         }
     }
@@ -49,4 +55,44 @@ public class UserService {
         logger.info("Found {} users", users.size());
         return users;
     }
-}
\ No newline at end of file
+
+    public boolean exists(String email) {
+        return userRepository.existsById(email);
+    }
+
+    public long countRecommendations(String email) {
+        return neo4jClient.query(COUNT_RECOMMENDATIONS)
+                .bind(email).to("email")
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+    }
+
+    /**
+     * Returns one page of the stored recommendations as diploma name to match percentage,
+     * in match order. Sorting and paging happen in Neo4j so the full user graph is not loaded.
+     */
+    public Map<String, Double> findRecommendationPage(String email, int offset, int limit, boolean ascending) {
+        Map<String, Double> page = new LinkedHashMap<>();
+        neo4jClient.query(recommendationPageQuery(ascending))
+                .bind(email).to("email")
+                .bind(offset).to("offset")
+                .bind(limit).to("limit")
+                .fetch()
+                .all()
+                .forEach(row -> page.put((String) row.get("name"), matchPercentage(row)));
+        logger.info("Loaded {} stored recommendations for {} (offset {}, limit {})", page.size(), email, offset, limit);
+        return page;
+    }
+
+    static String recommendationPageQuery(boolean ascending) {
+        return "MATCH (:User {email: $email})-[r:QUALIFIE_FOR]->(d:Diplome) "
+                + "RETURN d.name AS name, r.matchPercentage AS match "
+                + "ORDER BY coalesce(r.matchPercentage, 0.0) " + (ascending ? "ASC" : "DESC") + ", d.name "
+                + "SKIP $offset LIMIT $limit";
+    }
+
+    static Double matchPercentage(Map<String, Object> row) {
+        return row.get("match") != null ? ((Number) row.get("match")).doubleValue() : null;
+    }
+}
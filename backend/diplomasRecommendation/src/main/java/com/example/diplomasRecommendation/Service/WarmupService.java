@@ -0,0 +1,176 @@
+package com.example.diplomasRecommendation.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.diplomasRecommendation.Repository.CareerRepository;
+import com.example.diplomasRecommendation.Repository.DiplomeRepository;
+import com.example.diplomasRecommendation.Repository.EmploymentRepository;
+import com.example.diplomasRecommendation.Repository.FiliereRepository;
+import com.example.diplomasRecommendation.Repository.MatiereDiplomeRepo;
+import com.example.diplomasRecommendation.Repository.MatiereEtudRepo;
+import com.example.diplomasRecommendation.Repository.MentionRepository;
+import com.example.diplomasRecommendation.Repository.UserRepository;
+
+/**
+ * Warms the process up before it takes traffic: opens Bolt connections, initialises the
+ * SDN mapping for every entity, resolves the downstream services through the load balancer
+ * and loads the catalogue with its derived indexes.
+ *
+ * Runs as an {@link ApplicationRunner}, so Spring Boot only switches readiness to
+ * ACCEPTING_TRAFFIC (and /actuator/health/readiness to UP) once it has returned, and only then
+ * does {@link RegistryStatus} mark the Eureka registration UP. Every step is best effort: a
+ * dependency that is down is logged and picked up lazily later.
+ */
+@Service
+public class WarmupService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    // Never matches a stored node, only forces the query and mapping paths to initialise
+    private static final String PROBE_ID = "__warmup__";
+
+    @Autowired
+    private Driver driver;
+
+    @Autowired
+    private LoadBalancerClient loadBalancerClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DiplomeRepository diplomeRepository;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private FiliereRepository filiereRepository;
+
+    @Autowired
+    private MentionRepository mentionRepository;
+
+    @Autowired
+    private EmploymentRepository employmentRepository;
+
+    @Autowired
+    private MatiereDiplomeRepo matiereDiplomeRepo;
+
+    @Autowired
+    private MatiereEtudRepo matiereEtudRepo;
+
+    @Autowired
+    private CatalogueService catalogueService;
+
+    @Autowired
+    private EligibilityIndex eligibilityIndex;
+
+    @Autowired
+    private FallbackRecommender fallbackRecommender;
+
+    @Value("${recommendation.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recommendation.warmup.bolt-connections:4}")
+    private int boltConnections;
+
+    @Value("${recommendation.warmup.services:user-service,gnn-service,admin-service}")
+    private List<String> services;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            logger.info("Startup warm-up disabled");
+            return;
+        }
+        long start = System.nanoTime();
+        step("Bolt connection pool", this::openBoltConnections);
+        step("SDN mapping", this::initialiseMapping);
+        step("Service resolution", this::resolveServices);
+        step("Catalogue", this::loadCatalogue);
+        logger.info("Startup warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        logger.info("Ready to accept traffic {} ms after startup", event.getTimeTaken().toMillis());
+    }
+
+    private void step(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+            logger.info("Warm-up: {} done in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.warn("Warm-up: {} failed after {} ms: {}", name, (System.nanoTime() - start) / 1_000_000,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Holds several transactions open at once so the pool really creates that many
+     * connections instead of reusing a single one.
+     */
+    private void openBoltConnections() {
+        driver.verifyConnectivity();
+        List<Session> sessions = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        try {
+            for (int i = 0; i < boltConnections; i++) {
+                Session session = driver.session();
+                sessions.add(session);
+                Transaction transaction = session.beginTransaction();
+                transactions.add(transaction);
+                transaction.run("RETURN 1").consume();
+            }
+        } finally {
+            transactions.forEach(Transaction::close);
+            sessions.forEach(Session::close);
+        }
+    }
+
+    private void initialiseMapping() {
+        userRepository.findById(PROBE_ID);
+        diplomeRepository.findById(PROBE_ID);
+        careerRepository.findById(PROBE_ID);
+        filiereRepository.findById(PROBE_ID);
+        mentionRepository.findById(PROBE_ID);
+        employmentRepository.findById(PROBE_ID);
+        matiereDiplomeRepo.findById(PROBE_ID);
+        matiereEtudRepo.findById(PROBE_ID);
+    }
+
+    /** Creates the per-service load balancer contexts the @LoadBalanced RestTemplate would build on first use. */
+    private void resolveServices() {
+        for (String service : services) {
+            ServiceInstance instance = loadBalancerClient.choose(service);
+            if (instance == null) {
+                logger.warn("Warm-up: no instance of {} registered yet", service);
+            } else {
+                logger.info("Warm-up: resolved {} to {}", service, instance.getUri());
+            }
+        }
+    }
+
+    private void loadCatalogue() {
+        catalogueService.refresh();
+        logger.info("Warm-up: eligibility index over {} diplomas, fallback model over {}",
+                eligibilityIndex.size(), fallbackRecommender.size());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.diplomasRecommendation.Controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "recommendation.reactive.enabled=true")
+class ReactiveRecommendDiplomasTests extends RecommendDiplomasTests {
+}
@@ -0,0 +1,425 @@
+package com.example.diplomasRecommendation.Controller;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Functional tests for {@code /recommend-diplomas}, run with the same assertions against the
+ * blocking pipeline, the blocking one with write-behind and the reactive one (see the subclasses). Neo4j runs in a
+ * container; user-service, gnn-service and admin-service are stubbed by one local HTTP server
+ * that the load balancer resolves through the simple discovery client.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "eureka.client.enabled=false",
+        "schema.bootstrap.enabled=false",
+        "recommendation.warmup.enabled=false",
+        // The scenarios call /recommend-gnn more often than a student may; see RateLimiterTests
+        "rate-limit.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+abstract class RecommendDiplomasTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int THREADS = 16;
+
+    // What the GNN stub ranks for every student, by match percentage
+    private static final Map<String, Double> GNN_RANKING = new LinkedHashMap<>();
+
+    static {
+        GNN_RANKING.put("Master Data Science", 90.0);
+        GNN_RANKING.put("Licence Mathématiques", 75.0);
+        GNN_RANKING.put("Master Statistique", 60.0);
+    }
+
+    @Container
+    @ServiceConnection
+    static Neo4jContainer<?> neo4j = new Neo4jContainer<>("neo4j:5");
+
+    static final Stubs stubs = Stubs.start();
+
+    @DynamicPropertySource
+    static void services(DynamicPropertyRegistry registry) {
+        for (String service : List.of("user-service", "gnn-service", "admin-service")) {
+            registry.add("spring.cloud.discovery.client.simple.instances." + service + "[0].uri", stubs::url);
+        }
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Test
+    void computesThenServesStoredRecommendations() throws Exception {
+        String email = stubs.student("computed");
+
+        ResponseEntity<String> computed = recommend(email, "");
+        assertEquals(200, computed.getStatusCode().value());
+        assertEquals("3", computed.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(List.of("Master Data Science", "Licence Mathématiques", "Master Statistique"), names(computed));
+        assertEquals(List.of(90.0, 75.0, 60.0), matches(computed));
+
+        awaitStored(email, 3);
+        ResponseEntity<String> stored = recommend(email, "");
+        assertEquals("3", stored.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(names(computed), names(stored));
+        assertEquals(matches(computed), matches(stored));
+        assertEquals(1, stubs.gnnCalls(email));
+    }
+
+    @Test
+    void nextRequestSeesTheComputedRecommendations() throws Exception {
+        String email = stubs.student("read-your-writes");
+
+        ResponseEntity<String> computed = recommend(email, "");
+        ResponseEntity<String> next = recommend(email, "");
+        assertEquals("3", next.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(names(computed), names(next));
+        assertEquals(matches(computed), matches(next));
+        assertEquals(1, stubs.gnnCalls(email));
+        awaitStored(email, 3);
+    }
+
+    @Test
+    void pagesComputedAndStoredRecommendationsAlike() throws Exception {
+        String email = stubs.student("paged");
+
+        ResponseEntity<String> computed = recommend(email, "?limit=2&offset=1&order=asc");
+        assertEquals("3", computed.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(List.of("Licence Mathématiques", "Master Data Science"), names(computed));
+
+        awaitStored(email, 3);
+        ResponseEntity<String> stored = recommend(email, "?limit=2&offset=1&order=asc");
+        assertEquals("3", stored.getHeaders().getFirst("X-Total-Count"));
+        assertEquals(names(computed), names(stored));
+
+        assertEquals(List.of("Master Data Science"), names(recommend(email, "?limit=1")));
+    }
+
+    @Test
+    void readsTheProfilesEmailWhenTheTokenSubjectDiffers() throws Exception {
+        String email = stubs.student("subject");
+        String other = stubs.student("other-subject");
+        recommend(other, "");
+        awaitStored(other, 3);
+
+        // A token whose subject names another stored student must not serve that student's page
+        String token = Stubs.token(other) + "-" + UUID.randomUUID();
+        stubs.alias(token, email);
+        ResponseEntity<String> response = restTemplate.exchange("/api/recommend-diplomas", HttpMethod.GET,
+                new HttpEntity<>(bearer(token)), String.class);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, stubs.gnnCalls(email));
+        awaitStored(email, 3);
+    }
+
+    @Test
+    void concurrentRequestsForOneStudentShareOneComputation() throws Exception {
+        String email = stubs.student("tabs");
+        stubs.slowGnn(email, 500);
+
+        List<ResponseEntity<String>> responses = runConcurrently(thread -> recommend(email, ""));
+        for (ResponseEntity<String> response : responses) {
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(List.of("Master Data Science", "Licence Mathématiques", "Master Statistique"), names(response));
+        }
+        assertEquals(1, stubs.gnnCalls(email));
+        awaitStored(email, 3);
+        assertEquals(3, count("MATCH (:User {email: $email})-[:QUALIFIE_FOR]->(d:Diplome) RETURN count(DISTINCT d)", email));
+    }
+
+    @Test
+    void concurrentRecomputesLeaveOneConsistentList() throws Exception {
+        String email = stubs.student("recompute");
+        recommend(email, "");
+        awaitStored(email, 3);
+        stubs.slowGnn(email, 200);
+
+        // Waves of recomputes: callers within a wave share one run, the waves' writes must not interleave
+        for (int wave = 0; wave < 3; wave++) {
+            for (ResponseEntity<Void> response : runConcurrently(thread -> restTemplate.exchange("/api/recommend-gnn",
+                    HttpMethod.GET, new HttpEntity<>(bearer(Stubs.token(email))), Void.class))) {
+                assertEquals(200, response.getStatusCode().value());
+            }
+        }
+        // The first computation, then one run per wave, allowing for a late caller starting another
+        assertTrue(stubs.gnnCalls(email) <= 1 + 3 * 2, "recomputes were not coalesced: " + stubs.gnnCalls(email));
+        awaitStored(email, 3);
+        assertEquals(3, count("MATCH (:User {email: $email})-[:QUALIFIE_FOR]->(d:Diplome) RETURN count(DISTINCT d)", email));
+        assertEquals(List.of("Master Data Science", "Licence Mathématiques", "Master Statistique"),
+                names(recommend(email, "")));
+    }
+
+    @Test
+    void servesFallbackWithoutStoringWhenGnnIsDown() throws Exception {
+        String email = stubs.student("fallback");
+        stubs.gnnDown(email);
+
+        ResponseEntity<String> response = recommend(email, "");
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(new HashSet<>(GNN_RANKING.keySet()), new HashSet<>(names(response)));
+        assertTrue(matches(response).stream().allMatch(match -> match > 0));
+
+        recommend(email, "");
+        assertEquals(2, stubs.gnnCalls(email));
+        assertEquals(0, count("MATCH (u:User {email: $email}) RETURN count(u)", email));
+    }
+
+    @Test
+    void storedUserWithoutRecommendationsGetsTheEmptyMessage() {
+        String email = stubs.student("empty");
+        neo4jClient.query("CREATE (:User {email: $email})").bind(email).to("email").run();
+
+        ResponseEntity<String> response = recommend(email, "");
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("No diploma recommendations available", response.getBody());
+        assertEquals(0, stubs.gnnCalls(email));
+    }
+
+    @Test
+    void rejectsInvalidParametersAndMissingTokens() {
+        String email = stubs.student("invalid");
+        assertEquals(400, recommend(email, "?limit=-1").getStatusCode().value());
+        assertEquals(400, recommend(email, "?sort=name").getStatusCode().value());
+        assertEquals(400, recommend(email, "?order=up").getStatusCode().value());
+        assertTrue(restTemplate.getForEntity("/api/recommend-diplomas", String.class)
+                .getStatusCode().is5xxServerError());
+        assertEquals(0, stubs.gnnCalls(email));
+    }
+
+    private ResponseEntity<String> recommend(String email, String query) {
+        return restTemplate.exchange("/api/recommend-diplomas" + query, HttpMethod.GET,
+                new HttpEntity<>(bearer(Stubs.token(email))), String.class);
+    }
+
+    private static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private static List<String> names(ResponseEntity<String> response) throws IOException {
+        return Arrays.stream(MAPPER.readValue(response.getBody(), DiplomeDTO[].class))
+                .map(DiplomeDTO::getNom_Diplôme).collect(Collectors.toList());
+    }
+
+    private static List<Double> matches(ResponseEntity<String> response) throws IOException {
+        return Arrays.stream(MAPPER.readValue(response.getBody(), DiplomeDTO[].class))
+                .map(DiplomeDTO::getMatch_percentage).collect(Collectors.toList());
+    }
+
+    // The reactive and write-behind modes store computed recommendations after responding
+    private void awaitStored(String email, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count("MATCH (:User {email: $email})-[r:QUALIFIE_FOR]->() RETURN count(r)", email) != expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "recommendations for " + email + " were not stored");
+            Thread.sleep(50);
+        }
+    }
+
+    private static <T> List<T> runConcurrently(Function<Integer, T> request) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return request.apply(id);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long count(String query, String email) {
+        return neo4jClient.query(query).bind(email).to("email").fetchAs(Long.class).one().orElse(0L);
+    }
+
+    /** user-service, gnn-service and admin-service on one port; GNN calls are counted per student. */
+    static final class Stubs {
+
+        private final HttpServer server;
+        private final Map<String, String> profiles = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> gnnCalls = new ConcurrentHashMap<>();
+        private final Set<String> gnnDown = ConcurrentHashMap.newKeySet();
+        private final Map<String, Long> gnnDelays = new ConcurrentHashMap<>();
+
+        private Stubs(HttpServer server) {
+            this.server = server;
+        }
+
+        static Stubs start() {
+            try {
+                Stubs stubs = new Stubs(HttpServer.create(new InetSocketAddress("localhost", 0), 0));
+                stubs.server.createContext("/api/auth/me", stubs::me);
+                stubs.server.createContext("/api/recommend/", stubs::recommend);
+                stubs.server.createContext("/api/diplomas/diplomas", stubs::catalogue);
+                stubs.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+                stubs.server.start();
+                return stubs;
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        // Unique emails keep the tests independent of each other and of the order they run in
+        String student(String name) {
+            String email = name + "-" + UUID.randomUUID() + "@example.com";
+            alias(token(email), email);
+            return email;
+        }
+
+        void alias(String token, String email) {
+            profiles.put(token, email);
+        }
+
+        void gnnDown(String email) {
+            gnnDown.add(email);
+        }
+
+        void slowGnn(String email, long delayMs) {
+            gnnDelays.put(email, delayMs);
+        }
+
+        int gnnCalls(String email) {
+            AtomicInteger calls = gnnCalls.get(email);
+            return calls != null ? calls.get() : 0;
+        }
+
+        // An unsigned JWT with the email as subject, as user-service issues them
+        static String token(String email) {
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                    + encoder.encodeToString(("{\"sub\":\"" + email + "\"}").getBytes(StandardCharsets.UTF_8))
+                    + ".signature";
+        }
+
+        private void me(HttpExchange exchange) throws IOException {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            String email = authorization != null ? profiles.get(authorization.substring("Bearer ".length())) : null;
+            if (email == null) {
+                respond(exchange, 401, "");
+                return;
+            }
+            Map<String, Object> profile = new LinkedHashMap<>();
+            profile.put("email", email);
+            profile.put("filiere", "Sciences Maths");
+            profile.put("subjects", List.of("Mathématiques", email));
+            profile.put("careerAspirations", List.of("Data Scientist"));
+            profile.put("montionBac", "Bien");
+            profile.put("duree", 3);
+            respond(exchange, 200, MAPPER.writeValueAsString(profile));
+        }
+
+        private void recommend(HttpExchange exchange) throws IOException {
+            // Students are told apart by the extra subject each profile carries: its email
+            Map<?, ?> body = MAPPER.readValue(exchange.getRequestBody(), Map.class);
+            String email = ((List<?>) body.get("Matieres_Etudiant")).stream()
+                    .map(String::valueOf)
+                    .filter(subject -> subject.contains("@"))
+                    .findFirst().orElse("unknown");
+            gnnCalls.computeIfAbsent(email, key -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(gnnDelays.getOrDefault(email, 0L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (gnnDown.contains(email)) {
+                respond(exchange, 503, "");
+                return;
+            }
+            List<Map<String, Object>> ranked = new ArrayList<>();
+            GNN_RANKING.forEach((name, match) -> {
+                Map<String, Object> diploma = new LinkedHashMap<>();
+                diploma.put("Nom_Diplôme", name);
+                diploma.put("Ecole", "ENSIAS");
+                diploma.put("Ville", "Rabat");
+                diploma.put("Durée", 3);
+                diploma.put("Filiere", List.of("Sciences Maths"));
+                diploma.put("Career", List.of("Data Scientist"));
+                diploma.put("Matieres_Etudiant", List.of("Mathématiques"));
+                diploma.put("Mention_Bac", "Passable");
+                diploma.put("match_percentage", match);
+                ranked.add(diploma);
+            });
+            respond(exchange, 200, MAPPER.writeValueAsString(ranked));
+        }
+
+        private void catalogue(HttpExchange exchange) throws IOException {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (String name : GNN_RANKING.keySet()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("nomDiplome", name);
+                row.put("ecole", "ENSIAS");
+                row.put("ville", "Rabat");
+                row.put("duree", 3);
+                row.put("mentionBac", "Passable");
+                row.put("filiere", List.of("Sciences Maths"));
+                row.put("career", List.of("Data Scientist"));
+                row.put("matieresEtudiant", List.of("Mathématiques"));
+                rows.add(row);
+            }
+            respond(exchange, 200, MAPPER.writeValueAsString(rows));
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+            exchange.close();
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.example.diplomasRecommendation;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"schema.bootstrap.enabled=false", "recommendation.warmup.enabled=false"})
 class DiplomasRecommendationApplicationTests {
 
 	@Test
@@ -0,0 +1,51 @@
+package com.example.diplomasRecommendation.Mapper;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiplomeMapperTests {
+
+    private final DiplomeMapper diplomeMapper = new DiplomeMapper();
+
+    @Test
+    void equalMatchesAreOrderedByNameInBothDirections() {
+        List<DiplomeDTO> diplomas = List.of(
+                diploma("Licence C", 50.0),
+                diploma("Licence A", 50.0),
+                diploma("Master", 80.0),
+                diploma("Licence B", 50.0),
+                diploma("Licence D", null));
+
+        assertEquals(List.of("Master", "Licence A", "Licence B", "Licence C", "Licence D"),
+                names(diplomeMapper.page(diplomas, 0, 10, false)));
+        assertEquals(List.of("Licence D", "Licence A", "Licence B", "Licence C", "Master"),
+                names(diplomeMapper.page(diplomas, 0, 10, true)));
+    }
+
+    @Test
+    void pagesDoNotOverlapAcrossTies() {
+        List<DiplomeDTO> diplomas = List.of(
+                diploma("Licence C", 50.0),
+                diploma("Licence A", 50.0),
+                diploma("Licence B", 50.0),
+                diploma("Licence D", 50.0));
+
+        assertEquals(List.of("Licence A", "Licence B"), names(diplomeMapper.page(diplomas, 0, 2, false)));
+        assertEquals(List.of("Licence C", "Licence D"), names(diplomeMapper.page(diplomas, 2, 2, false)));
+    }
+
+    private static List<String> names(List<DiplomeDTO> diplomas) {
+        return diplomas.stream().map(DiplomeDTO::getNom_Diplôme).toList();
+    }
+
+    private static DiplomeDTO diploma(String name, Double match) {
+        DiplomeDTO diploma = new DiplomeDTO();
+        diploma.setNom_Diplôme(name);
+        diploma.setMatch_percentage(match);
+        return diploma;
+    }
+}
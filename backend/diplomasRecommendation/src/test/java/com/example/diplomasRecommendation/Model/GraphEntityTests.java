@@ -0,0 +1,130 @@
+package com.example.diplomasRecommendation.Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphEntityTests {
+
+    // Far deeper than a thread stack can recurse through generated hashCode/toString calls
+    private static final int DEPTH = 100_000;
+
+    @Test
+    void hashingDoesNotDependOnTheGraphBehindANode() {
+        Diplome shallow = diplome("Master IA");
+        Diplome deep = chain("Master IA", DEPTH);
+
+        assertEquals(shallow, deep);
+        assertEquals(shallow.hashCode(), deep.hashCode());
+        assertTrue(new HashSet<>(Set.of(shallow)).contains(deep));
+    }
+
+    @Test
+    void hashingNeverVisitsRelationships() {
+        Diplome root = diplome("Master IA");
+        root.getDiplomes().add(new Tripwire("Licence Informatique"));
+        root.setMention(new Mention());
+
+        assertDoesNotThrow(root::hashCode);
+        assertDoesNotThrow(root::toString);
+        assertDoesNotThrow(() -> Set.of(root).contains(diplome("Master IA")));
+    }
+
+    @Test
+    void cyclicGraphsHashAndRender() {
+        Diplome master = diplome("Master IA");
+        Diplome licence = diplome("Licence Informatique");
+        master.getDiplomes().add(licence);
+        licence.getDiplomes().add(master);
+        master.getDiplomes().add(master);
+
+        User user = new User();
+        user.setEmail("student@example.com");
+        user.setDiplomes(List.of(master, licence));
+
+        assertDoesNotThrow(master::hashCode);
+        assertDoesNotThrow(user::hashCode);
+        assertEquals("Diplome(name=Master IA, ville=Rabat, ecole=ENSIAS, duration=2, diplomes=2)", master.toString());
+        assertEquals("User(email=student@example.com, diplomeRelationships=2)", user.toString());
+        assertEquals("QualifieForRelationship(id=null, matchPercentage=0.0, updatedAt="
+                + user.getDiplomeRelationships().get(0).getUpdatedAt() + ", diplome=Master IA)",
+                user.getDiplomeRelationships().get(0).toString());
+    }
+
+    @Test
+    void deepChainsDoNotOverflowTheStack() {
+        Diplome root = chain("Master IA", DEPTH);
+        User user = new User();
+        user.setEmail("student@example.com");
+        user.setDiplomes(List.of(root));
+
+        assertDoesNotThrow(root::hashCode);
+        assertDoesNotThrow(root::toString);
+        assertDoesNotThrow(user::hashCode);
+        assertDoesNotThrow(user::toString);
+        assertDoesNotThrow(() -> user.getDiplomeRelationships().get(0).toString());
+    }
+
+    @Test
+    void relationshipsAreEqualOnlyOnceSavedWithTheSameId() {
+        Diplome master = diplome("Master IA");
+        QualifieForRelationship first = new QualifieForRelationship(master, 80.0);
+        QualifieForRelationship second = new QualifieForRelationship(master, 80.0);
+        assertNotEquals(first, second);
+        assertEquals(first, first);
+
+        int unsavedHash = first.hashCode();
+        first.setId(7L);
+        second.setId(7L);
+        assertEquals(first, second);
+        assertEquals(unsavedHash, first.hashCode());
+    }
+
+    private static Diplome diplome(String name) {
+        Diplome diplome = new Diplome();
+        diplome.setName(name);
+        diplome.setVille("Rabat");
+        diplome.setEcole("ENSIAS");
+        diplome.setDuration(2);
+        return diplome;
+    }
+
+    // name -> name#1 -> ... -> name#depth over SHOULD_HAVE
+    private static Diplome chain(String name, int depth) {
+        Diplome root = diplome(name);
+        Diplome current = root;
+        for (int i = 1; i <= depth; i++) {
+            Diplome previous = diplome(name + "#" + i);
+            current.getDiplomes().add(previous);
+            current = previous;
+        }
+        return root;
+    }
+
+    // Fails the test if anything walks into this node's relationships
+    private static class Tripwire extends Diplome {
+
+        Tripwire(String name) {
+            setName(name);
+        }
+
+        @Override
+        public Set<Diplome> getDiplomes() {
+            throw new AssertionError("SHOULD_HAVE traversed");
+        }
+
+        @Override
+        public Mention getMention() {
+            throw new AssertionError("HAS_MENTION traversed");
+        }
+
+        @Override
+        public Set<Career> getCareers() {
+            throw new AssertionError("RELATED_TO traversed");
+        }
+    }
+}
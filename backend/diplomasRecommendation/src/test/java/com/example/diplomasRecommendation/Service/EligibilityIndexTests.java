@@ -0,0 +1,111 @@
+package com.example.diplomasRecommendation.Service;
+
+import com.example.diplomasRecommendation.DTO.CatalogueDiplomaDTO;
+import com.example.diplomasRecommendation.DTO.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = EligibilityIndex.class)
+class EligibilityIndexTests {
+
+    private static long version;
+
+    @MockitoBean
+    private CatalogueService catalogueService;
+
+    @Autowired
+    private EligibilityIndex eligibilityIndex;
+
+    @BeforeEach
+    void catalogue() {
+        List<CatalogueDiplomaDTO> diplomas = List.of(
+                diploma("Licence Informatique", 3, "Passable", List.of("Sciences"), List.of("Developpeur"), List.of("Maths")),
+                diploma("Master Informatique", 5, "Très Bien", List.of("Sciences"), List.of("Developpeur"), List.of("Physique")),
+                diploma("Licence Gestion", 3, "Bien", List.of("Economie"), List.of("Comptable"), List.of("Economie")),
+                diploma("Licence Data", 3, "Mention Très Bien", List.of("Sciences", "Economie"), List.of("Data Scientist"), List.of()));
+        when(catalogueService.getDiplomas()).thenReturn(diplomas);
+        // A new version per test so every test builds its own snapshot
+        when(catalogueService.getVersion()).thenReturn(++version);
+    }
+
+    @Test
+    void filtersOnFiliereDurationAndCareerLikeTheModel() {
+        assertEquals(Set.of("Licence Informatique", "Master Informatique", "Licence Data"),
+                eligible(user("Sciences", 0, Set.of())));
+        assertEquals(Set.of("Licence Informatique", "Licence Data"), eligible(user("Sciences", 3, Set.of())));
+        assertEquals(Set.of("Licence Informatique"), eligible(user("Sciences", 3, Set.of("Developpeur"))));
+        // Any shared career is enough
+        assertEquals(Set.of("Licence Informatique", "Licence Data"),
+                eligible(user("Sciences", 3, Set.of("Developpeur", "Data Scientist"))));
+        assertEquals(Set.of(), eligible(user("Lettres", 0, Set.of())));
+    }
+
+    @Test
+    void subjectsAndMentionDoNotFilter() {
+        // The model only scores subject overlap and never checks the mention
+        UserDTO user = user("Sciences", 0, Set.of());
+        user.setSubjects(Set.of("Histoire"));
+        user.setMontionBac("Passable");
+
+        assertEquals(Set.of("Licence Informatique", "Master Informatique", "Licence Data"), eligible(user));
+    }
+
+    @Test
+    void missingProfileValuesLeaveTheirConstraintOut() {
+        assertEquals(4, eligible(user(null, 0, null)).size());
+        assertEquals(Set.of("Licence Gestion"), eligible(user(null, 3, Set.of("Comptable"))));
+    }
+
+    @Test
+    void rebuildsWhenTheCatalogueChanges() {
+        assertEquals(4, eligibilityIndex.size());
+
+        when(catalogueService.getDiplomas()).thenReturn(List.of(
+                diploma("Licence Gestion", 3, "Bien", List.of("Economie"), List.of("Comptable"), List.of())));
+        when(catalogueService.getVersion()).thenReturn(++version);
+
+        assertEquals(1, eligibilityIndex.size());
+        assertEquals(Set.of(), eligible(user("Sciences", 0, Set.of())));
+    }
+
+    @Test
+    void doesNotFilterWithoutACatalogue() {
+        when(catalogueService.getDiplomas()).thenReturn(List.of());
+        when(catalogueService.getVersion()).thenReturn(++version);
+
+        assertNull(eligibilityIndex.eligibleDiplomas(user("Sciences", 3, Set.of())));
+    }
+
+    private Set<String> eligible(UserDTO user) {
+        return new HashSet<>(eligibilityIndex.eligibleDiplomas(user));
+    }
+
+    private static UserDTO user(String filiere, int duree, Set<String> careers) {
+        UserDTO user = new UserDTO();
+        user.setEmail("student@example.com");
+        user.setFiliere(filiere);
+        user.setDuree(duree);
+        user.setCareerAspirations(careers);
+        return user;
+    }
+
+    private static CatalogueDiplomaDTO diploma(String name, int duree, String mention, List<String> filieres,
+                                               List<String> careers, List<String> subjects) {
+        CatalogueDiplomaDTO diploma = new CatalogueDiplomaDTO();
+        diploma.setNomDiplome(name);
+        diploma.setDuree(duree);
+        diploma.setMentionBac(mention);
+        diploma.setFiliere(filieres);
+        diploma.setCareer(careers);
+        diploma.setMatieresEtudiant(subjects);
+        return diploma;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.diplomasRecommendation.Service;
+
+import com.example.diplomasRecommendation.DTO.CatalogueDiplomaDTO;
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import com.example.diplomasRecommendation.DTO.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {FallbackRecommender.class, EligibilityIndex.class})
+class FallbackRecommenderTests {
+
+    private static long version;
+
+    @MockitoBean
+    private CatalogueService catalogueService;
+
+    @Autowired
+    private FallbackRecommender fallbackRecommender;
+
+    @BeforeEach
+    void catalogue() {
+        when(catalogueService.getDiplomas()).thenReturn(List.of(
+                diploma("Licence Informatique A", "Bien", List.of("Developpeur"), List.of("Maths")),
+                diploma("Licence Informatique B", "Mention Très Bien", List.of("Developpeur"), List.of("Maths")),
+                diploma("Licence Data", "Passable", List.of("Data Scientist"), List.of("Maths")),
+                diploma("Licence Chimie", "Passable", List.of("Chimiste"), List.of("Chimie"))));
+        when(catalogueService.getVersion()).thenReturn(++version);
+    }
+
+    @Test
+    void profileAndCatalogueMentionsMeetWhateverTheirLabel() {
+        // The profile says "Très Bien", the catalogue "Mention Très Bien"
+        List<DiplomeDTO> recommended = fallbackRecommender.recommend(user("Très Bien", Set.of("Developpeur")), 2);
+
+        assertEquals(List.of("Licence Informatique B", "Licence Informatique A"), names(recommended));
+        assertTrue(recommended.get(0).getMatch_percentage() > recommended.get(1).getMatch_percentage());
+    }
+
+    @Test
+    void mentionTermsAreTheLevelsWhateverTheLabel() {
+        assertEquals("3", FallbackRecommender.mentionTerm("Très Bien"));
+        assertEquals("3", FallbackRecommender.mentionTerm("Mention Très Bien"));
+        assertEquals("2", FallbackRecommender.mentionTerm(" mention bien "));
+        assertEquals("1", FallbackRecommender.mentionTerm("Assez Bien"));
+        assertEquals("0", FallbackRecommender.mentionTerm("Passable"));
+        assertEquals("excellent", FallbackRecommender.mentionTerm("Excellent"));
+        assertNull(FallbackRecommender.mentionTerm(" "));
+        assertNull(FallbackRecommender.mentionTerm(null));
+    }
+
+    @Test
+    void ranksBySimilarityAndKeepsTheTopK() {
+        List<DiplomeDTO> recommended = fallbackRecommender.recommend(user("Passable", Set.of()), 2);
+
+        assertEquals(2, recommended.size());
+        assertEquals("Licence Data", recommended.get(0).getNom_Diplôme());
+        assertFalse(names(recommended).contains("Licence Chimie"));
+        for (int i = 1; i < recommended.size(); i++) {
+            assertTrue(recommended.get(i - 1).getMatch_percentage() >= recommended.get(i).getMatch_percentage());
+        }
+    }
+
+    private static List<String> names(List<DiplomeDTO> diplomas) {
+        return diplomas.stream().map(DiplomeDTO::getNom_Diplôme).toList();
+    }
+
+    private static UserDTO user(String mention, Set<String> careers) {
+        UserDTO user = new UserDTO();
+        user.setEmail("student@example.com");
+        user.setFiliere("Sciences");
+        user.setSubjects(Set.of("Maths"));
+        user.setCareerAspirations(careers);
+        user.setMontionBac(mention);
+        return user;
+    }
+
+    private static CatalogueDiplomaDTO diploma(String name, String mention, List<String> careers, List<String> subjects) {
+        CatalogueDiplomaDTO diploma = new CatalogueDiplomaDTO();
+        diploma.setNomDiplome(name);
+        diploma.setDuree(3);
+        diploma.setMentionBac(mention);
+        diploma.setFiliere(List.of("Sciences"));
+        diploma.setCareer(careers);
+        diploma.setMatieresEtudiant(subjects);
+        return diploma;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.diplomasRecommendation.Service;
+
+import com.example.diplomasRecommendation.DTO.DiplomeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.testcontainers.containers.Neo4jContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "eureka.client.enabled=false",
+        "schema.bootstrap.enabled=false",
+        "recommendation.warmup.enabled=false"})
+@Testcontainers(disabledWithoutDocker = true)
+class RecommendationConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Container
+    @ServiceConnection
+    static Neo4jContainer<?> neo4j = new Neo4jContainer<>("neo4j:5");
+
+    @Autowired
+    private RecommendationStore recommendationStore;
+
+    @Autowired
+    private RecommendationSingleFlight singleFlight;
+
+    @Autowired
+    private Neo4jClient neo4jClient;
+
+    @Test
+    void concurrentStoresForOneStudentLeaveOneWholeList() throws Exception {
+        String email = "stores-" + UUID.randomUUID() + "@example.com";
+        List<List<DiplomeDTO>> lists = List.of(
+                diplomas("Concurrent store A", 4),
+                diplomas("Concurrent store B", 4),
+                diplomas("Concurrent store C", 4));
+
+        runConcurrently(thread -> {
+            recommendationStore.store(lists.get(thread % lists.size()), email);
+            return null;
+        });
+
+        Set<String> linked = new HashSet<>(neo4jClient.query(
+                        "MATCH (:User {email: $email})-[:QUALIFIE_FOR]->(d:Diplome) RETURN d.name")
+                .bind(email).to("email")
+                .fetchAs(String.class)
+                .all());
+        assertEquals(4, linked.size());
+        assertTrue(lists.stream().anyMatch(list -> names(list).equals(linked)),
+                "stored a mix of several lists: " + linked);
+        assertEquals(4, count("MATCH (:User {email: $email})-[r:QUALIFIE_FOR]->() RETURN count(r)", email));
+    }
+
+    @Test
+    void concurrentStudentsStoreIndependently() throws Exception {
+        String prefix = "student-" + UUID.randomUUID();
+
+        runConcurrently(thread -> {
+            recommendationStore.store(diplomas("Independent " + thread, 2), prefix + "-" + thread + "@example.com");
+            return null;
+        });
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            assertEquals(2, count("MATCH (:User {email: $email})-[r:QUALIFIE_FOR]->() RETURN count(r)",
+                    prefix + "-" + thread + "@example.com"));
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        String email = "flight-" + UUID.randomUUID() + "@example.com";
+        ConcurrentLinkedQueue<Integer> computations = new ConcurrentLinkedQueue<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        Future<List<List<DiplomeDTO>>> results = caller.submit(() ->
+                runConcurrently(thread -> singleFlight.run(email, () -> {
+                    computations.add(thread);
+                    await(release);
+                    return diplomas("Shared", 3);
+                })));
+        // Let every caller arrive while the first computation is still running
+        Thread.sleep(500);
+        release.countDown();
+
+        List<List<DiplomeDTO>> shared = results.get(60, TimeUnit.SECONDS);
+        caller.shutdown();
+        assertEquals(1, computations.size());
+        assertTrue(shared.stream().allMatch(list -> list == shared.get(0)));
+    }
+
+    @Test
+    void callersSharingAFailedComputationAllSeeTheFailure() throws Exception {
+        String email = "failed-flight-" + UUID.randomUUID() + "@example.com";
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        Future<List<String>> results = caller.submit(() ->
+                runConcurrently(thread -> {
+                    try {
+                        singleFlight.run(email, () -> {
+                            await(release);
+                            throw new IllegalStateException("GNN down");
+                        });
+                        return "no failure";
+                    } catch (IllegalStateException e) {
+                        return e.getMessage();
+                    }
+                }));
+        Thread.sleep(500);
+        release.countDown();
+
+        assertTrue(results.get(60, TimeUnit.SECONDS).stream().allMatch("GNN down"::equals));
+        caller.shutdown();
+        // The failed flight is gone, the next caller computes again
+        assertEquals(1, singleFlight.run(email, () -> diplomas("Retry", 1)).size());
+    }
+
+    private static List<DiplomeDTO> diplomas(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            DiplomeDTO diplome = new DiplomeDTO();
+            diplome.setNom_Diplôme(prefix + " " + i);
+            diplome.setEcole("ENSIAS");
+            diplome.setVille("Rabat");
+            diplome.setDurée(2);
+            diplome.setCareer(Set.of("Data Scientist"));
+            diplome.setMatch_percentage(90.0 - i);
+            return diplome;
+        }).collect(Collectors.toList());
+    }
+
+    private static Set<String> names(List<DiplomeDTO> diplomas) {
+        return diplomas.stream().map(DiplomeDTO::getNom_Diplôme).collect(Collectors.toSet());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long count(String query, String email) {
+        return neo4jClient.query(query).bind(email).to("email").fetchAs(Long.class).one().orElse(0L);
+    }
+
+    private <T> List<T> runConcurrently(ThreadTask<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.run(id);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask<T> {
+        T run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.diplomasRecommendation.Service;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.commons.util.InetUtils;
+import org.springframework.cloud.commons.util.InetUtilsProperties;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = {RegistryStatus.class, RegistryStatusTests.Registration.class})
+class RegistryStatusTests {
+
+    // Status seen by an application runner, where WarmupService does its work
+    static final List<InstanceStatus> duringRunners = new ArrayList<>();
+
+    @Autowired
+    private ApplicationInfoManager applicationInfoManager;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void registersUpOnlyOnceTheRunnersHaveFinished() {
+        assertEquals(List.of(InstanceStatus.STARTING), duringRunners);
+        assertEquals(InstanceStatus.UP, applicationInfoManager.getInfo().getStatus());
+    }
+
+    @Test
+    void followsReadinessAfterwards() {
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+        assertEquals(InstanceStatus.OUT_OF_SERVICE, applicationInfoManager.getInfo().getStatus());
+
+        AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+        assertEquals(InstanceStatus.UP, applicationInfoManager.getInfo().getStatus());
+    }
+
+    @TestConfiguration
+    static class Registration {
+
+        @Bean
+        ApplicationInfoManager applicationInfoManager() {
+            InstanceInfo instance = InstanceInfo.Builder.newBuilder()
+                    .setAppName("userdiplomas")
+                    .setStatus(InstanceStatus.STARTING)
+                    .build();
+            return new ApplicationInfoManager(new EurekaInstanceConfigBean(new InetUtils(new InetUtilsProperties())), instance);
+        }
+
+        @Bean
+        ApplicationRunner recordStatus(ApplicationInfoManager applicationInfoManager) {
+            return args -> duringRunners.add(applicationInfoManager.getInfo().getStatus());
+        }
+    }
+}
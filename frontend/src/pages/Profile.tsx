@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { PlusCircle, Trash2, Save, UserCircle, BookOpen, Info } from 'lucide-react';
 import { useAuth } from '../contexts/AuthContext';
 import { useTheme } from '../contexts/ThemeContext';
+import type { CatalogueVocabulary } from '../types/index';
 
 // Define types for User and form data
 
@@ -58,27 +59,15 @@ const Profile: React.FC = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [subjectsRes, filieresRes, dureesRes, careersRes, mentionsRes] = await Promise.all([
-          fetch('http://localhost:8080/api/diplomas/subjects-etud'),
-          fetch('http://localhost:8080/api/diplomas/filiers'),
-          fetch('http://localhost:8080/api/diplomas/durees'),
-          fetch('http://localhost:8080/api/diplomas/careers'),
-          fetch('http://localhost:8080/api/diplomas/mentions')
-        ]);
+        // One request for all five lists; the browser revalidates it with the catalogue ETag
+        const res = await fetch('http://localhost:8080/api/diplomas/vocabulary');
+        const vocabulary: CatalogueVocabulary = await res.json();
 
-        const [subjectsData, filieresData, dureesData, careersData, mentionsData] = await Promise.all([
-          subjectsRes.json(),
-          filieresRes.json(),
-          dureesRes.json(),
-          careersRes.json(),
-          mentionsRes.json()
-        ]);
-
-        setAvailableSubjects(subjectsData);
-        setAvailableFilieres(filieresData);
-        setAvailableStudyDurations(dureesData);
-        setAvailableCareerAspirations(careersData);
-        setAvailableBacMentions(mentionsData);
+        setAvailableSubjects(vocabulary.subjectsEtud);
+        setAvailableFilieres(vocabulary.filieres);
+        setAvailableStudyDurations(vocabulary.durees);
+        setAvailableCareerAspirations(vocabulary.careers);
+        setAvailableBacMentions(vocabulary.mentions);
         setIsLoading(false);
       } catch (error) {
         console.error('Error fetching data:', error);
@@ -7,6 +7,7 @@ import { Input } from '../components/ui/input';
 import { Button } from '../components/ui/button';
 import { UserPlus, Search, X, ChevronDown, ChevronUp } from 'lucide-react';
 import { useAuth } from '../contexts/AuthContext';
+import type { CatalogueVocabulary } from '../types/index';
 
 // Moroccan curriculum-based interests
 const interests = [
@@ -85,27 +86,15 @@ function Register() {
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [subjectsRes, filieresRes, dureesRes, careersRes, mentionsRes] = await Promise.all([
-          fetch('http://localhost:8080/api/diplomas/subjects-etud'),
-          fetch('http://localhost:8080/api/diplomas/filiers'),
-          fetch('http://localhost:8080/api/diplomas/durees'),
-          fetch('http://localhost:8080/api/diplomas/careers'),
-          fetch('http://localhost:8080/api/diplomas/mentions')
-        ]);
-
-        const [subjectsData, filieresData, dureesData, careersData, mentionsData] = await Promise.all([
-          subjectsRes.json(),
-          filieresRes.json(),
-          dureesRes.json() as Promise<number[]>,
-          careersRes.json(),
-          mentionsRes.json()
-        ]);
-
-        setAvailableSubjects(subjectsData);
-        setAvailableFilieres(filieresData);
-        setAvailableStudyDurations(dureesData.map(d => `${d} ans`));
-        setAvailableCareerAspirations(careersData);
-        setAvailableBacMentions(mentionsData);
+        // One request for all five lists; the browser revalidates it with the catalogue ETag
+        const res = await fetch('http://localhost:8080/api/diplomas/vocabulary');
+        const vocabulary: CatalogueVocabulary = await res.json();
+
+        setAvailableSubjects(vocabulary.subjectsEtud);
+        setAvailableFilieres(vocabulary.filieres);
+        setAvailableStudyDurations(vocabulary.durees.map(d => `${d} ans`));
+        setAvailableCareerAspirations(vocabulary.careers);
+        setAvailableBacMentions(vocabulary.mentions);
         setIsLoading(false);
       } catch (error) {
         console.error('Error fetching data:', error);
@@ -30,4 +30,12 @@ export interface DiplomaStats {
   topEmploymentOpportunities: Array<{name: string, count: number}>;
 }
 
-export type MentionBacOption = 'Très Bien' | 'Bien' | 'Assez Bien' | '';
\ No newline at end of file
+export type MentionBacOption = 'Très Bien' | 'Bien' | 'Assez Bien' | '';
+export interface CatalogueVocabulary {
+  careers: string[];
+  durees: number[];
+  filieres: string[];
+  subjectsEtud: string[];
+  mentions: string[];
+  version: number;
+}